@@ -0,0 +1,39 @@
+package com.hackerank.projectmanager.benchmark;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+// Generador determinista de productos para los benchmarks
+final class CatalogoSintetico {
+
+    static final int CATEGORIAS = 40;
+
+    private static final String[] PALABRAS = {
+            "Laptop", "Gaming", "Mouse", "Teclado", "Monitor", "Silla", "Audio", "Parlante",
+            "Smartphone", "Tablet", "Cargador", "Cable", "Lampara", "Mesa", "Zapatilla", "Reloj"
+    };
+
+    private final Random random = new Random(42);
+
+    Producto producto(long id) {
+        String nombre = PALABRAS[random.nextInt(PALABRAS.length)] + " "
+                + PALABRAS[random.nextInt(PALABRAS.length)] + " " + id;
+        return new Producto.Builder()
+                .id(id)
+                .nombre(nombre)
+                .descripcion("Descripción del producto " + nombre)
+                .precio(1 + random.nextInt(200_000) / 100.0)
+                .categoria(categoria(random.nextInt(CATEGORIAS)))
+                .stock(random.nextInt(50))
+                .disponible(random.nextInt(4) != 0)
+                .fechaCreacion(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .fechaActualizacion(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .build();
+    }
+
+    static String categoria(int indice) {
+        return "Categoria" + indice;
+    }
+}
@@ -0,0 +1,113 @@
+package com.hackerank.projectmanager.benchmark;
+
+import com.hackerank.projectmanager.ProductosApplication;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Carga HTTP contra la aplicación completa con Tomcat en hilos de plataforma
+ * o virtuales. Los PUT esperan el fsync del WAL (política ALWAYS), que es el
+ * trabajo bloqueante que agota el pool de plataforma; los GET miden cómo eso
+ * afecta a las lecturas que comparten el pool.
+ *
+ * <p>SampleTime reporta p99; Throughput, operaciones por milisegundo.
+ * Ejemplo: {@code ./gradlew jmh -PjmhIncludes=Carga}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Threads(512)
+public class ProductoCargaBenchmark {
+
+    private static final int TAMANO_CATALOGO = 10_000;
+    private static final String BASE = "/api/v1/projectmanager/";
+
+    @Param({"false", "true"})
+    boolean hilosVirtuales;
+
+    private ConfigurableApplicationContext contexto;
+    private HttpClient cliente;
+    private Path directorioWal;
+    private String url;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directorioWal = Files.createTempDirectory("wal-carga");
+        contexto = new SpringApplication(ProductosApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + hilosVirtuales,
+                "--app.wal.enabled=true",
+                "--app.wal.fsync=ALWAYS",
+                "--app.wal.directorio=" + directorioWal,
+                "--logging.level.root=WARN");
+        ProductoRepository repository = contexto.getBean(ProductoRepository.class);
+        CatalogoSintetico catalogo = new CatalogoSintetico();
+        for (long id = 1; id <= TAMANO_CATALOGO; id++) {
+            repository.save(catalogo.producto(id));
+        }
+        int puerto = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+        url = "http://localhost:" + puerto + BASE;
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        cliente.close();
+        contexto.close();
+        try (Stream<Path> archivos = Files.walk(directorioWal)) {
+            for (Path archivo : archivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(archivo);
+            }
+        }
+    }
+
+    @Benchmark
+    public int obtenerPorId() throws IOException, InterruptedException {
+        long id = 1 + ThreadLocalRandom.current().nextLong(TAMANO_CATALOGO);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + id)).GET().build();
+        return cliente.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int actualizar() throws IOException, InterruptedException {
+        long id = 1 + ThreadLocalRandom.current().nextLong(TAMANO_CATALOGO);
+        String cuerpo = "{\"nombre\":\"Producto " + id + "\",\"precio\":19.99,"
+                + "\"categoria\":\"Tecnologia\",\"stock\":5,\"disponible\":true}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + id))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(cuerpo))
+                .build();
+        return cliente.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,106 @@
+package com.hackerank.projectmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.OperacionLote;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.ProductoJsonRepository;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.wal.FsyncPolicy;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.wal.WriteAheadLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Actualiza el mismo bloque de ids con save por producto o con un solo aplicarLote
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ProductoLoteBenchmark {
+
+    private static final int TAMANO_CATALOGO = 100_000;
+
+    @Param({"100", "10000"})
+    int tamanoLote;
+
+    // NONE: solo memoria; BATCHED y ALWAYS: con WAL en un directorio temporal
+    @Param({"NONE", "BATCHED", "ALWAYS"})
+    String wal;
+
+    private ProductoJsonRepository repository;
+    private WriteAheadLog writeAheadLog;
+    private Path directorio;
+    private List<Producto> productos;
+    private List<OperacionLote> operaciones;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if ("NONE".equals(wal)) {
+            repository = new ProductoJsonRepository();
+        } else {
+            directorio = Files.createTempDirectory("wal-bench");
+            writeAheadLog = new WriteAheadLog(directorio, FsyncPolicy.valueOf(wal), 50,
+                    new ObjectMapper().findAndRegisterModules());
+            writeAheadLog.reproducir(entrada -> { });
+            repository = new ProductoJsonRepository(writeAheadLog, null);
+        }
+        CatalogoSintetico catalogo = new CatalogoSintetico();
+        for (long id = 1; id <= TAMANO_CATALOGO; id++) {
+            repository.save(catalogo.producto(id));
+        }
+        productos = new ArrayList<>(tamanoLote);
+        operaciones = new ArrayList<>(tamanoLote);
+        for (long id = 1; id <= tamanoLote; id++) {
+            Producto producto = catalogo.producto(id);
+            productos.add(producto);
+            operaciones.add(OperacionLote.actualizar(id, producto));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (writeAheadLog == null) {
+            return;
+        }
+        writeAheadLog.close();
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            for (Path archivo : archivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(archivo);
+            }
+        }
+    }
+
+    @Benchmark
+    public long saveUnoPorUno() {
+        long version = 0;
+        for (Producto producto : productos) {
+            version = repository.save(producto).getVersion();
+        }
+        return version;
+    }
+
+    @Benchmark
+    public List<Producto> aplicarLote() {
+        return repository.aplicarLote(operaciones);
+    }
+}
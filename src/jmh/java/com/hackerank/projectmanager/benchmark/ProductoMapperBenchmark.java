@@ -0,0 +1,40 @@
+package com.hackerank.projectmanager.benchmark;
+
+import com.hackerank.projectmanager.dummy.application.service.ProductoMapper;
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.presentation.dto.ProductoResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductoMapperBenchmark {
+
+    private ProductoMapper mapper;
+    private Producto producto;
+
+    @Setup
+    public void setUp() {
+        mapper = new ProductoMapper();
+        producto = new CatalogoSintetico().producto(1);
+    }
+
+    @Benchmark
+    public ProductoResponse toResponse() {
+        return mapper.toResponse(producto);
+    }
+}
@@ -0,0 +1,72 @@
+package com.hackerank.projectmanager.benchmark;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.ProductoJsonRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ProductoRepositoryBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int tamanoCatalogo;
+
+    private ProductoJsonRepository repository;
+    private CatalogoSintetico catalogo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new ProductoJsonRepository();
+        catalogo = new CatalogoSintetico();
+        for (long id = 1; id <= tamanoCatalogo; id++) {
+            repository.save(catalogo.producto(id));
+        }
+    }
+
+    @Benchmark
+    public List<Producto> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public List<Producto> findByCategoria() {
+        int indice = ThreadLocalRandom.current().nextInt(CatalogoSintetico.CATEGORIAS);
+        return repository.findByCategoria(CatalogoSintetico.categoria(indice));
+    }
+
+    @Benchmark
+    public List<Producto> findByNombreContaining() {
+        return repository.findByNombreContaining("gaming mou");
+    }
+
+    @Benchmark
+    public List<Producto> findByNombreContainingCorto() {
+        return repository.findByNombreContaining("la");
+    }
+
+    @Benchmark
+    public Producto save() {
+        // Sobrescribe ids existentes para que el catálogo no crezca entre iteraciones
+        long id = 1 + ThreadLocalRandom.current().nextLong(tamanoCatalogo);
+        return repository.save(catalogo.producto(id));
+    }
+}
@@ -0,0 +1,93 @@
+package com.hackerank.projectmanager.benchmark;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.ProductoJsonRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Filtros y agregados: arrays columnares del repositorio frente al stream sobre el mapa
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ProductoScanBenchmark {
+
+    @Param({"10000", "100000"})
+    int tamanoCatalogo;
+
+    private ProductoJsonRepository repository;
+    // Mismo contenido en un ConcurrentHashMap, como lo recorría el repositorio antes
+    private Map<Long, Producto> mapa;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new ProductoJsonRepository();
+        mapa = new ConcurrentHashMap<>();
+        CatalogoSintetico catalogo = new CatalogoSintetico();
+        for (long id = 1; id <= tamanoCatalogo; id++) {
+            Producto producto = catalogo.producto(id);
+            repository.save(producto);
+            mapa.put(id, producto);
+        }
+    }
+
+    @Benchmark
+    public List<Producto> disponiblesColumnar() {
+        return repository.findByDisponible(true);
+    }
+
+    @Benchmark
+    public List<Producto> disponiblesStream() {
+        return mapa.values().stream()
+                .filter(p -> p.getDisponible().equals(true))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public long contarDisponiblesColumnar() {
+        return repository.countByDisponible(true);
+    }
+
+    @Benchmark
+    public long contarDisponiblesStream() {
+        return mapa.values().stream().filter(Producto::getDisponible).count();
+    }
+
+    @Benchmark
+    public long stockTotalColumnar() {
+        return repository.sumStock();
+    }
+
+    @Benchmark
+    public long stockTotalStream() {
+        return mapa.values().stream().mapToLong(Producto::getStock).sum();
+    }
+
+    @Benchmark
+    public double valorInventarioColumnar() {
+        return repository.sumValorInventario();
+    }
+
+    @Benchmark
+    public double valorInventarioStream() {
+        return mapa.values().stream().mapToDouble(p -> p.getPrecio() * p.getStock()).sum();
+    }
+}
@@ -0,0 +1,59 @@
+package com.hackerank.projectmanager.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hackerank.projectmanager.dummy.application.service.ProductoMapper;
+import com.hackerank.projectmanager.dummy.presentation.dto.ProductoResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductoSerializacionBenchmark {
+
+    @Param({"20", "1000"})
+    int tamanoLista;
+
+    private ObjectMapper objectMapper;
+    private List<ProductoResponse> respuestas;
+
+    @Setup
+    public void setUp() {
+        // Misma configuración relevante que application.properties
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setDefaultPropertyInclusion(JsonInclude.Value.construct(
+                        JsonInclude.Include.NON_NULL, JsonInclude.Include.NON_NULL));
+        ProductoMapper mapper = new ProductoMapper();
+        CatalogoSintetico catalogo = new CatalogoSintetico();
+        respuestas = new ArrayList<>(tamanoLista);
+        for (long id = 1; id <= tamanoLista; id++) {
+            respuestas.add(mapper.toResponse(catalogo.producto(id)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws Exception {
+        return objectMapper.writeValueAsBytes(respuestas);
+    }
+}
@@ -0,0 +1,69 @@
+package com.hackerank.projectmanager.benchmark;
+
+import com.hackerank.projectmanager.dummy.application.service.ProductoServiceImpl;
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.ProductoJsonRepository;
+import com.hackerank.projectmanager.reports.application.service.ReporteInventarioServiceImpl;
+import com.hackerank.projectmanager.reports.domain.AgregadoInventario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Reporte por categoría desde acumuladores frente a agrupar findAll(), y el coste que suman a save
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ReporteInventarioBenchmark {
+
+    @Param({"10000", "100000"})
+    int tamanoCatalogo;
+
+    private ProductoJsonRepository repository;
+    private ReporteInventarioServiceImpl reportes;
+    private CatalogoSintetico catalogo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new ProductoJsonRepository();
+        catalogo = new CatalogoSintetico();
+        for (long id = 1; id <= tamanoCatalogo; id++) {
+            repository.save(catalogo.producto(id));
+        }
+        reportes = new ReporteInventarioServiceImpl(new ProductoServiceImpl(repository));
+    }
+
+    @Benchmark
+    public List<AgregadoInventario> reporteIncremental() {
+        return reportes.obtenerTotalesPorCategoria();
+    }
+
+    @Benchmark
+    public Map<String, Double> reporteRecorriendoCatalogo() {
+        return repository.findAll().stream().collect(Collectors.groupingBy(Producto::getCategoria,
+                Collectors.summingDouble(p -> p.getPrecio() * (p.getStock() == null ? 0 : p.getStock()))));
+    }
+
+    @Benchmark
+    public Producto saveConReportes() {
+        long id = 1 + ThreadLocalRandom.current().nextLong(tamanoCatalogo);
+        return repository.save(catalogo.producto(id));
+    }
+}
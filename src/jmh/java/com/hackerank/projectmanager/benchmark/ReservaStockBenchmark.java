@@ -0,0 +1,49 @@
+package com.hackerank.projectmanager.benchmark;
+
+import com.hackerank.projectmanager.dummy.application.service.ProductoServiceImpl;
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.ProductoJsonRepository;
+import com.hackerank.projectmanager.operation.application.service.ReservaServiceImpl;
+import com.hackerank.projectmanager.operation.domain.Reserva;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Reservar y liberar sobre un único producto caliente con muchos hilos a la vez
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Threads(16)
+public class ReservaStockBenchmark {
+
+    private ReservaServiceImpl reservaService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ProductoJsonRepository repository = new ProductoJsonRepository();
+        repository.save(new Producto.Builder().id(1L).nombre("Producto caliente").categoria("Ofertas")
+                .precio(9.99).stock(1_000_000).disponible(true).build());
+        reservaService = new ReservaServiceImpl(new ProductoServiceImpl(repository), 600, 0, false);
+    }
+
+    @Benchmark
+    public Reserva reservarYLiberar() {
+        Reserva reserva = reservaService.reservar(1L, 1, null).orElseThrow();
+        reservaService.liberar(reserva.getId());
+        return reserva;
+    }
+}
@@ -0,0 +1,66 @@
+package com.hackerank.projectmanager.admin.application.service;
+
+import com.hackerank.projectmanager.admin.domain.service.CatalogoAdminService;
+import com.hackerank.projectmanager.dummy.domain.repository.ResultadoRecarga;
+import com.hackerank.projectmanager.dummy.domain.service.ProductoService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+public class CatalogoAdminServiceImpl implements CatalogoAdminService {
+
+    private final ProductoService productoService;
+    private final Path directorioCatalogos;
+    private final AtomicReference<ResultadoRecarga> ultimaRecarga = new AtomicReference<>();
+
+    public CatalogoAdminServiceImpl(ProductoService productoService,
+                                    @Value("${app.admin.directorio-catalogos:data/catalogos}") String directorioCatalogos) {
+        this.productoService = productoService;
+        this.directorioCatalogos = Path.of(directorioCatalogos).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public ResultadoRecarga recargarCatalogo(String archivo) {
+        String ruta = archivo != null ? resolverArchivo(archivo).toString() : null;
+        try {
+            // Si falla, el catálogo anterior sigue publicado: el intercambio es el último paso
+            ResultadoRecarga resultado = productoService.recargarCatalogo(ruta);
+            ultimaRecarga.set(resultado);
+            return resultado;
+        } catch (UncheckedIOException e) {
+            throw new IllegalArgumentException("No se pudo leer el catálogo: " + e.getCause().getMessage());
+        }
+    }
+
+    @Override
+    public Optional<ResultadoRecarga> obtenerUltimaRecarga() {
+        return Optional.ofNullable(ultimaRecarga.get());
+    }
+
+    // Solo archivos dentro del directorio de catálogos: la ruta llega por HTTP. Se compara
+    // con los enlaces simbólicos resueltos, así un enlace no saca la ruta del directorio
+    private Path resolverArchivo(String archivo) {
+        Path directorio;
+        Path ruta;
+        try {
+            directorio = directorioCatalogos.toRealPath();
+            ruta = directorio.resolve(archivo).normalize().toRealPath();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("No existe el catálogo " + archivo);
+        }
+        if (!ruta.startsWith(directorio)) {
+            throw new IllegalArgumentException("El archivo debe estar en " + directorioCatalogos);
+        }
+        if (!Files.isRegularFile(ruta)) {
+            throw new IllegalArgumentException("No existe el catálogo " + archivo);
+        }
+        return ruta;
+    }
+}
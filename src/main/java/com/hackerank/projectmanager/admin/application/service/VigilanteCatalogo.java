@@ -0,0 +1,114 @@
+package com.hackerank.projectmanager.admin.application.service;
+
+import com.hackerank.projectmanager.admin.domain.service.CatalogoAdminService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ResourceUtils;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recarga el catálogo cuando cambia app.data.file.path. Los editores y las
+ * copias escriben el archivo en varios pasos, así que se espera a que pase
+ * app.admin.vigilar-espera-ms sin eventos antes de recargar.
+ */
+@Component
+@ConditionalOnProperty(name = "app.admin.vigilar-catalogo", havingValue = "true")
+public class VigilanteCatalogo {
+
+    private static final Logger logger = LoggerFactory.getLogger(VigilanteCatalogo.class);
+
+    private final CatalogoAdminService catalogoAdminService;
+    private final String rutaCatalogo;
+    private final long esperaMs;
+    private final boolean hilosVirtuales;
+    private WatchService watchService;
+    private Thread hilo;
+
+    public VigilanteCatalogo(CatalogoAdminService catalogoAdminService,
+                             @Value("${app.data.file.path:classpath:data/productos.json}") String rutaCatalogo,
+                             @Value("${app.admin.vigilar-espera-ms:500}") long esperaMs,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean hilosVirtuales) {
+        this.catalogoAdminService = catalogoAdminService;
+        this.rutaCatalogo = rutaCatalogo;
+        this.esperaMs = esperaMs;
+        this.hilosVirtuales = hilosVirtuales;
+    }
+
+    @PostConstruct
+    public void iniciar() throws IOException {
+        if (rutaCatalogo.startsWith(ResourceUtils.CLASSPATH_URL_PREFIX) || ResourceUtils.isUrl(rutaCatalogo)) {
+            logger.warn("No se vigila {}: solo se pueden vigilar archivos del sistema de archivos", rutaCatalogo);
+            return;
+        }
+        Path archivo = Path.of(rutaCatalogo).toAbsolutePath().normalize();
+        watchService = FileSystems.getDefault().newWatchService();
+        // Se vigila el directorio: reemplazar el archivo con un rename no genera MODIFY sobre él
+        archivo.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        Runnable vigilar = () -> vigilar(archivo.getFileName());
+        hilo = hilosVirtuales
+                ? Thread.ofVirtual().name("vigilante-catalogo").unstarted(vigilar)
+                : Thread.ofPlatform().name("vigilante-catalogo").daemon().unstarted(vigilar);
+        hilo.start();
+        logger.info("Vigilando {} para recargar el catálogo", archivo);
+    }
+
+    @PreDestroy
+    public void detener() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void vigilar(Path nombre) {
+        try {
+            while (true) {
+                WatchKey clave = watchService.take();
+                boolean cambio = consumir(clave, nombre);
+                // Se juntan los eventos hasta que el archivo deja de cambiar
+                while ((clave = watchService.poll(esperaMs, TimeUnit.MILLISECONDS)) != null) {
+                    cambio |= consumir(clave, nombre);
+                }
+                if (cambio) {
+                    recargar();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Cierre de la aplicación
+        }
+    }
+
+    private static boolean consumir(WatchKey clave, Path nombre) {
+        boolean cambio = false;
+        for (WatchEvent<?> evento : clave.pollEvents()) {
+            cambio |= nombre.equals(evento.context());
+        }
+        clave.reset();
+        return cambio;
+    }
+
+    private void recargar() {
+        try {
+            catalogoAdminService.recargarCatalogo(null);
+        } catch (RuntimeException e) {
+            // El catálogo anterior sigue publicado; se reintenta con el próximo cambio
+            logger.error("No se pudo recargar {}: {}", rutaCatalogo, e.getMessage());
+        }
+    }
+}
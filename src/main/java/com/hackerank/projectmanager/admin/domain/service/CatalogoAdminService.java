@@ -0,0 +1,13 @@
+package com.hackerank.projectmanager.admin.domain.service;
+
+import com.hackerank.projectmanager.dummy.domain.repository.ResultadoRecarga;
+
+import java.util.Optional;
+
+public interface CatalogoAdminService {
+
+    // Sin archivo se relee app.data.file.path; si no, debe estar en app.admin.directorio-catalogos
+    ResultadoRecarga recargarCatalogo(String archivo);
+
+    Optional<ResultadoRecarga> obtenerUltimaRecarga();
+}
@@ -1,4 +1,55 @@
 package com.hackerank.projectmanager.admin.presentation.controller;
 
+import com.hackerank.projectmanager.admin.domain.service.CatalogoAdminService;
+import com.hackerank.projectmanager.admin.presentation.dto.AdminRequest;
+import com.hackerank.projectmanager.admin.presentation.dto.AdminResponse;
+import com.hackerank.projectmanager.dummy.domain.repository.ResultadoRecarga;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// Operación del catálogo en caliente. Sin autenticación en el proyecto, solo se expone con
+// app.admin.enabled=true y sin CORS: una página de otro origen no puede dispararla
+@RestController
+@RequestMapping("/api/v1/projectmanager/admin")
+@ConditionalOnProperty(name = "app.admin.enabled", havingValue = "true")
 public class AdminController {
+
+    private final CatalogoAdminService catalogoAdminService;
+
+    public AdminController(CatalogoAdminService catalogoAdminService) {
+        this.catalogoAdminService = catalogoAdminService;
+    }
+
+    // Arma el catálogo nuevo aparte y lo publica de una vez; responde con tiempos y memoria
+    @PostMapping("/recargas")
+    public ResponseEntity<AdminResponse> recargarCatalogo(@RequestBody(required = false) AdminRequest request) {
+        ResultadoRecarga resultado = catalogoAdminService.recargarCatalogo(
+                request != null ? request.getArchivo() : null);
+        return ResponseEntity.ok(toResponse(resultado));
+    }
+
+    @GetMapping("/recargas/ultima")
+    public ResponseEntity<AdminResponse> obtenerUltimaRecarga() {
+        return catalogoAdminService.obtenerUltimaRecarga()
+                .map(resultado -> ResponseEntity.ok(toResponse(resultado)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static AdminResponse toResponse(ResultadoRecarga resultado) {
+        return new AdminResponse.Builder()
+                .origen(resultado.origen())
+                .productos(resultado.productos())
+                .cambios(resultado.cambios())
+                .cargaMs(resultado.cargaMs())
+                .intercambioMs(resultado.intercambioMs())
+                .heapAntesMb(resultado.heapAntesMb())
+                .heapPicoMb(resultado.heapPicoMb())
+                .heapAdicionalMb(resultado.heapAdicionalMb())
+                .build();
+    }
 }
@@ -1,4 +1,22 @@
 package com.hackerank.projectmanager.admin.presentation.dto;
 
+// Cuerpo opcional de POST /admin/recargas
 public class AdminRequest {
+    // Relativo a app.admin.directorio-catalogos; null para releer el archivo configurado
+    private String archivo;
+
+    public AdminRequest() {
+    }
+
+    public AdminRequest(String archivo) {
+        this.archivo = archivo;
+    }
+
+    public String getArchivo() {
+        return archivo;
+    }
+
+    public void setArchivo(String archivo) {
+        this.archivo = archivo;
+    }
 }
@@ -1,4 +1,111 @@
 package com.hackerank.projectmanager.admin.presentation.dto;
 
 public class AdminResponse {
+    private final String origen;
+    private final long productos;
+    private final long cambios;
+    private final long cargaMs;
+    private final long intercambioMs;
+    private final long heapAntesMb;
+    private final long heapPicoMb;
+    private final long heapAdicionalMb;
+
+    private AdminResponse(Builder builder) {
+        this.origen = builder.origen;
+        this.productos = builder.productos;
+        this.cambios = builder.cambios;
+        this.cargaMs = builder.cargaMs;
+        this.intercambioMs = builder.intercambioMs;
+        this.heapAntesMb = builder.heapAntesMb;
+        this.heapPicoMb = builder.heapPicoMb;
+        this.heapAdicionalMb = builder.heapAdicionalMb;
+    }
+
+    // Getters
+    public String getOrigen() {
+        return origen;
+    }
+
+    public long getProductos() {
+        return productos;
+    }
+
+    public long getCambios() {
+        return cambios;
+    }
+
+    public long getCargaMs() {
+        return cargaMs;
+    }
+
+    public long getIntercambioMs() {
+        return intercambioMs;
+    }
+
+    public long getHeapAntesMb() {
+        return heapAntesMb;
+    }
+
+    public long getHeapPicoMb() {
+        return heapPicoMb;
+    }
+
+    public long getHeapAdicionalMb() {
+        return heapAdicionalMb;
+    }
+
+    public static class Builder {
+        private String origen;
+        private long productos;
+        private long cambios;
+        private long cargaMs;
+        private long intercambioMs;
+        private long heapAntesMb;
+        private long heapPicoMb;
+        private long heapAdicionalMb;
+
+        public Builder origen(String origen) {
+            this.origen = origen;
+            return this;
+        }
+
+        public Builder productos(long productos) {
+            this.productos = productos;
+            return this;
+        }
+
+        public Builder cambios(long cambios) {
+            this.cambios = cambios;
+            return this;
+        }
+
+        public Builder cargaMs(long cargaMs) {
+            this.cargaMs = cargaMs;
+            return this;
+        }
+
+        public Builder intercambioMs(long intercambioMs) {
+            this.intercambioMs = intercambioMs;
+            return this;
+        }
+
+        public Builder heapAntesMb(long heapAntesMb) {
+            this.heapAntesMb = heapAntesMb;
+            return this;
+        }
+
+        public Builder heapPicoMb(long heapPicoMb) {
+            this.heapPicoMb = heapPicoMb;
+            return this;
+        }
+
+        public Builder heapAdicionalMb(long heapAdicionalMb) {
+            this.heapAdicionalMb = heapAdicionalMb;
+            return this;
+        }
+
+        public AdminResponse build() {
+            return new AdminResponse(this);
+        }
+    }
 }
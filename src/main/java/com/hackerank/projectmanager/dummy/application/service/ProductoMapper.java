@@ -6,6 +6,7 @@ import com.hackerank.projectmanager.dummy.presentation.dto.ProductoResponse;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 @Component
 public class ProductoMapper {
@@ -18,8 +19,8 @@ public class ProductoMapper {
                 .categoria(request.getCategoria())
                 .stock(request.getStock())
                 .disponible(request.getDisponible())
-                .fechaCreacion(LocalDateTime.now())
-                .fechaActualizacion(LocalDateTime.now())
+                .fechaCreacion(LocalDateTime.now(ZoneOffset.UTC))
+                .fechaActualizacion(LocalDateTime.now(ZoneOffset.UTC))
                 .build();
     }
 
@@ -37,6 +38,20 @@ public class ProductoMapper {
                 .build();
     }
 
+    // Proyección para listados: todo menos la descripción, que así no se lee de disco
+    public ProductoResponse toResumen(Producto producto) {
+        return new ProductoResponse.Builder()
+                .id(producto.getId())
+                .nombre(producto.getNombre())
+                .precio(producto.getPrecio())
+                .categoria(producto.getCategoria())
+                .stock(producto.getStock())
+                .disponible(producto.getDisponible())
+                .fechaCreacion(producto.getFechaCreacion())
+                .fechaActualizacion(producto.getFechaActualizacion())
+                .build();
+    }
+
     public Producto updateDomainFromRequest(Producto existing, ProductoRequest request) {
         return new Producto.Builder()
                 .id(existing.getId())
@@ -47,7 +62,7 @@ public class ProductoMapper {
                 .stock(request.getStock())
                 .disponible(request.getDisponible())
                 .fechaCreacion(existing.getFechaCreacion())
-                .fechaActualizacion(LocalDateTime.now())
+                .fechaActualizacion(LocalDateTime.now(ZoneOffset.UTC))
                 .build();
     }
 }
\ No newline at end of file
@@ -1,13 +1,21 @@
 package com.hackerank.projectmanager.dummy.application.service;
 
 import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.OperacionLote;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoCambioListener;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoQuery;
 import com.hackerank.projectmanager.dummy.domain.repository.ProductoRepository;
+import com.hackerank.projectmanager.dummy.domain.repository.ResultadoRecarga;
+import com.hackerank.projectmanager.dummy.domain.repository.VersionCatalogo;
 import com.hackerank.projectmanager.dummy.domain.service.ProductoService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
@@ -24,6 +32,16 @@ public class ProductoServiceImpl implements ProductoService {
         return productoRepository.findAll();
     }
 
+    @Override
+    public Page<Producto> obtenerTodosProductos(Pageable pageable) {
+        return productoRepository.findAll(pageable);
+    }
+
+    @Override
+    public List<Producto> obtenerProductosDesde(Long afterId, int limit) {
+        return productoRepository.findAllAfter(afterId, limit);
+    }
+
     @Override
     public Optional<Producto> obtenerProductoPorId(Long id) {
         return productoRepository.findById(id);
@@ -39,11 +57,59 @@ public class ProductoServiceImpl implements ProductoService {
         return productoRepository.findByDisponible(true);
     }
 
+    @Override
+    public long contarProductosDisponibles() {
+        return productoRepository.countByDisponible(true);
+    }
+
+    @Override
+    public List<Producto> buscarProductosConStock() {
+        return productoRepository.findConStock();
+    }
+
+    @Override
+    public long contarProductosConStock() {
+        return productoRepository.countConStock();
+    }
+
     @Override
     public List<Producto> buscarProductosPorNombre(String nombre) {
         return productoRepository.findByNombreContaining(nombre);
     }
 
+    @Override
+    public List<Producto> buscarProductosPorRangoPrecio(Double min, Double max) {
+        if (min != null && max != null && min > max) {
+            throw new IllegalArgumentException("El precio mínimo no puede ser mayor al máximo");
+        }
+        return productoRepository.findByPrecioBetween(min, max);
+    }
+
+    @Override
+    public List<Producto> buscarProductosConStockMenorA(Integer stock) {
+        return productoRepository.findByStockLessThan(stock);
+    }
+
+    @Override
+    public List<Producto> filtrarProductos(ProductoQuery query) {
+        return productoRepository.findByQuery(query);
+    }
+
+    @Override
+    public Stream<Producto> streamProductosPorCategoria(String categoria) {
+        return productoRepository.streamByCategoria(categoria);
+    }
+
+    @Override
+    public Stream<Producto> streamProductosDisponibles() {
+        return productoRepository.streamByDisponible(true);
+    }
+
+    @Override
+    public Stream<Producto> streamProductosPorNombre(String nombre) {
+        return productoRepository.streamByNombreContaining(nombre);
+    }
+
     @Override
     @Transactional
     public Producto crearProducto(Producto producto) {
@@ -53,25 +119,51 @@ public class ProductoServiceImpl implements ProductoService {
     @Override
     @Transactional
     public Optional<Producto> actualizarProducto(Long id, Producto producto) {
-        if (!productoRepository.existsById(id)) {
-            return Optional.empty();
-        }
-        producto.setId(id);
-        return Optional.of(productoRepository.save(producto));
+        // Sin existsById previo: la comprobación y la escritura son una sola operación
+        return productoRepository.actualizar(id, null, producto);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Producto> actualizarProducto(Long id, long versionEsperada, Producto producto) {
+        return productoRepository.actualizar(id, versionEsperada, producto);
     }
 
     @Override
     @Transactional
     public boolean eliminarProducto(Long id) {
-        if (!productoRepository.existsById(id)) {
-            return false;
-        }
-        productoRepository.deleteById(id);
-        return true;
+        return productoRepository.eliminar(id, null);
+    }
+
+    @Override
+    @Transactional
+    public boolean eliminarProducto(Long id, long versionEsperada) {
+        return productoRepository.eliminar(id, versionEsperada);
+    }
+
+    @Override
+    @Transactional
+    public List<Producto> procesarLote(List<OperacionLote> operaciones) {
+        return productoRepository.aplicarLote(operaciones);
     }
 
     @Override
     public boolean existeProducto(Long id) {
         return productoRepository.existsById(id);
     }
+
+    @Override
+    public VersionCatalogo obtenerVersionCatalogo() {
+        return productoRepository.version();
+    }
+
+    @Override
+    public void suscribirCambios(ProductoCambioListener listener) {
+        productoRepository.suscribir(listener);
+    }
+
+    @Override
+    public ResultadoRecarga recargarCatalogo(String ruta) {
+        return productoRepository.recargar(ruta);
+    }
 }
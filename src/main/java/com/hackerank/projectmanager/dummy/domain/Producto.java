@@ -1,5 +1,6 @@
 package com.hackerank.projectmanager.dummy.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
 import com.hackerank.projectmanager.dummy.domain.model.BaseEntity;
@@ -9,12 +10,19 @@ import java.util.Objects;
 
 @JsonDeserialize(builder = Producto.Builder.class)
 public class Producto extends BaseEntity {
+    // Representación compacta: primitivos con centinela para los opcionales. El repositorio
+    // guarda una copia con la categoría compartida de su diccionario (ver Builder(Producto)).
+    // Los getters devuelven los tipos de siempre.
+    private static final int SIN_STOCK = -1;
+    private static final byte SIN_DISPONIBLE = -1;
+
     private final String nombre;
-    private final String descripcion;
-    private final Double precio;
+    // String en memoria, o la referencia a disco con la que el repositorio arma la copia que publica
+    private final CharSequence descripcion;
+    private final double precio;
+    private final int stock;
     private final String categoria;
-    private final Integer stock;
-    private final Boolean disponible;
+    private final byte disponible;
 
     // Constructor privado para usar Builder
     private Producto(Builder builder) {
@@ -23,10 +31,11 @@ public class Producto extends BaseEntity {
         this.descripcion = builder.descripcion;
         this.precio = builder.precio;
         this.categoria = builder.categoria;
-        this.stock = builder.stock;
-        this.disponible = builder.disponible;
-        this.fechaCreacion = builder.fechaCreacion;
-        this.fechaActualizacion = builder.fechaActualizacion;
+        this.stock = builder.stock != null ? builder.stock : SIN_STOCK;
+        this.disponible = builder.disponible == null ? SIN_DISPONIBLE : (byte) (builder.disponible ? 1 : 0);
+        this.fechaCreacion = aEpoch(builder.fechaCreacion);
+        this.fechaActualizacion = aEpoch(builder.fechaActualizacion);
+        this.version = builder.version;
     }
 
     // Getters (inmutabilidad)
@@ -34,7 +43,13 @@ public class Producto extends BaseEntity {
         return nombre;
     }
 
+    // Con la descripción en disco, cada llamada la lee: solo la piden las respuestas de detalle
     public String getDescripcion() {
+        return descripcion != null ? descripcion.toString() : null;
+    }
+
+    // Para el repositorio: la descripción tal como está guardada, sin leerla de disco
+    public CharSequence descripcionAlmacenada() {
         return descripcion;
     }
 
@@ -47,20 +62,34 @@ public class Producto extends BaseEntity {
     }
 
     public Integer getStock() {
-        return stock;
+        return stock == SIN_STOCK ? null : stock;
     }
 
     public Boolean getDisponible() {
-        return disponible;
+        return disponible == SIN_DISPONIBLE ? null : disponible == 1;
     }
 
     // Métodos de negocio
     public boolean tieneStock() {
-        return disponible && stock != null && stock > 0;
+        return disponible == 1 && stock > 0;
     }
 
     public boolean esDeCategoria(String categoria) {
-        return this.categoria.equalsIgnoreCase(categoria);
+        return getCategoria().equalsIgnoreCase(categoria);
+    }
+
+    // Mismos datos sin importar la versión; equals solo compara el id
+    public boolean mismoContenido(Producto otro) {
+        return otro != null
+                && Objects.equals(id, otro.id)
+                && Objects.equals(nombre, otro.nombre)
+                && (descripcion == otro.descripcion || Objects.equals(getDescripcion(), otro.getDescripcion()))
+                && Double.doubleToLongBits(precio) == Double.doubleToLongBits(otro.precio)
+                && Objects.equals(categoria, otro.categoria)
+                && stock == otro.stock
+                && disponible == otro.disponible
+                && fechaCreacion == otro.fechaCreacion
+                && fechaActualizacion == otro.fechaActualizacion;
     }
 
     @Override
@@ -81,13 +110,31 @@ public class Producto extends BaseEntity {
     public static class Builder {
         private Long id;
         private String nombre;
-        private String descripcion;
+        private CharSequence descripcion;
         private Double precio;
         private String categoria;
         private Integer stock;
         private Boolean disponible;
         private LocalDateTime fechaCreacion;
         private LocalDateTime fechaActualizacion;
+        private long version;
+
+        public Builder() {
+        }
+
+        // Mismos datos que el producto dado, para armar otro sin modificar uno ya publicado
+        public Builder(Producto producto) {
+            this.id = producto.id;
+            this.nombre = producto.nombre;
+            this.descripcion = producto.descripcion;
+            this.precio = producto.precio;
+            this.categoria = producto.categoria;
+            this.stock = producto.getStock();
+            this.disponible = producto.getDisponible();
+            this.fechaCreacion = producto.getFechaCreacion();
+            this.fechaActualizacion = producto.getFechaActualizacion();
+            this.version = producto.version;
+        }
 
         public Builder nombre(String nombre) {
             this.nombre = nombre;
@@ -99,6 +146,13 @@ public class Producto extends BaseEntity {
             return this;
         }
 
+        // Para el repositorio: una referencia que lee el texto al pedirlo, en vez del String
+        @JsonIgnore
+        public Builder descripcionAlmacenada(CharSequence referencia) {
+            this.descripcion = referencia;
+            return this;
+        }
+
         public Builder precio(Double precio) {
             this.precio = precio;
             return this;
@@ -134,6 +188,11 @@ public class Producto extends BaseEntity {
             return this;
         }
 
+        public Builder version(long version) {
+            this.version = version;
+            return this;
+        }
+
         public Producto build() {
             // Validaciones de negocio
             Objects.requireNonNull(nombre, "El nombre es requerido");
@@ -1,11 +1,18 @@
 package com.hackerank.projectmanager.dummy.domain.model;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 public class BaseEntity {
+    // Las fechas se guardan como nanos desde epoch (UTC) para no retener dos LocalDateTime por entidad
+    protected static final long SIN_FECHA = Long.MIN_VALUE;
+    private static final long NANOS_POR_SEGUNDO = 1_000_000_000L;
+
     protected Long id;
-    protected LocalDateTime fechaCreacion;
-    protected LocalDateTime fechaActualizacion;
+    protected long fechaCreacion = SIN_FECHA;
+    protected long fechaActualizacion = SIN_FECHA;
+    // Versión asignada por el repositorio en cada escritura (0 = nunca guardado)
+    protected long version;
 
     // Getters y setters
     public Long getId() {
@@ -17,18 +24,51 @@ public class BaseEntity {
     }
 
     public LocalDateTime getFechaCreacion() {
-        return fechaCreacion;
+        return aFecha(fechaCreacion);
     }
 
     public void setFechaCreacion(LocalDateTime fechaCreacion) {
-        this.fechaCreacion = fechaCreacion;
+        this.fechaCreacion = aEpoch(fechaCreacion);
     }
 
     public LocalDateTime getFechaActualizacion() {
-        return fechaActualizacion;
+        return aFecha(fechaActualizacion);
     }
 
     public void setFechaActualizacion(LocalDateTime fechaActualizacion) {
-        this.fechaActualizacion = fechaActualizacion;
+        this.fechaActualizacion = aEpoch(fechaActualizacion);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    // Cubre de 1677 a 2262 con precisión de nanosegundos
+    protected static long aEpoch(LocalDateTime fecha) {
+        if (fecha == null) {
+            return SIN_FECHA;
+        }
+        try {
+            long nanos = Math.addExact(Math.multiplyExact(fecha.toEpochSecond(ZoneOffset.UTC), NANOS_POR_SEGUNDO),
+                    fecha.getNano());
+            if (nanos != SIN_FECHA) {
+                return nanos;
+            }
+        } catch (ArithmeticException e) {
+            // Se informa abajo
+        }
+        throw new IllegalArgumentException("Fecha fuera de rango: " + fecha);
+    }
+
+    protected static LocalDateTime aFecha(long nanos) {
+        if (nanos == SIN_FECHA) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_POR_SEGUNDO),
+                (int) Math.floorMod(nanos, NANOS_POR_SEGUNDO), ZoneOffset.UTC);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package com.hackerank.projectmanager.dummy.domain.repository;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+
+import java.time.Instant;
+
+/**
+ * Un cambio aplicado al catálogo, tal como queda en el registro de cambios.
+ *
+ * @param secuencia posición en el registro: consecutiva y sin huecos desde 0
+ * @param producto  estado tras el cambio; null en una baja
+ */
+public record CambioProducto(long secuencia, OperacionLote.Tipo tipo, Long id, Producto producto,
+                             Instant instante) {
+}
@@ -0,0 +1,27 @@
+package com.hackerank.projectmanager.dummy.domain.repository;
+
+// La versión del producto cambió desde que el cliente lo leyó; no se escribió nada
+public class ConflictoVersionException extends RuntimeException {
+    private final Long id;
+    private final long versionEsperada;
+    private final long versionActual;
+
+    public ConflictoVersionException(Long id, long versionEsperada, long versionActual) {
+        super("El producto " + id + " cambió: versión esperada " + versionEsperada + ", actual " + versionActual);
+        this.id = id;
+        this.versionEsperada = versionEsperada;
+        this.versionActual = versionActual;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getVersionEsperada() {
+        return versionEsperada;
+    }
+
+    public long getVersionActual() {
+        return versionActual;
+    }
+}
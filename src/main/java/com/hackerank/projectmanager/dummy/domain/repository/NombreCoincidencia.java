@@ -0,0 +1,32 @@
+package com.hackerank.projectmanager.dummy.domain.repository;
+
+/**
+ * Regla única para buscar un texto dentro del nombre de un producto: subcadena
+ * sin distinguir mayúsculas, carácter a carácter y sin depender del locale.
+ * La usan el filtro de {@link ProductoQuery} y el índice de trigramas, así un
+ * plan con índice y otro sin él devuelven lo mismo.
+ */
+public final class NombreCoincidencia {
+
+    private NombreCoincidencia() {
+    }
+
+    // Forma de un carácter para comparar; dos caracteres iguales según contiene() la comparten
+    public static char normalizar(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    // Equivalente a nombre.toLowerCase().contains(consulta.toLowerCase()) sin copiar el nombre
+    public static boolean contiene(String nombre, String consulta) {
+        if (nombre == null) {
+            return false;
+        }
+        int limite = nombre.length() - consulta.length();
+        for (int i = 0; i <= limite; i++) {
+            if (nombre.regionMatches(true, i, consulta, 0, consulta.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,25 @@
+package com.hackerank.projectmanager.dummy.domain.repository;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+
+// Una mutación dentro de un lote; producto es null en las bajas e id es null en las altas
+public record OperacionLote(Tipo tipo, Long id, Producto producto) {
+
+    public enum Tipo {
+        CREAR,
+        ACTUALIZAR,
+        ELIMINAR
+    }
+
+    public static OperacionLote crear(Producto producto) {
+        return new OperacionLote(Tipo.CREAR, null, producto);
+    }
+
+    public static OperacionLote actualizar(Long id, Producto producto) {
+        return new OperacionLote(Tipo.ACTUALIZAR, id, producto);
+    }
+
+    public static OperacionLote eliminar(Long id) {
+        return new OperacionLote(Tipo.ELIMINAR, id, null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.hackerank.projectmanager.dummy.domain.repository;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+
+// Notificación de cada alta, modificación o baja aplicada al repositorio
+@FunctionalInterface
+public interface ProductoCambioListener {
+
+    /**
+     * Se invoca dentro de la sección crítica del id, en el mismo orden en que se
+     * aplican los cambios de ese id. Debe ser rápido y no llamar al repositorio.
+     * Una excepción se registra en el log y no deshace el cambio.
+     *
+     * @param anterior null en un alta
+     * @param nuevo    null en una baja
+     */
+    void productoCambiado(Long id, Producto anterior, Producto nuevo);
+}
@@ -0,0 +1,119 @@
+package com.hackerank.projectmanager.dummy.domain.repository;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+
+// Especificación de filtros combinados (AND); los criterios null no filtran
+public class ProductoQuery {
+    private final String categoria;
+    private final Boolean disponible;
+    private final Double precioMin;
+    private final Double precioMax;
+    private final Integer stockMenorA;
+    private final String nombre;
+
+    private ProductoQuery(Builder builder) {
+        this.categoria = builder.categoria;
+        this.disponible = builder.disponible;
+        this.precioMin = builder.precioMin;
+        this.precioMax = builder.precioMax;
+        this.stockMenorA = builder.stockMenorA;
+        this.nombre = builder.nombre;
+    }
+
+    // Getters
+    public String getCategoria() {
+        return categoria;
+    }
+
+    public Boolean getDisponible() {
+        return disponible;
+    }
+
+    public Double getPrecioMin() {
+        return precioMin;
+    }
+
+    public Double getPrecioMax() {
+        return precioMax;
+    }
+
+    public Integer getStockMenorA() {
+        return stockMenorA;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public boolean tieneRangoPrecio() {
+        return precioMin != null || precioMax != null;
+    }
+
+    // Evaluación exacta de todos los criterios sobre un producto
+    public boolean coincide(Producto producto) {
+        if (categoria != null && !categoria.equalsIgnoreCase(producto.getCategoria())) {
+            return false;
+        }
+        if (disponible != null && !disponible.equals(producto.getDisponible())) {
+            return false;
+        }
+        Double precio = producto.getPrecio();
+        if (precioMin != null && (precio == null || precio < precioMin)) {
+            return false;
+        }
+        if (precioMax != null && (precio == null || precio > precioMax)) {
+            return false;
+        }
+        if (stockMenorA != null && (producto.getStock() == null || producto.getStock() >= stockMenorA)) {
+            return false;
+        }
+        // La misma comparación que filtra los candidatos del índice de nombre, sin copias
+        return nombre == null || NombreCoincidencia.contiene(producto.getNombre(), nombre);
+    }
+
+    public static class Builder {
+        private String categoria;
+        private Boolean disponible;
+        private Double precioMin;
+        private Double precioMax;
+        private Integer stockMenorA;
+        private String nombre;
+
+        public Builder categoria(String categoria) {
+            this.categoria = categoria;
+            return this;
+        }
+
+        public Builder disponible(Boolean disponible) {
+            this.disponible = disponible;
+            return this;
+        }
+
+        public Builder precioMin(Double precioMin) {
+            this.precioMin = precioMin;
+            return this;
+        }
+
+        public Builder precioMax(Double precioMax) {
+            this.precioMax = precioMax;
+            return this;
+        }
+
+        public Builder stockMenorA(Integer stockMenorA) {
+            this.stockMenorA = stockMenorA;
+            return this;
+        }
+
+        public Builder nombre(String nombre) {
+            this.nombre = nombre;
+            return this;
+        }
+
+        public ProductoQuery build() {
+            if (precioMin != null && precioMax != null && precioMin > precioMax) {
+                throw new IllegalArgumentException("El precio mínimo no puede ser mayor al máximo");
+            }
+            return new ProductoQuery(this);
+        }
+    }
+}
@@ -1,14 +1,23 @@
 package com.hackerank.projectmanager.dummy.domain.repository;
 
 import com.hackerank.projectmanager.dummy.domain.Producto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 // Interface Segregation Principle - Interfaces específicas
 public interface ProductoRepository {
     List<Producto> findAll();
 
+    // Página ordenada por id; el coste depende del tamaño de la página, no del catálogo
+    Page<Producto> findAll(Pageable pageable);
+
+    // Keyset: hasta limit productos con id mayor que afterId (null = desde el inicio)
+    List<Producto> findAllAfter(Long afterId, int limit);
+
     Optional<Producto> findById(Long id);
 
     List<Producto> findByCategoria(String categoria);
@@ -17,11 +26,75 @@ public interface ProductoRepository {
 
     List<Producto> findByNombreContaining(String nombre);
 
+    // Variantes perezosas para escribir resultados grandes sin materializar la lista
+    Stream<Producto> streamByCategoria(String categoria);
+
+    Stream<Producto> streamByDisponible(Boolean disponible);
+
+    Stream<Producto> streamByNombreContaining(String nombre);
+
+    // Rangos servidos por índices ordenados: O(log n + k), resultados ordenados por el atributo
+    List<Producto> findByPrecioBetween(Double min, Double max);
+
+    List<Producto> findByStockLessThan(Integer stock);
+
+    // Filtro combinado (AND de los criterios no nulos), ordenado por id
+    List<Producto> findByQuery(ProductoQuery query);
+
+    long countByDisponible(Boolean disponible);
+
+    // Productos con Producto.tieneStock(), servidos por un bitmap mantenido en cada escritura
+    List<Producto> findConStock();
+
+    long countConStock();
+
+    // Agregados de inventario: stock null cuenta como 0
+    long sumStock();
+
+    double sumValorInventario();
+
+    // Asigna al producto la siguiente versión del catálogo
     Producto save(Producto producto);
 
     void deleteById(Long id);
 
+    /**
+     * Reemplaza el producto solo si existe y, con versionEsperada no nula, solo
+     * si su versión sigue siendo esa. La comparación y la escritura son atómicas
+     * por id, sin lock global.
+     *
+     * @return el producto guardado, o vacío si el id no existe
+     * @throws ConflictoVersionException si la versión actual es otra
+     */
+    Optional<Producto> actualizar(Long id, Long versionEsperada, Producto producto);
+
+    // Como actualizar: false si el id no existe, ConflictoVersionException si la versión es otra
+    boolean eliminar(Long id, Long versionEsperada);
+
+    /**
+     * Aplica las operaciones en orden, cada una con su propia versión como una
+     * escritura unitaria (las de un mismo id solo crecen), y con una sola espera
+     * de durabilidad al final. No es atómico entre operaciones.
+     *
+     * @return por operación, el producto guardado o eliminado; null si el id no existía
+     */
+    List<Producto> aplicarLote(List<OperacionLote> operaciones);
+
     boolean existsById(Long id);
 
     long count();
+
+    // Versión global, para validar cachés sin leer productos
+    VersionCatalogo version();
+
+    // Al volver, toda escritura que aún no avisó a los listeners avisará también a este
+    void suscribir(ProductoCambioListener listener);
+
+    /**
+     * Reemplaza todo el catálogo por el de un archivo; los lectores ven el
+     * anterior o el nuevo completo, nunca uno a medio cargar.
+     *
+     * @param ruta null para el archivo configurado
+     */
+    ResultadoRecarga recargar(String ruta);
 }
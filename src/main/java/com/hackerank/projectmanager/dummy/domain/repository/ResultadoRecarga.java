@@ -0,0 +1,13 @@
+package com.hackerank.projectmanager.dummy.domain.repository;
+
+/**
+ * Resumen de una recarga del catálogo desde archivo.
+ *
+ * @param cargaMs         tiempo de lectura del archivo y armado del mapa y sus índices
+ * @param intercambioMs   tiempo con las escrituras detenidas: intercambio y aviso de diferencias
+ * @param cambios         altas, modificaciones y bajas respecto del catálogo anterior
+ * @param heapAdicionalMb pico de heap durante la carga menos el heap previo: ambos catálogos en memoria
+ */
+public record ResultadoRecarga(String origen, long productos, long cambios, long cargaMs, long intercambioMs,
+                               long heapAntesMb, long heapPicoMb, long heapAdicionalMb) {
+}
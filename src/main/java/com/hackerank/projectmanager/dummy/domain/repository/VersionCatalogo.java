@@ -0,0 +1,12 @@
+package com.hackerank.projectmanager.dummy.domain.repository;
+
+import java.time.Instant;
+
+/**
+ * Versión global del catálogo: crece con cada alta, modificación o baja.
+ *
+ * @param generacion identifica la ejecución del repositorio; junto con una
+ *                   versión forma un validador que no se repite entre reinicios
+ */
+public record VersionCatalogo(long generacion, long version, Instant ultimaModificacion) {
+}
@@ -2,26 +2,69 @@ package com.hackerank.projectmanager.dummy.domain.service;
 
 
 import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.OperacionLote;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoCambioListener;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoQuery;
+import com.hackerank.projectmanager.dummy.domain.repository.ResultadoRecarga;
+import com.hackerank.projectmanager.dummy.domain.repository.VersionCatalogo;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProductoService {
     List<Producto> obtenerTodosProductos();
 
+    Page<Producto> obtenerTodosProductos(Pageable pageable);
+
+    List<Producto> obtenerProductosDesde(Long afterId, int limit);
+
     Optional<Producto> obtenerProductoPorId(Long id);
 
     List<Producto> buscarProductosPorCategoria(String categoria);
 
     List<Producto> buscarProductosDisponibles();
 
+    long contarProductosDisponibles();
+
+    List<Producto> buscarProductosConStock();
+
+    long contarProductosConStock();
+
     List<Producto> buscarProductosPorNombre(String nombre);
 
+    List<Producto> buscarProductosPorRangoPrecio(Double min, Double max);
+
+    List<Producto> buscarProductosConStockMenorA(Integer stock);
+
+    List<Producto> filtrarProductos(ProductoQuery query);
+
+    Stream<Producto> streamProductosPorCategoria(String categoria);
+
+    Stream<Producto> streamProductosDisponibles();
+
+    Stream<Producto> streamProductosPorNombre(String nombre);
+
     Producto crearProducto(Producto producto);
 
     Optional<Producto> actualizarProducto(Long id, Producto producto);
 
+    // Actualización condicional (If-Match): ConflictoVersionException si la versión cambió
+    Optional<Producto> actualizarProducto(Long id, long versionEsperada, Producto producto);
+
     boolean eliminarProducto(Long id);
 
+    boolean eliminarProducto(Long id, long versionEsperada);
+
+    List<Producto> procesarLote(List<OperacionLote> operaciones);
+
     boolean existeProducto(Long id);
+
+    VersionCatalogo obtenerVersionCatalogo();
+
+    void suscribirCambios(ProductoCambioListener listener);
+
+    ResultadoRecarga recargarCatalogo(String ruta);
 }
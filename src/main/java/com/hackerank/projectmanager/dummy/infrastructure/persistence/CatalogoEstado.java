@@ -0,0 +1,65 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.index.CategoriaIndex;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.index.ColumnarIndex;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.index.IdOrdenIndex;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.index.NombreTrigramIndex;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.index.ProductoIndex;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.index.RangoIndex;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * El mapa de productos junto con todos sus índices. El repositorio publica uno
+ * solo por referencia atómica; una recarga arma otro aparte y lo intercambia,
+ * así un lector que tomó la referencia ve mapa e índices de la misma versión.
+ */
+final class CatalogoEstado {
+
+    final Map<Long, Producto> productos = new ConcurrentHashMap<>();
+    final CategoriaIndex categoriaIndex = new CategoriaIndex();
+    final NombreTrigramIndex nombreIndex = new NombreTrigramIndex();
+    final IdOrdenIndex idOrdenIndex = new IdOrdenIndex();
+    final ColumnarIndex columnarIndex = new ColumnarIndex();
+    final RangoIndex precioIndex = new RangoIndex(Producto::getPrecio);
+    final RangoIndex stockIndex = new RangoIndex(Producto::getStock);
+    final DiccionarioCategorias categorias = new DiccionarioCategorias();
+    private final List<ProductoIndex> indices = List.of(
+            idOrdenIndex, categoriaIndex, nombreIndex, columnarIndex, precioIndex, stockIndex);
+    final ProductoQueryPlanner queryPlanner = new ProductoQueryPlanner(
+            productos, columnarIndex, nombreIndex, precioIndex, stockIndex);
+
+    // El producto que se publica: con la categoría del diccionario, que cuenta un uso más
+    // hasta que indexar() lo reemplace, y la descripción como se guardó. Si algo difiere
+    // arma una copia; el recibido puede estar publicado en otro estado (recarga).
+    Producto almacenar(Producto producto, CharSequence descripcion) {
+        String categoria = categorias.adquirir(producto.getCategoria());
+        if (categoria == producto.getCategoria() && descripcion == producto.descripcionAlmacenada()) {
+            return producto;
+        }
+        return new Producto.Builder(producto)
+                .categoria(categoria)
+                .descripcionAlmacenada(descripcion)
+                .build();
+    }
+
+    // nuevo ya pasó por almacenar()
+    void indexar(Long id, Producto anterior, Producto nuevo) {
+        for (ProductoIndex indice : indices) {
+            indice.actualizar(id, anterior, nuevo);
+        }
+        if (anterior != null) {
+            categorias.liberar(anterior.getCategoria());
+        }
+    }
+
+    // Solo para armar un estado que todavía no es visible: sin compute ni listeners
+    void insertar(Producto producto, CharSequence descripcion) {
+        Producto almacenado = almacenar(producto, descripcion);
+        Producto anterior = productos.put(almacenado.getId(), almacenado);
+        indexar(almacenado.getId(), anterior, almacenado);
+    }
+}
@@ -0,0 +1,47 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Una instancia de String por categoría distinta del catálogo, compartida por
+ * todos sus productos en vez de una copia por producto. Cada entrada cuenta los
+ * productos que la usan y se borra con el último, así categorías que ya no
+ * existen no ocupan lugar. Vive en el {@link CatalogoEstado}: una recarga arma
+ * uno nuevo con lo que trae el archivo.
+ */
+final class DiccionarioCategorias {
+
+    private static final class Entrada {
+        private final String categoria;
+        private int productos;
+
+        private Entrada(String categoria) {
+            this.categoria = categoria;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entrada> entradas = new ConcurrentHashMap<>();
+
+    // Devuelve la instancia compartida; la primera que llega queda como canónica
+    String adquirir(String categoria) {
+        if (categoria == null) {
+            return null;
+        }
+        return entradas.compute(categoria, (clave, entrada) -> {
+            Entrada actual = entrada != null ? entrada : new Entrada(clave);
+            actual.productos++;
+            return actual;
+        }).categoria;
+    }
+
+    void liberar(String categoria) {
+        if (categoria == null) {
+            return;
+        }
+        entradas.computeIfPresent(categoria, (clave, entrada) -> --entrada.productos > 0 ? entrada : null);
+    }
+
+    int size() {
+        return entradas.size();
+    }
+}
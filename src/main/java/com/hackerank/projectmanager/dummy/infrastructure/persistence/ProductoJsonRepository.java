@@ -1,124 +1,836 @@
 package com.hackerank.projectmanager.dummy.infrastructure.persistence;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.ConflictoVersionException;
+import com.hackerank.projectmanager.dummy.domain.repository.NombreCoincidencia;
+import com.hackerank.projectmanager.dummy.domain.repository.OperacionLote;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoCambioListener;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoQuery;
 import com.hackerank.projectmanager.dummy.domain.repository.ProductoRepository;
+import com.hackerank.projectmanager.dummy.domain.repository.ResultadoRecarga;
+import com.hackerank.projectmanager.dummy.domain.repository.VersionCatalogo;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.descripciones.AlmacenDescripciones;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.index.NombreTrigramIndex;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.snapshot.SnapshotStore;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.wal.WalEntrada;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.wal.WriteAheadLog;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ResourceUtils;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Component
 public class ProductoJsonRepository implements ProductoRepository {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductoJsonRepository.class);
-    private final Map<Long, Producto> productosMap = new ConcurrentHashMap<>();
     private final AtomicLong sequence = new AtomicLong(1000);
+    // Contador de versiones: cada escritura toma el siguiente valor
+    private final AtomicLong versiones = new AtomicLong();
+    // Distingue esta ejecución: sin WAL los números de versión se repiten al reiniciar
+    private final long generacion = System.currentTimeMillis();
+    private final AtomicReference<VersionCatalogo> versionCatalogo =
+            new AtomicReference<>(new VersionCatalogo(generacion, 0, Instant.now()));
+    // Mapa e índices vigentes; una recarga los reemplaza juntos con un solo set
+    private final AtomicReference<CatalogoEstado> estado = new AtomicReference<>(new CatalogoEstado());
+    // Las escrituras toman el de lectura (compartido); el intercambio de una recarga, el de escritura.
+    // Los lectores no lo usan: les basta la referencia que tomaron.
+    private final ReentrantReadWriteLock intercambioLock = new ReentrantReadWriteLock();
+    // Serializan las escrituras de un mismo id desde el append al WAL hasta el compute.
+    // Son locks y no monitores: esperar en ellos no fija el hilo virtual.
+    private final ReentrantLock[] escrituraLocks = Stream.generate(ReentrantLock::new)
+            .limit(256)
+            .toArray(ReentrantLock[]::new);
+    private final List<ProductoCambioListener> listeners = new CopyOnWriteArrayList<>();
     private final ObjectMapper objectMapper = new ObjectMapper();
-    @Value("data/projectmanager.json")
+    // null cuando app.wal.enabled=false: las escrituras solo viven en memoria
+    private final WriteAheadLog wal;
+    // null cuando app.snapshot.enabled=false
+    private final SnapshotStore snapshots;
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    // null cuando app.descripciones.enabled=false: las descripciones quedan en el heap
+    private final AlmacenDescripciones descripciones;
+    // Por debajo de este largo la referencia y el registro ocupan más de lo que se ahorra
+    private static final int MIN_CARACTERES_DIFERIDOS = 32;
+
+    // Origen de una escritura: decide la versión asignada y cómo se registra en el WAL
+    private enum Origen {
+        // Semilla, snapshot o reproducción del WAL
+        CARGA,
+        // Escritura de la API, sola o dentro de un lote
+        UNITARIA
+    }
+
+    // Lo que publicó una escritura y la posición del WAL a esperar (0 si no se registró)
+    private record Escritura(Producto producto, long posicion) {
+    }
+    private ScheduledExecutorService snapshotScheduler;
+    @Value("${app.data.file.path:classpath:data/productos.json}")
     private String jsonFilePath;
+    @Value("${app.snapshot.intervalo-segundos:300}")
+    private long snapshotIntervaloSegundos;
+    // Con hilos virtuales el snapshot también corre en uno: escribir el archivo es bloqueante
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean hilosVirtuales;
+
+    public ProductoJsonRepository() {
+        this(null, null);
+    }
+
+    public ProductoJsonRepository(@Nullable WriteAheadLog wal, @Nullable SnapshotStore snapshots) {
+        this(wal, snapshots, null);
+    }
+
+    @Autowired
+    public ProductoJsonRepository(@Nullable WriteAheadLog wal, @Nullable SnapshotStore snapshots,
+                                  @Nullable AlmacenDescripciones descripciones) {
+        this.wal = wal;
+        this.snapshots = snapshots;
+        this.descripciones = descripciones;
+    }
 
     @PostConstruct
     public void init() {
-        cargarProductosDesdeJSON();
+        long inicio = System.nanoTime();
+        // Con snapshot se ignora la semilla JSON: el snapshot ya la incluye
+        Optional<SnapshotStore.Cabecera> cabecera = snapshots != null
+                ? snapshots.cargar(producto -> guardar(producto, Origen.CARGA))
+                : Optional.empty();
+        if (cabecera.isPresent()) {
+            sequence.updateAndGet(current -> Math.max(current, cabecera.get().sequence()));
+            logger.info("Cargados {} productos desde snapshot en {} ms", cabecera.get().productos(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        } else {
+            cargarProductosDesdeJSON();
+        }
+        if (wal != null) {
+            // El log se aplica encima: contiene las escrituras posteriores a la semilla o al snapshot
+            wal.reproducir(cabecera.map(SnapshotStore.Cabecera::segmentoWal).orElse(0L), this::aplicar);
+        }
+        versionCatalogo.set(new VersionCatalogo(generacion, versiones.get(), Instant.now()));
+        logger.info("Repositorio listo con {} productos (versión {}) en {} ms", estado.get().productos.size(),
+                versiones.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+
+        if (wal != null && snapshots != null && snapshotIntervaloSegundos > 0) {
+            ThreadFactory fabrica = hilosVirtuales
+                    ? Thread.ofVirtual().name("snapshot-writer").factory()
+                    : r -> {
+                        Thread hilo = new Thread(r, "snapshot-writer");
+                        hilo.setDaemon(true);
+                        return hilo;
+                    };
+            snapshotScheduler = Executors.newSingleThreadScheduledExecutor(fabrica);
+            snapshotScheduler.scheduleWithFixedDelay(this::snapshotProgramado,
+                    snapshotIntervaloSegundos, snapshotIntervaloSegundos, TimeUnit.SECONDS);
+        }
     }
 
-    private void cargarProductosDesdeJSON() {
+    @PreDestroy
+    public void destroy() {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Escribe un snapshot del catálogo y compacta el WAL sin bloquear a los escritores.
+     *
+     * <p>El recorrido del mapa no es un corte exacto: una escritura en curso al
+     * rotar puede haberse registrado en el segmento anterior y no verse en el
+     * recorrido. Por eso el snapshot se reproduce desde ese segmento anterior;
+     * las entradas del WAL son estados completos por id, así que aplicarlas de
+     * nuevo es idempotente.
+     */
+    public void tomarSnapshot() {
+        if (wal == null || snapshots == null) {
+            throw new IllegalStateException("Los snapshots requieren app.wal.enabled y app.snapshot.enabled");
+        }
+        if (!snapshotLock.tryLock()) {
+            return;
+        }
         try {
-            File file = new ClassPathResource("data/productos.json").getFile();
-            //File file = ResourceUtils.getFile(jsonFilePath);
-            JsonDataWrapper wrapper = objectMapper.readValue(file, JsonDataWrapper.class);
+            long inicio = System.nanoTime();
+            long desde = wal.getSegmento();
+            wal.rotar();
+            Map<Long, Producto> productos = estado.get().productos;
+            long bytes = snapshots.escribir(productos.values(), desde, sequence.get());
+            int compactados = wal.compactar(desde);
+            logger.info("Snapshot de {} productos ({} KB) en {} ms; {} segmentos del WAL compactados",
+                    productos.size(), bytes / 1024,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio), compactados);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
 
-            if (wrapper.getProductos() != null) {
-                wrapper.getProductos().forEach(producto -> {
-                    productosMap.put(producto.getId(), producto);
-                    sequence.updateAndGet(current -> Math.max(current, producto.getId() + 1));
+    private void snapshotProgramado() {
+        try {
+            tomarSnapshot();
+        } catch (RuntimeException e) {
+            logger.error("Error escribiendo el snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reemplaza el catálogo por el de un archivo sin detener a los lectores.
+     *
+     * <p>El mapa nuevo y todos sus índices se arman aparte mientras el catálogo
+     * anterior sigue sirviendo lecturas y escrituras; los productos sin cambios
+     * conservan su instancia y su versión. Después, con las escrituras detenidas
+     * un momento, un solo set publica el estado nuevo y los listeners reciben
+     * solo las diferencias, como si fueran escrituras. Un lector que tomó la
+     * referencia anterior termina sobre el catálogo anterior completo.
+     *
+     * <p>Con WAL, la recarga se vuelve durable con un snapshot del estado nuevo:
+     * el WAL se rota en el intercambio, así el snapshot solo necesita los
+     * segmentos posteriores.
+     *
+     * @param ruta archivo a cargar; null para volver a leer app.data.file.path
+     */
+    @Override
+    public ResultadoRecarga recargar(String ruta) {
+        if (wal != null && snapshots == null) {
+            // Sin snapshot, al reiniciar el WAL se aplicaría sobre la semilla anterior
+            throw new IllegalStateException("Con app.wal.enabled la recarga requiere app.snapshot.enabled");
+        }
+        Resource resource = resolverRecurso(ruta != null ? ruta : jsonFilePath);
+        // Una recarga a la vez; tampoco corre un snapshot programado del catálogo anterior
+        snapshotLock.lock();
+        try {
+            List<MemoryPoolMXBean> poolsHeap = poolsHeap();
+            long heapAntes = poolsHeap.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+            poolsHeap.forEach(MemoryPoolMXBean::resetPeakUsage);
+            long inicio = System.nanoTime();
+
+            CatalogoEstado vigente = estado.get();
+            CatalogoEstado nuevo = new CatalogoEstado();
+            long productos;
+            try {
+                productos = leerProductos(resource, producto -> {
+                    if (producto.getId() == null) {
+                        throw new IllegalArgumentException("El catálogo tiene productos sin id");
+                    }
+                    Producto actual = vigente.productos.get(producto.getId());
+                    if (producto.mismoContenido(actual)) {
+                        nuevo.insertar(actual, actual.descripcionAlmacenada());
+                    } else {
+                        producto.setVersion(versiones.incrementAndGet());
+                        nuevo.insertar(producto, diferirDescripcion(producto, actual));
+                    }
                 });
-                logger.info("Cargados {} productos desde JSON", productosMap.size());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error leyendo el catálogo " + resource.getDescription(), e);
+            }
+            long picoHeap = poolsHeap.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            long finCarga = System.nanoTime();
+
+            long cambios;
+            long segmentoWal = 0;
+            intercambioLock.writeLock().lock();
+            try {
+                CatalogoEstado anterior = estado.getAndSet(nuevo);
+                cambios = notificarDiferencias(anterior, nuevo);
+                if (wal != null) {
+                    segmentoWal = wal.rotar();
+                }
+            } finally {
+                intercambioLock.writeLock().unlock();
+            }
+            publicarVersion();
+            long finIntercambio = System.nanoTime();
+
+            if (wal != null) {
+                // Lo escrito después del intercambio está en segmentoWal y se reaplica encima
+                snapshots.escribir(nuevo.productos.values(), segmentoWal, sequence.get());
+                wal.compactar(segmentoWal);
+            }
+            ResultadoRecarga resultado = new ResultadoRecarga(resource.getDescription(), productos, cambios,
+                    TimeUnit.NANOSECONDS.toMillis(finCarga - inicio),
+                    TimeUnit.NANOSECONDS.toMillis(finIntercambio - finCarga),
+                    heapAntes / (1024 * 1024), picoHeap / (1024 * 1024),
+                    Math.max(0, picoHeap - heapAntes) / (1024 * 1024));
+            logger.info("Catálogo recargado: {}", resultado);
+            return resultado;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    // Avisa a los listeners lo que cambió entre dos catálogos; se llama con las escrituras detenidas
+    private long notificarDiferencias(CatalogoEstado anterior, CatalogoEstado nuevo) {
+        long cambios = 0;
+        for (Map.Entry<Long, Producto> entrada : nuevo.productos.entrySet()) {
+            Producto previo = anterior.productos.get(entrada.getKey());
+            if (previo != entrada.getValue()) {
+                notificar(entrada.getKey(), previo, entrada.getValue());
+                cambios++;
             }
+        }
+        for (Map.Entry<Long, Producto> entrada : anterior.productos.entrySet()) {
+            if (!nuevo.productos.containsKey(entrada.getKey())) {
+                notificar(entrada.getKey(), entrada.getValue(), null);
+                cambios++;
+            }
+        }
+        return cambios;
+    }
+
+    // Lectura incremental: cada producto se inserta al parsearlo, sin lista intermedia
+    private void cargarProductosDesdeJSON() {
+        Resource resource = resolverRecurso(jsonFilePath);
+        List<MemoryPoolMXBean> poolsHeap = poolsHeap();
+        poolsHeap.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long inicio = System.nanoTime();
+
+        try {
+            long cargados = leerProductos(resource, producto -> guardar(producto, Origen.CARGA));
+            long picoHeap = poolsHeap.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            logger.info("Cargados {} productos desde {} en {} ms (heap pico {} MB)",
+                    cargados, resource.getDescription(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio),
+                    picoHeap / (1024 * 1024));
         } catch (IOException e) {
             logger.error("Error al cargar el archivo JSON de productos: {}", e.getMessage());
             throw new RuntimeException("Error inicializando repositorio de productos", e);
         }
     }
 
+    private long leerProductos(Resource resource, Consumer<Producto> destino) throws IOException {
+        try (InputStream in = resource.getInputStream();
+             JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            long cargados = 0;
+            if (avanzarHastaProductos(parser)) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    Producto producto = objectMapper.readValue(parser, Producto.class);
+                    destino.accept(producto);
+                    sequence.updateAndGet(current -> Math.max(current, producto.getId() + 1));
+                    cargados++;
+                }
+            }
+            return cargados;
+        }
+    }
+
+    // classpath: y URLs se resuelven como recursos; cualquier otra ruta es del sistema de archivos
+    private static Resource resolverRecurso(String ruta) {
+        if (ruta.startsWith(ResourceUtils.CLASSPATH_URL_PREFIX) || ResourceUtils.isUrl(ruta)) {
+            return new DefaultResourceLoader().getResource(ruta);
+        }
+        return new FileSystemResource(ruta);
+    }
+
+    // Acepta {"productos": [...]} o directamente un array de productos
+    private static boolean avanzarHastaProductos(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_ARRAY) {
+            return true;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.currentName();
+            JsonToken valor = parser.nextToken();
+            if ("productos".equals(campo) && valor == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static List<MemoryPoolMXBean> poolsHeap() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<Producto> findAll() {
-        return new ArrayList<>(productosMap.values());
+        return new ArrayList<>(estado.get().productos.values());
+    }
+
+    @Override
+    public Page<Producto> findAll(Pageable pageable) {
+        // Recorre los ids en orden y solo materializa la ventana pedida. Saltar el offset
+        // cuesta O(offset); la lista no se dimensiona con el size, que viene del cliente.
+        CatalogoEstado actual = estado.get();
+        List<Producto> contenido = new ArrayList<>();
+        Iterator<Long> ids = actual.idOrdenIndex.ids().iterator();
+        long saltar = pageable.getOffset();
+        while (ids.hasNext() && contenido.size() < pageable.getPageSize()) {
+            Producto producto = actual.productos.get(ids.next());
+            if (producto == null) {
+                continue;
+            }
+            if (saltar > 0) {
+                saltar--;
+            } else {
+                contenido.add(producto);
+            }
+        }
+        return new PageImpl<>(contenido, pageable, actual.productos.size());
+    }
+
+    @Override
+    public List<Producto> findAllAfter(Long afterId, int limit) {
+        // tailSet es O(log n) sin importar la profundidad del cursor
+        CatalogoEstado actual = estado.get();
+        Iterable<Long> ids = afterId != null
+                ? actual.idOrdenIndex.ids().tailSet(afterId, false)
+                : actual.idOrdenIndex.ids();
+        // Sin dimensionar con limit: viene del cliente
+        List<Producto> contenido = new ArrayList<>();
+        Iterator<Long> iterador = ids.iterator();
+        while (iterador.hasNext() && contenido.size() < limit) {
+            Producto producto = actual.productos.get(iterador.next());
+            if (producto != null) {
+                contenido.add(producto);
+            }
+        }
+        return contenido;
     }
 
     @Override
     public Optional<Producto> findById(Long id) {
-        return Optional.ofNullable(productosMap.get(id));
+        return Optional.ofNullable(estado.get().productos.get(id));
     }
 
     @Override
     public List<Producto> findByCategoria(String categoria) {
-        return productosMap.values().stream()
-                .filter(p -> p.getCategoria().equalsIgnoreCase(categoria))
-                .collect(Collectors.toList());
+        return streamByCategoria(categoria).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Producto> streamByCategoria(String categoria) {
+        // Los ids del índice se verifican contra el mapa por si hubo un cambio concurrente
+        CatalogoEstado actual = estado.get();
+        return actual.categoriaIndex.buscar(categoria).stream()
+                .map(actual.productos::get)
+                .filter(p -> p != null && categoria.equalsIgnoreCase(p.getCategoria()));
     }
 
     @Override
     public List<Producto> findByDisponible(Boolean disponible) {
-        return productosMap.values().stream()
-                .filter(p -> p.getDisponible().equals(disponible))
+        return streamByDisponible(disponible).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Producto> streamByDisponible(Boolean disponible) {
+        if (disponible == null) {
+            return Stream.empty();
+        }
+        // El bitmap de disponibilidad ya tiene solo los slots que coinciden; se recorre
+        // a medida que se consume, sin juntar antes todos los ids
+        CatalogoEstado actual = estado.get();
+        PrimitiveIterator.OfLong ids = actual.columnarIndex.iterarIdsPorDisponible(disponible);
+        return StreamSupport.longStream(Spliterators.spliteratorUnknownSize(ids,
+                        Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false)
+                .mapToObj(actual.productos::get)
+                .filter(p -> p != null && disponible.equals(p.getDisponible()));
+    }
+
+    @Override
+    public List<Producto> findByPrecioBetween(Double min, Double max) {
+        CatalogoEstado actual = estado.get();
+        return actual.precioIndex.entre(min, max).stream()
+                .map(entrada -> actual.productos.get(entrada.id()))
+                .filter(p -> p != null && enRango(p.getPrecio(), min, max))
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<Producto> findByNombreContaining(String nombre) {
-        return productosMap.values().stream()
-                .filter(p -> p.getNombre().toLowerCase().contains(nombre.toLowerCase()))
+    public List<Producto> findByStockLessThan(Integer stock) {
+        CatalogoEstado actual = estado.get();
+        return actual.stockIndex.menoresQue(stock).stream()
+                .map(entrada -> actual.productos.get(entrada.id()))
+                .filter(p -> p != null && p.getStock() != null && p.getStock() < stock)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Producto> findByQuery(ProductoQuery query) {
+        return estado.get().queryPlanner.ejecutar(query);
+    }
+
+    @Override
+    public long countByDisponible(Boolean disponible) {
+        return disponible != null ? estado.get().columnarIndex.contarPorDisponible(disponible) : 0;
+    }
+
+    @Override
+    public List<Producto> findConStock() {
+        CatalogoEstado actual = estado.get();
+        return Arrays.stream(actual.columnarIndex.idsConStock())
+                .mapToObj(actual.productos::get)
+                .filter(p -> p != null && Boolean.TRUE.equals(p.getDisponible()) && p.tieneStock())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long countConStock() {
+        return estado.get().columnarIndex.contarConStock();
+    }
+
+    @Override
+    public long sumStock() {
+        return estado.get().columnarIndex.sumarStock();
+    }
+
+    @Override
+    public double sumValorInventario() {
+        return estado.get().columnarIndex.valorInventario();
+    }
+
+    @Override
+    public List<Producto> findByNombreContaining(String nombre) {
+        return streamByNombreContaining(nombre).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Producto> streamByNombreContaining(String nombre) {
+        // Consultas de menos de 3 caracteres no tienen trigramas: se recorre el catálogo
+        CatalogoEstado actual = estado.get();
+        Stream<Producto> candidatos = actual.nombreIndex.candidatos(nombre)
+                .map(ids -> ids.stream().map(actual.productos::get).filter(Objects::nonNull))
+                .orElseGet(() -> actual.productos.values().stream());
+        return candidatos
+                .filter(p -> NombreCoincidencia.contiene(p.getNombre(), nombre));
+    }
+
     @Override
     public Producto save(Producto producto) {
         if (producto.getId() == null) {
             producto.setId(sequence.getAndIncrement());
         }
-        productosMap.put(producto.getId(), producto);
-        return producto;
+        Escritura escritura = guardar(producto, Origen.UNITARIA);
+        publicarVersion();
+        esperarDurable(escritura.posicion());
+        return escritura.producto();
     }
 
     @Override
     public void deleteById(Long id) {
-        productosMap.remove(id);
+        long posicion = eliminar(id, Origen.UNITARIA);
+        if (posicion >= 0) {
+            publicarVersion();
+            esperarDurable(posicion);
+        }
+    }
+
+    @Override
+    public Optional<Producto> actualizar(Long id, Long versionEsperada, Producto producto) {
+        producto.setId(id);
+        Escritura escritura = guardar(producto, Origen.UNITARIA, true, versionEsperada);
+        if (escritura == null) {
+            return Optional.empty();
+        }
+        publicarVersion();
+        esperarDurable(escritura.posicion());
+        return Optional.of(escritura.producto());
+    }
+
+    @Override
+    public boolean eliminar(Long id, Long versionEsperada) {
+        long posicion = eliminar(id, Origen.UNITARIA, versionEsperada);
+        if (posicion < 0) {
+            return false;
+        }
+        publicarVersion();
+        esperarDurable(posicion);
+        return true;
+    }
+
+    @Override
+    public List<Producto> aplicarLote(List<OperacionLote> operaciones) {
+        // Cada operación toma su versión dentro de su compute, como una escritura unitaria: así las
+        // versiones de un id solo crecen aunque otra escritura se intercale. El lote se registra sin
+        // fsync por entrada, se publica una vez y espera un solo fsync.
+        long ultimaPosicion = 0;
+        List<Producto> resultados = new ArrayList<>(operaciones.size());
+        for (OperacionLote operacion : operaciones) {
+            Producto resultado = null;
+            long posicion;
+            switch (operacion.tipo()) {
+                case CREAR -> {
+                    Producto producto = operacion.producto();
+                    producto.setId(sequence.getAndIncrement());
+                    Escritura escritura = guardar(producto, Origen.UNITARIA, false, null);
+                    posicion = escritura.posicion();
+                    resultado = escritura.producto();
+                }
+                case ACTUALIZAR -> {
+                    Producto producto = operacion.producto();
+                    producto.setId(operacion.id());
+                    Escritura escritura = guardar(producto, Origen.UNITARIA, true, null);
+                    posicion = escritura != null ? escritura.posicion() : -1;
+                    resultado = escritura != null ? escritura.producto() : null;
+                }
+                default -> {
+                    Producto anterior = estado.get().productos.get(operacion.id());
+                    posicion = eliminar(operacion.id(), Origen.UNITARIA);
+                    resultado = posicion >= 0 ? anterior : null;
+                }
+            }
+            ultimaPosicion = Math.max(ultimaPosicion, posicion);
+            resultados.add(resultado);
+        }
+        publicarVersion();
+        esperarDurable(ultimaPosicion);
+        return resultados;
+    }
+
+    @Override
+    public VersionCatalogo version() {
+        return versionCatalogo.get();
+    }
+
+    @Override
+    public void suscribir(ProductoCambioListener listener) {
+        // Con el lock exclusivo no hay escrituras a medio notificar: toda escritura que
+        // termine después de suscribir avisa a este listener
+        intercambioLock.writeLock().lock();
+        try {
+            listeners.add(listener);
+        } finally {
+            intercambioLock.writeLock().unlock();
+        }
+    }
+
+    // Entradas de un índice del catálogo vigente, para las métricas; null si no existe
+    public Integer tamanoIndice(String indice) {
+        CatalogoEstado actual = estado.get();
+        return switch (indice) {
+            case "categoria" -> actual.categoriaIndex.size();
+            case "categorias" -> actual.categorias.size();
+            case "nombre" -> actual.nombreIndex.size();
+            case "columnar" -> actual.columnarIndex.size();
+            case "precio" -> actual.precioIndex.size();
+            case "stock" -> actual.stockIndex.size();
+            default -> null;
+        };
     }
 
     @Override
     public boolean existsById(Long id) {
-        return productosMap.containsKey(id);
+        return estado.get().productos.containsKey(id);
     }
 
     @Override
     public long count() {
-        return productosMap.size();
+        return estado.get().productos.size();
+    }
+
+    private static boolean enRango(Double valor, Double min, Double max) {
+        return valor != null && (min == null || valor >= min) && (max == null || valor <= max);
+    }
+
+    // Toda escritura de un id pasa por su lock, que cubre lectura, append y compute:
+    // el log guarda los cambios de cada id en el orden del mapa. Primero se
+    // registra en el WAL y recién si eso funciona se aplica, así un error de
+    // escritura no deja visible (ni notificado) un cambio que se perdería al
+    // reiniciar. El compute solo cambia mapa e índices; el disco queda fuera del
+    // monitor del bin.
+    // Publica una copia si tiene que cambiar cómo se guarda el producto recibido.
+    private Escritura guardar(Producto producto, Origen origen) {
+        return guardar(producto, origen, false, null);
+    }
+
+    // Con soloSiExiste devuelve null si el id no estaba; con versionEsperada además
+    // exige esa versión, comparada con el lock del id tomado.
+    private Escritura guardar(Producto producto, Origen origen, boolean soloSiExiste, Long versionEsperada) {
+        ReentrantLock lockId = escrituraLock(producto.getId());
+        intercambioLock.readLock().lock();
+        lockId.lock();
+        try {
+            CatalogoEstado actual = estado.get();
+            Producto anterior = actual.productos.get(producto.getId());
+            if (soloSiExiste && anterior == null) {
+                return null;
+            }
+            if (anterior != null) {
+                verificarVersion(producto.getId(), anterior, versionEsperada);
+            }
+            switch (origen) {
+                case UNITARIA -> producto.setVersion(versiones.incrementAndGet());
+                case CARGA -> {
+                    // Snapshot o WAL: la versión guardada se conserva; la semilla no trae
+                    if (producto.getVersion() == 0) {
+                        producto.setVersion(versiones.incrementAndGet());
+                    } else {
+                        versiones.accumulateAndGet(producto.getVersion(), Math::max);
+                    }
+                }
+            }
+            long posicion = registrar(origen, WalEntrada.put(producto));
+            Producto almacenado = actual.almacenar(producto, diferirDescripcion(producto, anterior));
+            actual.productos.compute(producto.getId(), (key, previo) -> {
+                indexar(actual, key, previo, almacenado);
+                return almacenado;
+            });
+            return new Escritura(almacenado, posicion);
+        } finally {
+            lockId.unlock();
+            intercambioLock.readLock().unlock();
+        }
+    }
+
+    private long eliminar(Long id, Origen origen) {
+        return eliminar(id, origen, null);
+    }
+
+    // Devuelve -1 si el id no existía
+    private long eliminar(Long id, Origen origen, Long versionEsperada) {
+        ReentrantLock lockId = escrituraLock(id);
+        intercambioLock.readLock().lock();
+        lockId.lock();
+        try {
+            CatalogoEstado actual = estado.get();
+            Producto anterior = actual.productos.get(id);
+            if (anterior == null) {
+                return -1;
+            }
+            verificarVersion(id, anterior, versionEsperada);
+            // Las bajas no guardan versión: también al reproducir el WAL avanzan el contador
+            versiones.incrementAndGet();
+            long posicion = registrar(origen, WalEntrada.delete(id));
+            actual.productos.computeIfPresent(id, (key, previo) -> {
+                indexar(actual, key, previo, null);
+                return null;
+            });
+            return posicion;
+        } finally {
+            lockId.unlock();
+            intercambioLock.readLock().unlock();
+        }
     }
 
-    // Clase interna para el wrapper del JSON
-    private static class JsonDataWrapper {
-        private List<Producto> productos;
+    private ReentrantLock escrituraLock(Long id) {
+        return escrituraLocks[Long.hashCode(id) & (escrituraLocks.length - 1)];
+    }
+
+    // Se verifica antes del WAL: un conflicto no deja nada registrado ni aplicado
+    private static void verificarVersion(Long id, Producto actual, Long versionEsperada) {
+        if (versionEsperada != null && actual.getVersion() != versionEsperada) {
+            throw new ConflictoVersionException(id, versionEsperada, actual.getVersion());
+        }
+    }
+
+    private long registrar(Origen origen, WalEntrada entrada) {
+        if (wal == null || origen == Origen.CARGA) {
+            return 0;
+        }
+        return wal.registrar(entrada);
+    }
+
+    /**
+     * Publica una versión tomada después de aplicar la escritura. Si se publicara
+     * la versión asignada a la escritura, una escritura más lenta con versión
+     * menor podría aplicarse después de que un lector viera la mayor, y ese ETag
+     * seguiría pareciendo vigente.
+     */
+    private void publicarVersion() {
+        VersionCatalogo nueva = new VersionCatalogo(generacion, versiones.incrementAndGet(), Instant.now());
+        versionCatalogo.accumulateAndGet(nueva, (actual, candidata) ->
+                candidata.version() > actual.version() ? candidata : actual);
+    }
+
+    // Se espera fuera del compute para que los escritores compartan el fsync
+    private void esperarDurable(long posicion) {
+        if (posicion > 0) {
+            wal.esperarDurable(posicion);
+        }
+    }
 
-        public List<Producto> getProductos() {
-            return productos;
+    private void aplicar(WalEntrada entrada) {
+        if (entrada.tipo() == WalEntrada.Tipo.PUT) {
+            guardar(entrada.producto(), Origen.CARGA);
+            sequence.updateAndGet(current -> Math.max(current, entrada.id() + 1));
+        } else {
+            eliminar(entrada.id(), Origen.CARGA);
         }
+    }
 
-        public void setProductos(List<Producto> productos) {
-            this.productos = productos;
+    // Después del WAL, que así serializa el texto en memoria, y antes del compute: escribir
+    // el archivo no debe ocurrir con el monitor del bin tomado; al compute solo llega la
+    // referencia. Una escritura que no cambia la descripción (stock, reservas) reutiliza
+    // el registro anterior en vez de agregar otro. Devuelve la descripción a publicar.
+    private CharSequence diferirDescripcion(Producto producto, @Nullable Producto anterior) {
+        CharSequence descripcion = producto.descripcionAlmacenada();
+        if (descripciones == null || !(descripcion instanceof String texto)
+                || texto.length() < MIN_CARACTERES_DIFERIDOS) {
+            return descripcion;
+        }
+        if (anterior != null && anterior.descripcionAlmacenada() instanceof AlmacenDescripciones.Descripcion previa
+                && texto.equals(previa.toString())) {
+            return previa;
+        }
+        try {
+            return descripciones.agregar(texto);
+        } catch (UncheckedIOException | IllegalArgumentException e) {
+            // La escritura ya está en el WAL: no se aborta, el texto queda en memoria
+            logger.warn("Descripción del producto {} en memoria: {}", producto.getId(), e.getMessage());
+            return texto;
+        }
+    }
+
+    private void indexar(CatalogoEstado actual, Long id, Producto anterior, Producto nuevo) {
+        actual.indexar(id, anterior, nuevo);
+        notificar(id, anterior, nuevo);
+    }
+
+    // Los índices ya cambiaron: un listener que falla no puede deshacer la escritura
+    private void notificar(Long id, Producto anterior, Producto nuevo) {
+        for (ProductoCambioListener listener : listeners) {
+            try {
+                listener.productoCambiado(id, anterior, nuevo);
+            } catch (RuntimeException e) {
+                logger.error("Listener {} falló con el producto {}", listener, id, e);
+            }
         }
     }
 }
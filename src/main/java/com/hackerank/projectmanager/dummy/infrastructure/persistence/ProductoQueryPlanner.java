@@ -0,0 +1,137 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoQuery;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.index.ColumnarIndex;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.index.NombreTrigramIndex;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.index.RangoIndex;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Resuelve una {@link ProductoQuery} combinando índices.
+ *
+ * <p>Estima la cardinalidad de cada criterio indexable, arranca por el más
+ * selectivo e intersecta bitmaps de slots del {@link ColumnarIndex}. Los
+ * rangos y el nombre solo se materializan si no son mucho más grandes que el
+ * resultado parcial; si no, se dejan para la verificación final con
+ * {@link ProductoQuery#coincide}, que se aplica siempre sobre el mapa.
+ */
+class ProductoQueryPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductoQueryPlanner.class);
+    // Un criterio se intersecta si su tamaño no supera este múltiplo del resultado parcial
+    private static final int FACTOR_INTERSECCION = 8;
+
+    private final Map<Long, Producto> productosMap;
+    private final ColumnarIndex columnarIndex;
+    private final NombreTrigramIndex nombreIndex;
+    private final RangoIndex precioIndex;
+    private final RangoIndex stockIndex;
+
+    ProductoQueryPlanner(Map<Long, Producto> productosMap, ColumnarIndex columnarIndex,
+                         NombreTrigramIndex nombreIndex, RangoIndex precioIndex, RangoIndex stockIndex) {
+        this.productosMap = productosMap;
+        this.columnarIndex = columnarIndex;
+        this.nombreIndex = nombreIndex;
+        this.precioIndex = precioIndex;
+        this.stockIndex = stockIndex;
+    }
+
+    // Criterio indexable con su cardinalidad estimada y cómo obtener sus slots
+    private record Paso(String nombre, long estimado, boolean bitmapNativo, Supplier<RoaringBitmap> slots) {
+    }
+
+    List<Producto> ejecutar(ProductoQuery query) {
+        List<Paso> pasos = planificar(query);
+        if (pasos.isEmpty()) {
+            // Ningún criterio usa índices: se recorre el catálogo
+            return productosMap.values().stream()
+                    .filter(query::coincide)
+                    .sorted(Comparator.comparing(Producto::getId))
+                    .collect(Collectors.toList());
+        }
+
+        RoaringBitmap resultado = pasos.get(0).slots().get();
+        for (int i = 1; i < pasos.size() && !resultado.isEmpty(); i++) {
+            Paso paso = pasos.get(i);
+            if (paso.bitmapNativo() || paso.estimado() <= (long) resultado.getCardinality() * FACTOR_INTERSECCION) {
+                resultado.and(paso.slots().get());
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Plan {} -> {} candidatos",
+                    pasos.stream().map(p -> p.nombre() + "=" + p.estimado()).toList(), resultado.getCardinality());
+        }
+
+        List<Producto> productos = new ArrayList<>(resultado.getCardinality());
+        for (long id : columnarIndex.idsDeSlots(resultado)) {
+            Producto producto = productosMap.get(id);
+            if (producto != null && query.coincide(producto)) {
+                productos.add(producto);
+            }
+        }
+        productos.sort(Comparator.comparing(Producto::getId));
+        return productos;
+    }
+
+    // Pasos ordenados de más a menos selectivo
+    private List<Paso> planificar(ProductoQuery query) {
+        List<Paso> pasos = new ArrayList<>();
+        if (query.getCategoria() != null) {
+            pasos.add(new Paso("categoria", columnarIndex.cardinalidadCategoria(query.getCategoria()), true,
+                    () -> columnarIndex.slotsDeCategoria(query.getCategoria())));
+        }
+        if (query.getDisponible() != null) {
+            boolean disponible = query.getDisponible();
+            pasos.add(new Paso("disponible", columnarIndex.contarPorDisponible(disponible), true,
+                    () -> columnarIndex.slotsDeDisponible(disponible)));
+        }
+        if (query.getNombre() != null) {
+            Optional<Collection<Long>> candidatos = nombreIndex.candidatos(query.getNombre());
+            candidatos.ifPresent(ids -> pasos.add(new Paso("nombre", ids.size(), false,
+                    () -> columnarIndex.slotsDeIds(ids))));
+        }
+
+        // Contar un rango cuesta lo mismo que recorrerlo: se corta al superar al mejor criterio
+        long cota = pasos.stream().mapToLong(Paso::estimado).min().orElse(Long.MAX_VALUE);
+        if (query.tieneRangoPrecio()) {
+            Collection<RangoIndex.Entrada> rango = precioIndex.entre(query.getPrecioMin(), query.getPrecioMax());
+            pasos.add(new Paso("precio", contarHasta(rango, cota), false,
+                    () -> columnarIndex.slotsDeIds(ids(rango))));
+        }
+        if (query.getStockMenorA() != null) {
+            Collection<RangoIndex.Entrada> rango = stockIndex.menoresQue(query.getStockMenorA());
+            pasos.add(new Paso("stock", contarHasta(rango, cota), false,
+                    () -> columnarIndex.slotsDeIds(ids(rango))));
+        }
+        pasos.sort(Comparator.comparingLong(Paso::estimado));
+        return pasos;
+    }
+
+    // Cuenta hasta superar la cota; devuelve cota + 1 si la supera
+    private static long contarHasta(Collection<?> elementos, long cota) {
+        long total = 0;
+        Iterator<?> iterador = elementos.iterator();
+        while (iterador.hasNext() && total <= cota) {
+            iterador.next();
+            total++;
+        }
+        return total;
+    }
+
+    private static Iterable<Long> ids(Collection<RangoIndex.Entrada> rango) {
+        return () -> rango.stream().map(RangoIndex.Entrada::id).iterator();
+    }
+}
@@ -0,0 +1,144 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence.cdc;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.CambioProducto;
+import com.hackerank.projectmanager.dummy.domain.repository.OperacionLote;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoCambioListener;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Anillo acotado con los últimos cambios del repositorio, numerados por secuencia.
+ *
+ * <p>Cada alta, modificación o baja toma la siguiente secuencia y ocupa la
+ * posición {@code secuencia % capacidad}, así que escribir nunca bloquea ni
+ * espera a los lectores: un lector que queda más de una vuelta atrás lo
+ * detecta porque la posición ya tiene una secuencia mayor. Los cambios de un
+ * mismo id quedan en el orden en que se aplicaron, porque el repositorio
+ * notifica dentro de la sección crítica del id.
+ *
+ * <p>Las secuencias solo valen para esta ejecución; {@link #generacion()} la
+ * distingue para que un consumidor no retome con una secuencia de otra.
+ */
+@Component
+public class RegistroCambios implements ProductoCambioListener {
+
+    private final long generacion = System.currentTimeMillis();
+    private final AtomicReferenceArray<CambioProducto> anillo;
+    private final int mascara;
+    private final AtomicLong siguiente = new AtomicLong();
+    // Lectores dormidos a la espera de un cambio; se despiertan al publicar
+    private final Set<Thread> esperando = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public RegistroCambios(ProductoRepository productoRepository,
+                           @Value("${app.cdc.capacidad:65536}") int capacidad) {
+        this(capacidad);
+        productoRepository.suscribir(this);
+    }
+
+    public RegistroCambios(int capacidad) {
+        if (capacidad <= 0 || Integer.bitCount(capacidad) != 1) {
+            throw new IllegalArgumentException("La capacidad del registro de cambios debe ser potencia de 2");
+        }
+        this.anillo = new AtomicReferenceArray<>(capacidad);
+        this.mascara = capacidad - 1;
+    }
+
+    @Override
+    public void productoCambiado(Long id, Producto anterior, Producto nuevo) {
+        OperacionLote.Tipo tipo = nuevo == null ? OperacionLote.Tipo.ELIMINAR
+                : anterior == null ? OperacionLote.Tipo.CREAR
+                : OperacionLote.Tipo.ACTUALIZAR;
+        long secuencia = siguiente.getAndIncrement();
+        anillo.set(posicion(secuencia), new CambioProducto(secuencia, tipo, id, nuevo, Instant.now()));
+        if (!esperando.isEmpty()) {
+            for (Thread hilo : esperando) {
+                LockSupport.unpark(hilo);
+            }
+        }
+    }
+
+    public long generacion() {
+        return generacion;
+    }
+
+    public int capacidad() {
+        return anillo.length();
+    }
+
+    // Secuencia que tomará el próximo cambio
+    public long siguienteSecuencia() {
+        return siguiente.get();
+    }
+
+    // La más antigua que todavía puede leerse
+    public long primeraSecuencia() {
+        return Math.max(0, siguiente.get() - anillo.length());
+    }
+
+    /**
+     * Agrega a destino hasta max cambios a partir de desde, en orden y sin huecos.
+     * Se detiene en la primera secuencia aún no publicada.
+     *
+     * @return la siguiente secuencia a leer, o -1 si desde ya fue sobrescrita
+     */
+    public long leer(long desde, int max, List<CambioProducto> destino) {
+        long secuencia = desde;
+        while (secuencia - desde < max) {
+            CambioProducto cambio = anillo.get(posicion(secuencia));
+            if (cambio == null || cambio.secuencia() < secuencia) {
+                break;
+            }
+            if (cambio.secuencia() > secuencia) {
+                // Sobrescrita a mitad de lectura: lo leído vale, la próxima llamada devuelve -1
+                return secuencia == desde ? -1 : secuencia;
+            }
+            destino.add(cambio);
+            secuencia++;
+        }
+        return secuencia;
+    }
+
+    /**
+     * Duerme al hilo hasta que la secuencia se publique, pase el tiempo o se
+     * interrumpa. Devuelve true si ya puede leerse (o si ya fue sobrescrita).
+     */
+    public boolean esperar(long secuencia, long timeoutNanos) {
+        long limite = System.nanoTime() + timeoutNanos;
+        Thread hilo = Thread.currentThread();
+        // Registrarse antes de comprobar: una publicación intermedia deja el permiso de unpark
+        esperando.add(hilo);
+        try {
+            while (!publicada(secuencia)) {
+                long restante = limite - System.nanoTime();
+                if (restante <= 0 || hilo.isInterrupted()) {
+                    return false;
+                }
+                LockSupport.parkNanos(this, restante);
+            }
+            return true;
+        } finally {
+            esperando.remove(hilo);
+        }
+    }
+
+    private boolean publicada(long secuencia) {
+        CambioProducto cambio = anillo.get(posicion(secuencia));
+        return cambio != null && cambio.secuencia() >= secuencia;
+    }
+
+    private int posicion(long secuencia) {
+        return (int) (secuencia & mascara);
+    }
+}
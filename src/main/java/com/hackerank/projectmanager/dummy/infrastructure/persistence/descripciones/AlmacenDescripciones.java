@@ -0,0 +1,171 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence.descripciones;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Archivo de solo agregado, mapeado en memoria, con las descripciones de los
+ * productos. Cada registro es un int con el largo en bytes seguido del texto
+ * UTF-8; la referencia es su posición en el archivo. Los registros no cruzan
+ * segmentos, así que leer uno es un get absoluto sobre un solo buffer.
+ *
+ * <p>Agregar toma un {@link ReentrantLock} y no un monitor: escribe en el
+ * archivo mapeado y puede mapear un segmento nuevo, y esperar ahí no debe fijar
+ * un hilo virtual. Se llama antes del compute del mapa, nunca dentro.
+ *
+ * <p>No es estado durable: el WAL y los snapshots guardan el texto completo.
+ * El archivo es temporal, se borra al cerrarlo y las versiones reemplazadas
+ * quedan como espacio muerto hasta el próximo arranque.
+ */
+public class AlmacenDescripciones implements Closeable {
+
+    private static final int BYTES_LARGO = Integer.BYTES;
+
+    private final FileChannel canal;
+    private final int tamanoSegmento;
+    // Se reemplaza al crecer; un lector que recibió una referencia ya ve su segmento
+    private volatile MappedByteBuffer[] segmentos = new MappedByteBuffer[0];
+    // Protege posicion y el crecimiento de segmentos
+    private final ReentrantLock escrituraLock = new ReentrantLock();
+    private long posicion;
+
+    public AlmacenDescripciones(Path directorio, int tamanoSegmento) {
+        this.tamanoSegmento = tamanoSegmento;
+        try {
+            Files.createDirectories(directorio);
+            Path archivo = Files.createTempFile(directorio, "descripciones-", ".blob");
+            canal = FileChannel.open(archivo, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el archivo de descripciones en " + directorio, e);
+        }
+    }
+
+    public Descripcion agregar(String texto) {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        int largo = BYTES_LARGO + bytes.length;
+        if (largo > tamanoSegmento) {
+            throw new IllegalArgumentException("La descripción supera el tamaño de segmento: " + bytes.length + " bytes");
+        }
+        escrituraLock.lock();
+        try {
+            long inicio = posicion;
+            if (inicio % tamanoSegmento + largo > tamanoSegmento) {
+                // No entra en lo que queda del segmento: pasa al siguiente
+                inicio += tamanoSegmento - inicio % tamanoSegmento;
+            }
+            MappedByteBuffer segmento = segmento((int) (inicio / tamanoSegmento));
+            int desplazamiento = (int) (inicio % tamanoSegmento);
+            segmento.putInt(desplazamiento, bytes.length);
+            segmento.put(desplazamiento + BYTES_LARGO, bytes);
+            posicion = inicio + largo;
+            return new Descripcion(this, inicio, texto.length(), bytes.length == texto.length());
+        } finally {
+            escrituraLock.unlock();
+        }
+    }
+
+    String leer(long referencia) {
+        MappedByteBuffer segmento = segmentos[(int) (referencia / tamanoSegmento)];
+        int desplazamiento = (int) (referencia % tamanoSegmento);
+        byte[] bytes = new byte[segmento.getInt(desplazamiento)];
+        segmento.get(desplazamiento + BYTES_LARGO, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Solo para textos ASCII, donde cada char es un byte
+    char leerAscii(long referencia, int indice) {
+        MappedByteBuffer segmento = segmentos[(int) (referencia / tamanoSegmento)];
+        return (char) segmento.get((int) (referencia % tamanoSegmento) + BYTES_LARGO + indice);
+    }
+
+    // Bytes escritos, incluido el espacio de versiones reemplazadas
+    public long getBytes() {
+        escrituraLock.lock();
+        try {
+            return posicion;
+        } finally {
+            escrituraLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    // Mapear un segmento más allá del fin extiende el archivo (disperso hasta que se escribe)
+    private MappedByteBuffer segmento(int indice) {
+        MappedByteBuffer[] actuales = segmentos;
+        if (indice < actuales.length) {
+            return actuales[indice];
+        }
+        try {
+            MappedByteBuffer nuevo = canal.map(FileChannel.MapMode.READ_WRITE,
+                    (long) indice * tamanoSegmento, tamanoSegmento);
+            MappedByteBuffer[] ampliados = Arrays.copyOf(actuales, indice + 1);
+            ampliados[indice] = nuevo;
+            segmentos = ampliados;
+            return nuevo;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo mapear el segmento " + indice + " de descripciones", e);
+        }
+    }
+
+    /**
+     * Descripción guardada en el archivo. Se lee recién cuando alguien pide el
+     * texto; en el heap del producto solo queda esta referencia y el largo.
+     * {@link #length()} no lee el archivo y {@link #charAt} de un texto ASCII lee
+     * un solo byte; con otros caracteres decodifica todo el texto, así que para
+     * recorrerlo conviene tomar {@link #toString()} una vez.
+     */
+    public static final class Descripcion implements CharSequence {
+
+        private final AlmacenDescripciones almacen;
+        private final long referencia;
+        private final int largo;
+        private final boolean ascii;
+
+        private Descripcion(AlmacenDescripciones almacen, long referencia, int largo, boolean ascii) {
+            this.almacen = almacen;
+            this.referencia = referencia;
+            this.largo = largo;
+            this.ascii = ascii;
+        }
+
+        @Override
+        public String toString() {
+            return almacen.leer(referencia);
+        }
+
+        @Override
+        public int length() {
+            return largo;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (!ascii) {
+                return toString().charAt(index);
+            }
+            if (index < 0 || index >= largo) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return almacen.leerAscii(referencia, index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence.descripciones;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+// Con app.descripciones.enabled=false las descripciones quedan en el heap
+@Configuration
+@ConditionalOnProperty(name = "app.descripciones.enabled", havingValue = "true")
+public class DescripcionesConfig {
+
+    @Bean(destroyMethod = "close")
+    public AlmacenDescripciones almacenDescripciones(
+            @Value("${app.descripciones.directorio:${java.io.tmpdir}}") String directorio,
+            @Value("${app.descripciones.segmento-bytes:67108864}") int tamanoSegmento) {
+        return new AlmacenDescripciones(Path.of(directorio), tamanoSegmento);
+    }
+
+    @Bean
+    public MeterBinder descripcionesMetricas(AlmacenDescripciones almacenDescripciones) {
+        return registry -> Gauge.builder("productos.descripciones.bytes", almacenDescripciones,
+                        AlmacenDescripciones::getBytes)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
@@ -0,0 +1,55 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence.index;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Índice categoría (normalizada) -> ids de producto
+public class CategoriaIndex implements ProductoIndex {
+
+    private final Map<String, Set<Long>> idsPorCategoria = new ConcurrentHashMap<>();
+
+    @Override
+    public void actualizar(Long id, Producto anterior, Producto nuevo) {
+        String categoriaAnterior = anterior != null ? normalizar(anterior.getCategoria()) : null;
+        String categoriaNueva = nuevo != null ? normalizar(nuevo.getCategoria()) : null;
+        if (Objects.equals(categoriaAnterior, categoriaNueva)) {
+            return;
+        }
+        if (categoriaNueva != null) {
+            idsPorCategoria.compute(categoriaNueva, (k, ids) -> {
+                Set<Long> resultado = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                resultado.add(id);
+                return resultado;
+            });
+        }
+        if (categoriaAnterior != null) {
+            idsPorCategoria.computeIfPresent(categoriaAnterior, (k, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    // Devuelve una vista concurrente; los ids deben verificarse contra el mapa principal
+    public Set<Long> buscar(String categoria) {
+        String clave = normalizar(categoria);
+        if (clave == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(idsPorCategoria.getOrDefault(clave, Collections.emptySet()));
+    }
+
+    public int size() {
+        return idsPorCategoria.size();
+    }
+
+    static String normalizar(String categoria) {
+        return categoria != null ? categoria.toLowerCase(Locale.ROOT) : null;
+    }
+}
@@ -0,0 +1,351 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence.index;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Copia columnar de precio, stock y disponible en arrays primitivos indexados por
+ * un slot denso. Los filtros y agregados recorren estos arrays en lugar de
+ * desreferenciar y desempaquetar cada {@link Producto}.
+ *
+ * <p>Los slots liberados por bajas se reutilizan. Las escrituras toman el lock
+ * exclusivo solo para tocar las columnas; los recorridos usan el compartido.
+ *
+ * <p>Disponibilidad, stock y categoría se mantienen además como bitmaps
+ * comprimidos de slots, actualizados en la misma sección crítica que las
+ * columnas: listar o contar disponibles no toca los slots que no coinciden.
+ * Los filtros combinados intersectan estos bitmaps con los que se construyen
+ * desde los demás índices.
+ */
+public class ColumnarIndex implements ProductoIndex {
+
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotPorId = new ConcurrentHashMap<>();
+
+    private long[] ids = new long[CAPACIDAD_INICIAL];
+    private double[] precios = new double[CAPACIDAD_INICIAL];
+    private int[] stocks = new int[CAPACIDAD_INICIAL];
+    private long[] ocupados = new long[palabras(CAPACIDAD_INICIAL)];
+    // Bitmaps de slots; solo se tocan con el lock tomado. Un disponible null no está en ninguno
+    private final RoaringBitmap disponibles = new RoaringBitmap();
+    private final RoaringBitmap noDisponibles = new RoaringBitmap();
+    // Misma condición que Producto.tieneStock(): disponible y stock > 0
+    private final RoaringBitmap conStock = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> slotsPorCategoria = new HashMap<>();
+
+    private int[] libres = new int[16];
+    private int totalLibres;
+    private int siguienteSlot;
+
+    @Override
+    public void actualizar(Long id, Producto anterior, Producto nuevo) {
+        lock.writeLock().lock();
+        try {
+            if (nuevo == null) {
+                liberar(id, anterior);
+            } else {
+                int slot = slotPara(id);
+                if (anterior != null) {
+                    quitarCategoria(slot, anterior.getCategoria());
+                }
+                escribir(slot, id, nuevo);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids de los productos con disponible == valor (los disponible null no
+     * coinciden con ninguno), sin materializarlos: se copia el bitmap
+     * (comprimido, a lo sumo un bit por slot) y los slots se traducen a ids por
+     * bloques, cada bloque con el lock compartido. Un slot liberado después de
+     * la copia se omite.
+     */
+    public PrimitiveIterator.OfLong iterarIdsPorDisponible(boolean valor) {
+        return new IteradorIds(slotsDeDisponible(valor).getIntIterator());
+    }
+
+    public long contarPorDisponible(boolean valor) {
+        return cardinalidad(valor ? disponibles : noDisponibles);
+    }
+
+    // Ids de los productos con Producto.tieneStock()
+    public long[] idsConStock() {
+        return idsDe(conStock);
+    }
+
+    public long contarConStock() {
+        return cardinalidad(conStock);
+    }
+
+    // Suma de stock (stock null cuenta como 0)
+    public long sumarStock() {
+        lock.readLock().lock();
+        try {
+            long total = 0;
+            for (int slot = 0; slot < siguienteSlot; slot++) {
+                total += stocks[slot];
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Suma de precio * stock
+    public double valorInventario() {
+        lock.readLock().lock();
+        try {
+            double total = 0;
+            for (int slot = 0; slot < siguienteSlot; slot++) {
+                total += precios[slot] * stocks[slot];
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return slotPorId.size();
+    }
+
+    public int cardinalidadCategoria(String categoria) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap slots = slotsPorCategoria.get(normalizar(categoria));
+            return slots != null ? slots.getCardinality() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Copia del bitmap de slots de la categoría
+    public RoaringBitmap slotsDeCategoria(String categoria) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap slots = slotsPorCategoria.get(normalizar(categoria));
+            return slots != null ? slots.clone() : new RoaringBitmap();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public RoaringBitmap slotsDeDisponible(boolean valor) {
+        lock.readLock().lock();
+        try {
+            return (valor ? disponibles : noDisponibles).clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Traduce ids de otro índice a slots; los ids ya borrados se omiten
+    public RoaringBitmap slotsDeIds(Iterable<Long> ids) {
+        RoaringBitmap slots = new RoaringBitmap();
+        for (Long id : ids) {
+            Integer slot = slotPorId.get(id);
+            if (slot != null) {
+                slots.add(slot.intValue());
+            }
+        }
+        return slots;
+    }
+
+    private long[] idsDe(RoaringBitmap slots) {
+        lock.readLock().lock();
+        try {
+            long[] resultado = new long[slots.getCardinality()];
+            int total = 0;
+            IntIterator iterador = slots.getIntIterator();
+            while (iterador.hasNext()) {
+                resultado[total++] = ids[iterador.next()];
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private final class IteradorIds implements PrimitiveIterator.OfLong {
+        private static final int BLOQUE = 256;
+        private final IntIterator slots;
+        private final long[] bloque = new long[BLOQUE];
+        private int posicion;
+        private int total;
+
+        IteradorIds(IntIterator slots) {
+            this.slots = slots;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (posicion == total && slots.hasNext()) {
+                llenar();
+            }
+            return posicion < total;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return bloque[posicion++];
+        }
+
+        private void llenar() {
+            posicion = 0;
+            total = 0;
+            lock.readLock().lock();
+            try {
+                for (int leidos = 0; leidos < BLOQUE && slots.hasNext(); leidos++) {
+                    int slot = slots.next();
+                    if (slot < siguienteSlot && estaMarcado(ocupados, slot)) {
+                        bloque[total++] = ids[slot];
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    private long cardinalidad(RoaringBitmap slots) {
+        lock.readLock().lock();
+        try {
+            return slots.getLongCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] idsDeSlots(RoaringBitmap slots) {
+        lock.readLock().lock();
+        try {
+            long[] resultado = new long[slots.getCardinality()];
+            int total = 0;
+            IntIterator iterador = slots.getIntIterator();
+            while (iterador.hasNext()) {
+                int slot = iterador.next();
+                if (slot < siguienteSlot && estaMarcado(ocupados, slot)) {
+                    resultado[total++] = ids[slot];
+                }
+            }
+            return total == resultado.length ? resultado : Arrays.copyOf(resultado, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int slotPara(Long id) {
+        Integer slot = slotPorId.get(id);
+        if (slot != null) {
+            return slot;
+        }
+        int nuevo = totalLibres > 0 ? libres[--totalLibres] : siguienteSlot++;
+        if (nuevo >= ids.length) {
+            crecer();
+        }
+        slotPorId.put(id, nuevo);
+        return nuevo;
+    }
+
+    private void escribir(int slot, long id, Producto producto) {
+        ids[slot] = id;
+        precios[slot] = producto.getPrecio();
+        stocks[slot] = producto.getStock() != null ? producto.getStock() : 0;
+        marcar(ocupados, slot, true);
+        Boolean disponible = producto.getDisponible();
+        marcar(disponibles, slot, Boolean.TRUE.equals(disponible));
+        marcar(noDisponibles, slot, Boolean.FALSE.equals(disponible));
+        marcar(conStock, slot, Boolean.TRUE.equals(disponible) && stocks[slot] > 0);
+        if (producto.getCategoria() != null) {
+            slotsPorCategoria.computeIfAbsent(normalizar(producto.getCategoria()), k -> new RoaringBitmap()).add(slot);
+        }
+    }
+
+    private void quitarCategoria(int slot, String categoria) {
+        if (categoria == null) {
+            return;
+        }
+        String clave = normalizar(categoria);
+        RoaringBitmap slots = slotsPorCategoria.get(clave);
+        if (slots != null) {
+            slots.remove(slot);
+            if (slots.isEmpty()) {
+                slotsPorCategoria.remove(clave);
+            }
+        }
+    }
+
+    private void liberar(Long id, Producto anterior) {
+        Integer slot = slotPorId.remove(id);
+        if (slot == null) {
+            return;
+        }
+        if (anterior != null) {
+            quitarCategoria(slot, anterior.getCategoria());
+        }
+        // Un slot libre queda en cero para que los agregados no lo cuenten
+        precios[slot] = 0;
+        stocks[slot] = 0;
+        marcar(ocupados, slot, false);
+        disponibles.remove(slot);
+        noDisponibles.remove(slot);
+        conStock.remove(slot);
+        if (totalLibres == libres.length) {
+            libres = Arrays.copyOf(libres, totalLibres * 2);
+        }
+        libres[totalLibres++] = slot;
+    }
+
+    private void crecer() {
+        int capacidad = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacidad);
+        precios = Arrays.copyOf(precios, capacidad);
+        stocks = Arrays.copyOf(stocks, capacidad);
+        ocupados = Arrays.copyOf(ocupados, palabras(capacidad));
+    }
+
+    private static void marcar(long[] bits, int slot, boolean valor) {
+        if (valor) {
+            bits[slot >> 6] |= 1L << slot;
+        } else {
+            bits[slot >> 6] &= ~(1L << slot);
+        }
+    }
+
+    private static void marcar(RoaringBitmap bits, int slot, boolean valor) {
+        if (valor) {
+            bits.add(slot);
+        } else {
+            bits.remove(slot);
+        }
+    }
+
+    private static boolean estaMarcado(long[] bits, int slot) {
+        return (bits[slot >> 6] & (1L << slot)) != 0;
+    }
+
+    private static String normalizar(String categoria) {
+        return categoria.toLowerCase(Locale.ROOT);
+    }
+
+    private static int palabras(int slots) {
+        return (slots + 63) >> 6;
+    }
+}
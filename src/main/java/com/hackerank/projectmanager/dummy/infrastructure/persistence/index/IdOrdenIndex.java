@@ -0,0 +1,26 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence.index;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Ids ordenados para paginar con un orden estable sin copiar el catálogo
+public class IdOrdenIndex implements ProductoIndex {
+
+    private final ConcurrentSkipListSet<Long> ids = new ConcurrentSkipListSet<>();
+
+    @Override
+    public void actualizar(Long id, Producto anterior, Producto nuevo) {
+        if (nuevo == null) {
+            ids.remove(id);
+        } else if (anterior == null) {
+            ids.add(id);
+        }
+    }
+
+    // Vista ascendente; el iterador es débilmente consistente ante escrituras concurrentes
+    public NavigableSet<Long> ids() {
+        return ids;
+    }
+}
@@ -0,0 +1,103 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence.index;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.NombreCoincidencia;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Índice invertido de trigramas sobre el nombre normalizado con NombreCoincidencia.
+// Cada trigrama se codifica en un long (3 chars de 16 bits) para no crear Strings.
+public class NombreTrigramIndex implements ProductoIndex {
+
+    private static final int N = 3;
+
+    private final Map<Long, Set<Long>> idsPorTrigrama = new ConcurrentHashMap<>();
+
+    @Override
+    public void actualizar(Long id, Producto anterior, Producto nuevo) {
+        Set<Long> trigramasAnteriores = anterior != null ? trigramas(anterior.getNombre()) : Collections.emptySet();
+        Set<Long> trigramasNuevos = nuevo != null ? trigramas(nuevo.getNombre()) : Collections.emptySet();
+
+        for (Long trigrama : trigramasNuevos) {
+            if (!trigramasAnteriores.contains(trigrama)) {
+                idsPorTrigrama.compute(trigrama, (k, ids) -> {
+                    Set<Long> resultado = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                    resultado.add(id);
+                    return resultado;
+                });
+            }
+        }
+        for (Long trigrama : trigramasAnteriores) {
+            if (!trigramasNuevos.contains(trigrama)) {
+                idsPorTrigrama.computeIfPresent(trigrama, (k, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+    }
+
+    /**
+     * Ids que contienen todos los trigramas de la consulta. Son candidatos: el
+     * llamador debe verificar la subcadena. Vacío si la consulta es demasiado
+     * corta para usar el índice.
+     */
+    public Optional<Collection<Long>> candidatos(String consulta) {
+        Set<Long> trigramasConsulta = trigramas(consulta);
+        if (trigramasConsulta.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Set<Long>> postings = new ArrayList<>(trigramasConsulta.size());
+        for (Long trigrama : trigramasConsulta) {
+            Set<Long> ids = idsPorTrigrama.get(trigrama);
+            if (ids == null) {
+                return Optional.of(Collections.emptyList());
+            }
+            postings.add(ids);
+        }
+        // Se recorre la lista más corta y se comprueba pertenencia en las demás
+        postings.sort(Comparator.comparingInt(Set::size));
+
+        List<Long> resultado = new ArrayList<>();
+        Set<Long> menor = postings.get(0);
+        for (Long id : menor) {
+            boolean enTodas = true;
+            for (int i = 1; i < postings.size() && enTodas; i++) {
+                enTodas = postings.get(i).contains(id);
+            }
+            if (enTodas) {
+                resultado.add(id);
+            }
+        }
+        return Optional.of(resultado);
+    }
+
+    public int size() {
+        return idsPorTrigrama.size();
+    }
+
+    private static Set<Long> trigramas(String texto) {
+        if (texto == null || texto.length() < N) {
+            return Collections.emptySet();
+        }
+        // Misma normalización que NombreCoincidencia: todo nombre que la contiene tiene estos trigramas
+        Set<Long> resultado = new HashSet<>();
+        for (int i = 0; i + N <= texto.length(); i++) {
+            long trigrama = ((long) NombreCoincidencia.normalizar(texto.charAt(i)) << 32)
+                    | ((long) NombreCoincidencia.normalizar(texto.charAt(i + 1)) << 16)
+                    | NombreCoincidencia.normalizar(texto.charAt(i + 2));
+            resultado.add(trigrama);
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,15 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence.index;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+
+// Índice secundario mantenido por el repositorio en cada escritura.
+// Se invoca dentro del compute del mapa principal, por lo que las
+// actualizaciones de un mismo id nunca se intercalan.
+public interface ProductoIndex {
+
+    /**
+     * @param anterior producto previo con ese id, o null si es un alta
+     * @param nuevo    producto nuevo, o null si es una baja
+     */
+    void actualizar(Long id, Producto anterior, Producto nuevo);
+}
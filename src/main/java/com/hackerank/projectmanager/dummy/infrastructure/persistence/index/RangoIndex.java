@@ -0,0 +1,61 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence.index;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * Índice ordenado (valor, id) sobre un atributo numérico. Un rango se resuelve
+ * con subSet/headSet en O(log n + k). Los productos con el atributo null no se indexan.
+ */
+public class RangoIndex implements ProductoIndex {
+
+    public record Entrada(double valor, long id) {
+    }
+
+    private static final Comparator<Entrada> ORDEN = Comparator
+            .comparingDouble(Entrada::valor)
+            .thenComparingLong(Entrada::id);
+
+    private final ConcurrentSkipListSet<Entrada> entradas = new ConcurrentSkipListSet<>(ORDEN);
+    private final Function<Producto, ? extends Number> atributo;
+
+    public RangoIndex(Function<Producto, ? extends Number> atributo) {
+        this.atributo = atributo;
+    }
+
+    @Override
+    public void actualizar(Long id, Producto anterior, Producto nuevo) {
+        Number valorAnterior = anterior != null ? atributo.apply(anterior) : null;
+        Number valorNuevo = nuevo != null ? atributo.apply(nuevo) : null;
+        if (Objects.equals(valorAnterior, valorNuevo)) {
+            return;
+        }
+        if (valorNuevo != null) {
+            entradas.add(new Entrada(valorNuevo.doubleValue(), id));
+        }
+        if (valorAnterior != null) {
+            entradas.remove(new Entrada(valorAnterior.doubleValue(), id));
+        }
+    }
+
+    // Entradas con min <= valor <= max, en orden ascendente; null deja el extremo abierto
+    public NavigableSet<Entrada> entre(Double min, Double max) {
+        Entrada desde = new Entrada(min != null ? min : Double.NEGATIVE_INFINITY, Long.MIN_VALUE);
+        Entrada hasta = new Entrada(max != null ? max : Double.POSITIVE_INFINITY, Long.MAX_VALUE);
+        return entradas.subSet(desde, true, hasta, true);
+    }
+
+    // Entradas con valor < limite, en orden ascendente
+    public NavigableSet<Entrada> menoresQue(double limite) {
+        return entradas.headSet(new Entrada(limite, Long.MIN_VALUE), false);
+    }
+
+    public int size() {
+        return entradas.size();
+    }
+}
@@ -0,0 +1,319 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence.metricas;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.OperacionLote;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoCambioListener;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoQuery;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoRepository;
+import com.hackerank.projectmanager.dummy.domain.repository.ResultadoRecarga;
+import com.hackerank.projectmanager.dummy.domain.repository.VersionCatalogo;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.ProductoJsonRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * {@link ProductoRepository} que mide cada método del repositorio real.
+ *
+ * <ul>
+ *   <li>{@code productos.repositorio{metodo}}: timer con histograma de percentiles.</li>
+ *   <li>{@code productos.repositorio.resultados{metodo}}: productos devueltos por las búsquedas.</li>
+ *   <li>{@code productos.repositorio.errores{metodo, exception}}: excepciones lanzadas.</li>
+ *   <li>{@code productos.catalogo.tamano}, {@code productos.catalogo.version} e
+ *       {@code productos.indice.entradas{indice}}: gauges que se leen al hacer scrape.</li>
+ * </ul>
+ *
+ * <p>Los timers y resúmenes se registran una vez al crear el bean, así una
+ * llamada solo suma dos {@code nanoTime} y un registro en el histograma, sin
+ * buscar medidores por tags. Los {@code stream*} miden solo la creación del
+ * stream, que es perezoso. Con {@code @Primary}, quien inyecta el repositorio
+ * recibe este; {@link ProductoJsonRepository} sigue disponible por su tipo.
+ */
+@Component
+@Primary
+public class ProductoRepositoryMedido implements ProductoRepository {
+
+    static final String TIMER = "productos.repositorio";
+    static final String RESULTADOS = "productos.repositorio.resultados";
+    static final String ERRORES = "productos.repositorio.errores";
+    private static final List<String> INDICES = List.of("categoria", "categorias", "nombre", "columnar", "precio", "stock");
+
+    private final ProductoJsonRepository repository;
+    private final MeterRegistry registry;
+
+    private final Medicion findAll;
+    private final Medicion findAllPaginado;
+    private final Medicion findAllAfter;
+    private final Medicion findById;
+    private final Medicion findByCategoria;
+    private final Medicion findByDisponible;
+    private final Medicion findByNombreContaining;
+    private final Medicion streamByCategoria;
+    private final Medicion streamByDisponible;
+    private final Medicion streamByNombreContaining;
+    private final Medicion findByPrecioBetween;
+    private final Medicion findByStockLessThan;
+    private final Medicion findByQuery;
+    private final Medicion countByDisponible;
+    private final Medicion findConStock;
+    private final Medicion countConStock;
+    private final Medicion sumStock;
+    private final Medicion sumValorInventario;
+    private final Medicion save;
+    private final Medicion deleteById;
+    private final Medicion actualizar;
+    private final Medicion eliminar;
+    private final Medicion aplicarLote;
+    private final Medicion existsById;
+    private final Medicion recargar;
+
+    // Timer y, en las búsquedas, resumen del tamaño del resultado de un método
+    private final class Medicion {
+        private final String metodo;
+        private final Timer timer;
+        private final DistributionSummary resultados;
+
+        private Medicion(String metodo, boolean conResultados) {
+            this.metodo = metodo;
+            this.timer = Timer.builder(TIMER)
+                    .tag("metodo", metodo)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(500))
+                    .maximumExpectedValue(Duration.ofSeconds(5))
+                    .register(registry);
+            this.resultados = conResultados
+                    ? DistributionSummary.builder(RESULTADOS)
+                    .tag("metodo", metodo)
+                    .baseUnit("productos")
+                    // Pocos buckets fijos: el tamaño importa por orden de magnitud
+                    .serviceLevelObjectives(1, 10, 100, 1_000, 10_000, 100_000)
+                    .register(registry)
+                    : null;
+        }
+
+        private <T> T medir(Supplier<T> operacion) {
+            long inicio = System.nanoTime();
+            try {
+                return operacion.get();
+            } catch (RuntimeException e) {
+                // Camino raro: el contador con la excepción como tag se busca recién aquí
+                Counter.builder(ERRORES)
+                        .tag("metodo", metodo)
+                        .tag("exception", e.getClass().getSimpleName())
+                        .register(registry)
+                        .increment();
+                throw e;
+            } finally {
+                timer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private List<Producto> medirLista(Supplier<List<Producto>> operacion) {
+            List<Producto> productos = medir(operacion);
+            resultados.record(productos.size());
+            return productos;
+        }
+    }
+
+    public ProductoRepositoryMedido(ProductoJsonRepository repository, MeterRegistry registry) {
+        this.repository = repository;
+        this.registry = registry;
+        findAll = new Medicion("findAll", true);
+        findAllPaginado = new Medicion("findAllPaginado", true);
+        findAllAfter = new Medicion("findAllAfter", true);
+        findById = new Medicion("findById", false);
+        findByCategoria = new Medicion("findByCategoria", true);
+        findByDisponible = new Medicion("findByDisponible", true);
+        findByNombreContaining = new Medicion("findByNombreContaining", true);
+        streamByCategoria = new Medicion("streamByCategoria", false);
+        streamByDisponible = new Medicion("streamByDisponible", false);
+        streamByNombreContaining = new Medicion("streamByNombreContaining", false);
+        findByPrecioBetween = new Medicion("findByPrecioBetween", true);
+        findByStockLessThan = new Medicion("findByStockLessThan", true);
+        findByQuery = new Medicion("findByQuery", true);
+        countByDisponible = new Medicion("countByDisponible", false);
+        findConStock = new Medicion("findConStock", true);
+        countConStock = new Medicion("countConStock", false);
+        sumStock = new Medicion("sumStock", false);
+        sumValorInventario = new Medicion("sumValorInventario", false);
+        save = new Medicion("save", false);
+        deleteById = new Medicion("deleteById", false);
+        actualizar = new Medicion("actualizar", false);
+        eliminar = new Medicion("eliminar", false);
+        aplicarLote = new Medicion("aplicarLote", true);
+        existsById = new Medicion("existsById", false);
+        recargar = new Medicion("recargar", false);
+
+        Gauge.builder("productos.catalogo.tamano", repository, ProductoJsonRepository::count)
+                .baseUnit("productos")
+                .register(registry);
+        Gauge.builder("productos.catalogo.version", repository, r -> r.version().version())
+                .register(registry);
+        for (String indice : INDICES) {
+            Gauge.builder("productos.indice.entradas", repository, r -> r.tamanoIndice(indice))
+                    .tag("indice", indice)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public List<Producto> findAll() {
+        return findAll.medirLista(repository::findAll);
+    }
+
+    @Override
+    public Page<Producto> findAll(Pageable pageable) {
+        Page<Producto> pagina = findAllPaginado.medir(() -> repository.findAll(pageable));
+        findAllPaginado.resultados.record(pagina.getNumberOfElements());
+        return pagina;
+    }
+
+    @Override
+    public List<Producto> findAllAfter(Long afterId, int limit) {
+        return findAllAfter.medirLista(() -> repository.findAllAfter(afterId, limit));
+    }
+
+    @Override
+    public Optional<Producto> findById(Long id) {
+        return findById.medir(() -> repository.findById(id));
+    }
+
+    @Override
+    public List<Producto> findByCategoria(String categoria) {
+        return findByCategoria.medirLista(() -> repository.findByCategoria(categoria));
+    }
+
+    @Override
+    public List<Producto> findByDisponible(Boolean disponible) {
+        return findByDisponible.medirLista(() -> repository.findByDisponible(disponible));
+    }
+
+    @Override
+    public List<Producto> findByNombreContaining(String nombre) {
+        return findByNombreContaining.medirLista(() -> repository.findByNombreContaining(nombre));
+    }
+
+    @Override
+    public Stream<Producto> streamByCategoria(String categoria) {
+        return streamByCategoria.medir(() -> repository.streamByCategoria(categoria));
+    }
+
+    @Override
+    public Stream<Producto> streamByDisponible(Boolean disponible) {
+        return streamByDisponible.medir(() -> repository.streamByDisponible(disponible));
+    }
+
+    @Override
+    public Stream<Producto> streamByNombreContaining(String nombre) {
+        return streamByNombreContaining.medir(() -> repository.streamByNombreContaining(nombre));
+    }
+
+    @Override
+    public List<Producto> findByPrecioBetween(Double min, Double max) {
+        return findByPrecioBetween.medirLista(() -> repository.findByPrecioBetween(min, max));
+    }
+
+    @Override
+    public List<Producto> findByStockLessThan(Integer stock) {
+        return findByStockLessThan.medirLista(() -> repository.findByStockLessThan(stock));
+    }
+
+    @Override
+    public List<Producto> findByQuery(ProductoQuery query) {
+        return findByQuery.medirLista(() -> repository.findByQuery(query));
+    }
+
+    @Override
+    public long countByDisponible(Boolean disponible) {
+        return countByDisponible.medir(() -> repository.countByDisponible(disponible));
+    }
+
+    @Override
+    public List<Producto> findConStock() {
+        return findConStock.medirLista(repository::findConStock);
+    }
+
+    @Override
+    public long countConStock() {
+        return countConStock.medir(repository::countConStock);
+    }
+
+    @Override
+    public long sumStock() {
+        return sumStock.medir(repository::sumStock);
+    }
+
+    @Override
+    public double sumValorInventario() {
+        return sumValorInventario.medir(repository::sumValorInventario);
+    }
+
+    @Override
+    public Producto save(Producto producto) {
+        return save.medir(() -> repository.save(producto));
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        deleteById.medir(() -> {
+            repository.deleteById(id);
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<Producto> actualizar(Long id, Long versionEsperada, Producto producto) {
+        return actualizar.medir(() -> repository.actualizar(id, versionEsperada, producto));
+    }
+
+    @Override
+    public boolean eliminar(Long id, Long versionEsperada) {
+        return eliminar.medir(() -> repository.eliminar(id, versionEsperada));
+    }
+
+    @Override
+    public List<Producto> aplicarLote(List<OperacionLote> operaciones) {
+        List<Producto> resultados = aplicarLote.medir(() -> repository.aplicarLote(operaciones));
+        aplicarLote.resultados.record(operaciones.size());
+        return resultados;
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return existsById.medir(() -> repository.existsById(id));
+    }
+
+    // Sin timer: son lecturas de un campo; count ya está como gauge y version se lee en cada ETag
+    @Override
+    public long count() {
+        return repository.count();
+    }
+
+    @Override
+    public VersionCatalogo version() {
+        return repository.version();
+    }
+
+    @Override
+    public void suscribir(ProductoCambioListener listener) {
+        repository.suscribir(listener);
+    }
+
+    @Override
+    public ResultadoRecarga recargar(String ruta) {
+        return recargar.medir(() -> repository.recargar(ruta));
+    }
+}
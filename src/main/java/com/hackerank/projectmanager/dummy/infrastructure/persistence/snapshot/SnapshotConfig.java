@@ -0,0 +1,19 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence.snapshot;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+// Los snapshots solo tienen sentido con WAL: el log aporta las escrituras posteriores
+@Configuration
+@ConditionalOnProperty(name = {"app.wal.enabled", "app.snapshot.enabled"}, havingValue = "true")
+public class SnapshotConfig {
+
+    @Bean
+    public SnapshotStore snapshotStore(@Value("${app.snapshot.directorio:data/snapshot}") String directorio) {
+        return new SnapshotStore(Path.of(directorio));
+    }
+}
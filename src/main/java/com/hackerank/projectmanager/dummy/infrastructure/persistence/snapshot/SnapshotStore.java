@@ -0,0 +1,285 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence.snapshot;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshots binarios del catálogo.
+ *
+ * <p>Formato: cabecera [int magic][int versión][long segmentoWal][long sequence],
+ * registros [byte 1][producto], fin [byte 0][long cantidad][int crc32 de todo lo anterior].
+ * Cada producto termina con su versión (long). Solo se lee el formato {@code VERSION}.
+ * Se escriben en un temporal y se publican con un rename atómico seguido de un
+ * fsync del directorio. La lectura es secuencial con un buffer fijo, así que
+ * el tamaño del snapshot no está limitado a lo que cabe en un solo mapeo.
+ */
+public class SnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotStore.class);
+    private static final int MAGIC = 0x50524F44;
+    private static final int VERSION = 2;
+    private static final String PREFIJO = "snapshot-";
+    private static final String SUFIJO = ".bin";
+
+    private final Path directorio;
+
+    public SnapshotStore(Path directorio) {
+        this.directorio = directorio;
+    }
+
+    // Datos de la cabecera necesarios para continuar tras cargar el snapshot
+    public record Cabecera(long segmentoWal, long sequence, long productos) {
+    }
+
+    /**
+     * Escribe un snapshot y borra los anteriores.
+     *
+     * @param segmentoWal primer segmento del WAL que hay que reproducir encima
+     * @return tamaño en bytes del snapshot
+     */
+    public long escribir(Iterable<Producto> productos, long segmentoWal, long sequence) {
+        try {
+            Files.createDirectories(directorio);
+            Path destino = directorio.resolve(PREFIJO + String.format("%012d", segmentoWal) + SUFIJO);
+            Path temporal = directorio.resolve(destino.getFileName() + ".tmp");
+
+            CRC32 crc = new CRC32();
+            try (OutputStream archivo = Files.newOutputStream(temporal);
+                 DataOutputStream out = new DataOutputStream(
+                         new BufferedOutputStream(new CheckedOutputStream(archivo, crc), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(segmentoWal);
+                out.writeLong(sequence);
+                long cantidad = 0;
+                for (Producto producto : productos) {
+                    out.writeByte(1);
+                    escribirProducto(out, producto);
+                    cantidad++;
+                }
+                out.writeByte(0);
+                out.writeLong(cantidad);
+                out.flush();
+                // El CRC cubre todo lo escrito hasta aquí
+                out.writeInt((int) crc.getValue());
+            }
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+                canal.force(true);
+            }
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            // Sin esto el rename puede perderse en un corte y dejar solo el snapshot anterior, ya borrado
+            sincronizarDirectorio();
+
+            for (Path anterior : snapshots()) {
+                if (!anterior.equals(destino)) {
+                    Files.delete(anterior);
+                }
+            }
+            return Files.size(destino);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error escribiendo el snapshot", e);
+        }
+    }
+
+    /**
+     * Carga el snapshot válido más reciente. Un snapshot dañado se descarta y se
+     * prueba con el anterior.
+     */
+    public Optional<Cabecera> cargar(Consumer<Producto> consumidor) {
+        try {
+            if (!Files.isDirectory(directorio)) {
+                return Optional.empty();
+            }
+            List<Path> candidatos = snapshots();
+            for (int i = candidatos.size() - 1; i >= 0; i--) {
+                Path archivo = candidatos.get(i);
+                // Se valida el CRC antes de entregar productos para no aplicar un snapshot a medias
+                if (!valido(archivo)) {
+                    logger.warn("Snapshot {} inválido, se ignora", archivo.getFileName());
+                    continue;
+                }
+                return Optional.of(leer(archivo, consumidor));
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error cargando el snapshot", e);
+        }
+    }
+
+    private boolean valido(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            if (tamano < Integer.BYTES * 2 + Long.BYTES * 2 + 1 + Long.BYTES + Integer.BYTES) {
+                return false;
+            }
+            ByteBuffer cabecera = leerCompleto(canal, 0, Integer.BYTES * 2);
+            if (cabecera.getInt(0) != MAGIC || cabecera.getInt(Integer.BYTES) != VERSION) {
+                return false;
+            }
+            // El CRC se calcula por bloques; el archivo puede superar los 2 GB de un mapeo
+            long fin = tamano - Integer.BYTES;
+            CRC32 crc = new CRC32();
+            ByteBuffer bloque = ByteBuffer.allocateDirect(1 << 16);
+            for (long posicion = 0; posicion < fin; ) {
+                bloque.clear().limit((int) Math.min(bloque.capacity(), fin - posicion));
+                int leidos = canal.read(bloque, posicion);
+                if (leidos < 0) {
+                    return false;
+                }
+                crc.update(bloque.flip());
+                posicion += leidos;
+            }
+            return (int) crc.getValue() == leerCompleto(canal, fin, Integer.BYTES).getInt(0);
+        }
+    }
+
+    private static ByteBuffer leerCompleto(FileChannel canal, long posicion, int bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        while (buffer.hasRemaining()) {
+            if (canal.read(buffer, posicion + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        return buffer;
+    }
+
+    private Cabecera leer(Path archivo, Consumer<Producto> consumidor) throws IOException {
+        try (InputStream entrada = Files.newInputStream(archivo);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(entrada, 1 << 16))) {
+            // Magic y formato ya los comprobó valido()
+            in.readInt();
+            in.readInt();
+            long segmentoWal = in.readLong();
+            long sequence = in.readLong();
+            long cantidad = 0;
+            while (in.readByte() == 1) {
+                consumidor.accept(leerProducto(in));
+                cantidad++;
+            }
+            return new Cabecera(segmentoWal, sequence, cantidad);
+        } catch (EOFException e) {
+            throw new IOException("Snapshot truncado: " + archivo, e);
+        }
+    }
+
+    private void sincronizarDirectorio() throws IOException {
+        try (FileChannel canal = FileChannel.open(directorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        }
+    }
+
+    private static void escribirProducto(DataOutputStream out, Producto producto) throws IOException {
+        out.writeLong(producto.getId());
+        escribirTexto(out, producto.getNombre());
+        escribirTexto(out, producto.getDescripcion());
+        escribirTexto(out, producto.getCategoria());
+        out.writeDouble(producto.getPrecio());
+        // Bits de presencia: stock, disponible, valor de disponible, fechaCreacion, fechaActualizacion
+        int flags = (producto.getStock() != null ? 1 : 0)
+                | (producto.getDisponible() != null ? 2 : 0)
+                | (Boolean.TRUE.equals(producto.getDisponible()) ? 4 : 0)
+                | (producto.getFechaCreacion() != null ? 8 : 0)
+                | (producto.getFechaActualizacion() != null ? 16 : 0);
+        out.writeByte(flags);
+        if (producto.getStock() != null) {
+            out.writeInt(producto.getStock());
+        }
+        escribirFecha(out, producto.getFechaCreacion());
+        escribirFecha(out, producto.getFechaActualizacion());
+        out.writeLong(producto.getVersion());
+    }
+
+    private static Producto leerProducto(DataInput in) throws IOException {
+        Producto.Builder builder = new Producto.Builder()
+                .id(in.readLong())
+                .nombre(leerTexto(in))
+                .descripcion(leerTexto(in))
+                .categoria(leerTexto(in))
+                .precio(in.readDouble());
+        int flags = in.readByte();
+        if ((flags & 1) != 0) {
+            builder.stock(in.readInt());
+        }
+        if ((flags & 2) != 0) {
+            builder.disponible((flags & 4) != 0);
+        }
+        if ((flags & 8) != 0) {
+            builder.fechaCreacion(leerFecha(in));
+        }
+        if ((flags & 16) != 0) {
+            builder.fechaActualizacion(leerFecha(in));
+        }
+        return builder.version(in.readLong()).build();
+    }
+
+    private static void escribirTexto(DataOutputStream out, String texto) throws IOException {
+        if (texto == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String leerTexto(DataInput in) throws IOException {
+        int longitud = in.readInt();
+        if (longitud < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[longitud];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void escribirFecha(DataOutputStream out, LocalDateTime fecha) throws IOException {
+        if (fecha != null) {
+            out.writeLong(fecha.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(fecha.getNano());
+        }
+    }
+
+    private static LocalDateTime leerFecha(DataInput in) throws IOException {
+        long segundos = in.readLong();
+        int nanos = in.readInt();
+        return LocalDateTime.ofEpochSecond(segundos, nanos, ZoneOffset.UTC);
+    }
+
+    private List<Path> snapshots() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos
+                    .filter(p -> p.getFileName().toString().startsWith(PREFIJO)
+                            && p.getFileName().toString().endsWith(SUFIJO))
+                    .sorted(Comparator.comparing(p -> p.getFileName().toString()))
+                    .toList();
+        }
+    }
+}
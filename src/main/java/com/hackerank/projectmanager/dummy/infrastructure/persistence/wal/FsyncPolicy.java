@@ -0,0 +1,10 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence.wal;
+
+public enum FsyncPolicy {
+    // Un fsync por llamada a esperarDurable (por mutación, o por lote)
+    ALWAYS,
+    // Group commit: los escritores concurrentes comparten un mismo fsync
+    BATCHED,
+    // fsync periódico en segundo plano; se puede perder el último intervalo
+    INTERVAL
+}
@@ -0,0 +1,39 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence.wal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+// El WAL solo se crea con app.wal.enabled=true; sin él el repositorio es solo en memoria
+@Configuration
+@ConditionalOnProperty(name = "app.wal.enabled", havingValue = "true")
+public class WalConfig {
+
+    @Bean(destroyMethod = "close")
+    public WriteAheadLog writeAheadLog(
+            @Value("${app.wal.directorio:data/wal}") String directorio,
+            @Value("${app.wal.fsync:BATCHED}") FsyncPolicy politica,
+            @Value("${app.wal.intervalo-ms:50}") long intervaloMs,
+            @Value("${spring.threads.virtual.enabled:false}") boolean hilosVirtuales) {
+        // Mapper propio: el formato del log no debe depender de spring.jackson.*
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        if (hilosVirtuales) {
+            return new WriteAheadLog(Path.of(directorio), politica, intervaloMs, objectMapper,
+                    Thread.ofVirtual().name("wal-flusher").factory());
+        }
+        return new WriteAheadLog(Path.of(directorio), politica, intervaloMs, objectMapper);
+    }
+
+    @Bean
+    public MeterBinder walMetricas(WriteAheadLog writeAheadLog) {
+        return registry -> FunctionCounter.builder("productos.wal.fsyncs", writeAheadLog, WriteAheadLog::getFsyncs)
+                .tag("politica", writeAheadLog.getPolitica().name())
+                .register(registry);
+    }
+}
@@ -0,0 +1,19 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence.wal;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+
+// Mutación registrada en el log: producto completo en un PUT, solo el id en un DELETE
+public record WalEntrada(Tipo tipo, long id, Producto producto) {
+
+    public enum Tipo {
+        PUT, DELETE
+    }
+
+    public static WalEntrada put(Producto producto) {
+        return new WalEntrada(Tipo.PUT, producto.getId(), producto);
+    }
+
+    public static WalEntrada delete(long id) {
+        return new WalEntrada(Tipo.DELETE, id, null);
+    }
+}
@@ -0,0 +1,401 @@
+package com.hackerank.projectmanager.dummy.infrastructure.persistence.wal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Log de escritura anticipada (append-only) de las mutaciones del repositorio.
+ *
+ * <p>Formato de cada registro: [int longitud][int crc32][byte tipo][long id][json producto].
+ * Un registro incompleto o con CRC inválido al final del último segmento se
+ * considera una escritura interrumpida por una caída y se trunca al recuperar;
+ * en un segmento anterior (ya sincronizado al rotar) es un daño y el arranque falla.
+ *
+ * <p>Uso: {@link #registrar} con el lock del id tomado y antes de aplicar el
+ * cambio (mantiene el orden por producto y un error no deja nada aplicado), y
+ * {@link #esperarDurable} ya sin ese lock, para que los escritores puedan
+ * agruparse en un mismo fsync.
+ */
+public class WriteAheadLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadLog.class);
+    private static final String PREFIJO = "wal-";
+    private static final String SUFIJO = ".log";
+    private static final int CABECERA = Integer.BYTES * 2;
+
+    private final Path directorio;
+    private final FsyncPolicy politica;
+    private final long intervaloMs;
+    private final ObjectMapper objectMapper;
+
+    // Protege el canal y la posición escrita
+    private final ReentrantLock escrituraLock = new ReentrantLock();
+    // Compartido por appends y fsync; exclusivo al rotar de segmento
+    private final ReentrantReadWriteLock canalLock = new ReentrantReadWriteLock();
+    // Protege el estado del group commit
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushTerminado = flushLock.newCondition();
+    private boolean flushEnCurso;
+
+    private FileChannel canal;
+    private volatile long segmento;
+    private volatile long escrito;
+    private volatile long durable;
+    private final AtomicLong fsyncs = new AtomicLong();
+    private ScheduledExecutorService flusher;
+    // Crea el hilo del fsync periódico (INTERVAL)
+    private final ThreadFactory fabricaHilos;
+
+    public WriteAheadLog(Path directorio, FsyncPolicy politica, long intervaloMs, ObjectMapper objectMapper) {
+        this(directorio, politica, intervaloMs, objectMapper, r -> {
+            Thread hilo = new Thread(r, "wal-flusher");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    public WriteAheadLog(Path directorio, FsyncPolicy politica, long intervaloMs, ObjectMapper objectMapper,
+                         ThreadFactory fabricaHilos) {
+        this.directorio = directorio;
+        this.politica = politica;
+        this.intervaloMs = intervaloMs;
+        this.objectMapper = objectMapper;
+        this.fabricaHilos = fabricaHilos;
+    }
+
+    /**
+     * Reproduce todos los segmentos en orden, trunca una cola rota del último y deja el
+     * log abierto para escribir. Debe invocarse una vez antes de registrar.
+     */
+    public void reproducir(Consumer<WalEntrada> consumidor) {
+        reproducir(0, consumidor);
+    }
+
+    // Igual que reproducir(consumidor) pero ignora los segmentos anteriores a desdeSegmento
+    public void reproducir(long desdeSegmento, Consumer<WalEntrada> consumidor) {
+        try {
+            Files.createDirectories(directorio);
+            List<Path> segmentos = segmentos().stream()
+                    .filter(p -> numeroSegmento(p) >= desdeSegmento)
+                    .toList();
+            for (int i = 0; i < segmentos.size(); i++) {
+                Path archivo = segmentos.get(i);
+                long valido = reproducirSegmento(archivo, consumidor);
+                if (valido < Files.size(archivo)) {
+                    if (i < segmentos.size() - 1) {
+                        // Se sincronizó al rotar: un registro roto aquí no es una caída sino un
+                        // archivo dañado, y los segmentos siguientes tienen escrituras confirmadas
+                        throw new IllegalStateException(String.format(
+                                "Segmento del WAL dañado en %s (byte %d de %d) seguido de %d segmentos; "
+                                        + "se detiene el arranque para no descartar escrituras confirmadas",
+                                archivo, valido, Files.size(archivo), segmentos.size() - 1 - i));
+                    }
+                    // Solo el último segmento puede tener una escritura interrumpida por una caída
+                    logger.warn("Cola incompleta en {}: se trunca de {} a {} bytes",
+                            archivo.getFileName(), Files.size(archivo), valido);
+                    try (FileChannel truncar = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+                        truncar.truncate(valido);
+                        truncar.force(true);
+                    }
+                }
+            }
+            segmento = segmentos.isEmpty()
+                    ? Math.max(1, desdeSegmento)
+                    : numeroSegmento(segmentos.get(segmentos.size() - 1));
+            abrirSegmento(segmento);
+            logger.info("WAL listo en {} (segmento {}, política {})", directorio, segmento, politica);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error recuperando el WAL", e);
+        }
+        if (politica == FsyncPolicy.INTERVAL) {
+            flusher = Executors.newSingleThreadScheduledExecutor(fabricaHilos);
+            flusher.scheduleWithFixedDelay(this::flushPeriodico, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Añade la entrada al log y devuelve la posición que debe ser durable antes
+     * de confirmar la escritura al cliente. Nunca sincroniza: el fsync queda
+     * para {@link #esperarDurable}, fuera del lock del id.
+     */
+    public long registrar(WalEntrada entrada) {
+        ByteBuffer registro = serializar(entrada);
+        escrituraLock.lock();
+        canalLock.readLock().lock();
+        try {
+            while (registro.hasRemaining()) {
+                canal.write(registro);
+            }
+            escrito += registro.limit();
+            return escrito;
+        } catch (IOException e) {
+            // Un registro a medias se recorta: los siguientes no pueden quedar detrás de una cola rota
+            try {
+                canal.truncate(canal.size() - registro.position());
+            } catch (IOException recorte) {
+                e.addSuppressed(recorte);
+            }
+            throw new UncheckedIOException("Error escribiendo en el WAL", e);
+        } finally {
+            canalLock.readLock().unlock();
+            escrituraLock.unlock();
+        }
+    }
+
+    /**
+     * Cierra el segmento actual (sincronizado) y abre el siguiente. Las entradas
+     * registradas a partir de aquí van al nuevo segmento.
+     *
+     * @return número del nuevo segmento
+     */
+    public long rotar() {
+        escrituraLock.lock();
+        canalLock.writeLock().lock();
+        try {
+            canal.force(false);
+            fsyncs.incrementAndGet();
+            durable = escrito;
+            canal.close();
+            segmento++;
+            abrirSegmento(segmento);
+            return segmento;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error rotando el WAL", e);
+        } finally {
+            canalLock.writeLock().unlock();
+            escrituraLock.unlock();
+        }
+    }
+
+    // Borra los segmentos anteriores a hastaSegmento, ya cubiertos por un snapshot
+    public int compactar(long hastaSegmento) {
+        try {
+            int borrados = 0;
+            for (Path archivo : segmentos()) {
+                if (numeroSegmento(archivo) < hastaSegmento) {
+                    Files.delete(archivo);
+                    borrados++;
+                }
+            }
+            return borrados;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error compactando el WAL", e);
+        }
+    }
+
+    public long getSegmento() {
+        return segmento;
+    }
+
+    // Bloquea hasta que la posición esté en disco según la política configurada
+    public void esperarDurable(long posicion) {
+        if (politica == FsyncPolicy.INTERVAL || durable >= posicion) {
+            return;
+        }
+        if (politica == FsyncPolicy.ALWAYS) {
+            // fsync propio, sin esperar a un líder
+            long objetivo = escrito;
+            forzar();
+            flushLock.lock();
+            try {
+                durable = Math.max(durable, objetivo);
+            } finally {
+                flushLock.unlock();
+            }
+            return;
+        }
+        flushLock.lock();
+        try {
+            while (durable < posicion) {
+                if (flushEnCurso) {
+                    // Otro escritor es el líder: su fsync puede cubrir nuestra posición
+                    flushTerminado.awaitUninterruptibly();
+                    continue;
+                }
+                flushEnCurso = true;
+                long objetivo = escrito;
+                boolean sincronizado = false;
+                flushLock.unlock();
+                try {
+                    forzar();
+                    sincronizado = true;
+                } finally {
+                    flushLock.lock();
+                    flushEnCurso = false;
+                    if (sincronizado) {
+                        durable = Math.max(durable, objetivo);
+                    }
+                    flushTerminado.signalAll();
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public FsyncPolicy getPolitica() {
+        return politica;
+    }
+
+    public long getFsyncs() {
+        return fsyncs.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        escrituraLock.lock();
+        canalLock.writeLock().lock();
+        try {
+            if (canal != null && canal.isOpen()) {
+                canal.force(false);
+                canal.close();
+            }
+        } finally {
+            canalLock.writeLock().unlock();
+            escrituraLock.unlock();
+        }
+    }
+
+    private void flushPeriodico() {
+        try {
+            long objetivo = escrito;
+            if (durable < objetivo) {
+                forzar();
+                durable = objetivo;
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error en el fsync periódico del WAL: {}", e.getMessage());
+        }
+    }
+
+    private void forzar() {
+        canalLock.readLock().lock();
+        try {
+            canal.force(false);
+            fsyncs.incrementAndGet();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error sincronizando el WAL", e);
+        } finally {
+            canalLock.readLock().unlock();
+        }
+    }
+
+    private void abrirSegmento(long numero) throws IOException {
+        canal = FileChannel.open(directorio.resolve(nombreSegmento(numero)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    // Devuelve el número de bytes válidos del segmento
+    private long reproducirSegmento(Path archivo, Consumer<WalEntrada> consumidor) throws IOException {
+        long valido = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(archivo));
+             DataInputStream datos = new DataInputStream(in)) {
+            while (true) {
+                int longitud;
+                try {
+                    longitud = datos.readInt();
+                } catch (EOFException e) {
+                    return valido;
+                }
+                try {
+                    int crc = datos.readInt();
+                    if (longitud <= 0) {
+                        return valido;
+                    }
+                    byte[] cuerpo = new byte[longitud];
+                    datos.readFully(cuerpo);
+                    if (crc != crc32(cuerpo)) {
+                        return valido;
+                    }
+                    consumidor.accept(deserializar(cuerpo));
+                    valido += CABECERA + longitud;
+                } catch (EOFException e) {
+                    return valido;
+                }
+            }
+        }
+    }
+
+    private ByteBuffer serializar(WalEntrada entrada) {
+        try {
+            byte[] producto = entrada.producto() != null
+                    ? objectMapper.writeValueAsBytes(entrada.producto())
+                    : new byte[0];
+            int longitud = 1 + Long.BYTES + producto.length;
+            ByteBuffer cuerpo = ByteBuffer.allocate(longitud);
+            cuerpo.put((byte) entrada.tipo().ordinal()).putLong(entrada.id()).put(producto);
+
+            ByteBuffer registro = ByteBuffer.allocate(CABECERA + longitud);
+            registro.putInt(longitud).putInt(crc32(cuerpo.array())).put(cuerpo.array());
+            return registro.flip();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error serializando la entrada del WAL", e);
+        }
+    }
+
+    private WalEntrada deserializar(byte[] cuerpo) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(cuerpo);
+        WalEntrada.Tipo tipo = WalEntrada.Tipo.values()[buffer.get()];
+        long id = buffer.getLong();
+        if (tipo == WalEntrada.Tipo.DELETE) {
+            return WalEntrada.delete(id);
+        }
+        Producto producto = objectMapper.readValue(cuerpo, buffer.position(), buffer.remaining(), Producto.class);
+        return new WalEntrada(tipo, id, producto);
+    }
+
+    private static int crc32(byte[] datos) {
+        CRC32 crc = new CRC32();
+        crc.update(datos);
+        return (int) crc.getValue();
+    }
+
+    private List<Path> segmentos() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos
+                    .filter(p -> p.getFileName().toString().startsWith(PREFIJO)
+                            && p.getFileName().toString().endsWith(SUFIJO))
+                    .sorted((a, b) -> Long.compare(numeroSegmento(a), numeroSegmento(b)))
+                    .toList();
+        }
+    }
+
+    private static String nombreSegmento(long numero) {
+        return String.format("%s%012d%s", PREFIJO, numero, SUFIJO);
+    }
+
+    private static long numeroSegmento(Path archivo) {
+        String nombre = archivo.getFileName().toString();
+        return Long.parseLong(nombre.substring(PREFIJO.length(), nombre.length() - SUFIJO.length()));
+    }
+}
@@ -0,0 +1,202 @@
+package com.hackerank.projectmanager.dummy.presentation.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerank.projectmanager.dummy.application.service.ProductoMapper;
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoCambioListener;
+import com.hackerank.projectmanager.dummy.domain.service.ProductoService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JSON ya serializado de {@code ProductoResponse} por id, para que el detalle de
+ * un producto sea una copia de bytes.
+ *
+ * <p>Cada entrada guarda la versión del producto con que se generó; una entrada
+ * de otra versión se trata como fallo, así que una carga concurrente con una
+ * escritura nunca sirve datos viejos. Las escrituras del repositorio además
+ * liberan la entrada. La memoria se limita por bytes con CLOCK: las lecturas
+ * solo marcan la entrada como referenciada y la aguja, al insertar, da una
+ * segunda oportunidad a las marcadas y expulsa las demás.
+ */
+@Component
+public class ProductoResponseCache implements ProductoCambioListener, MeterBinder {
+
+    private static final Tags CACHE_TAG = Tags.of("cache", "producto-json");
+
+    private final ProductoMapper productoMapper;
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+
+    private final Map<Long, Entrada> entradas = new ConcurrentHashMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+    // Anillo del CLOCK en orden de inserción; puede tener entradas ya invalidadas
+    private final ArrayDeque<Entrada> anillo = new ArrayDeque<>();
+    private final ReentrantLock anilloLock = new ReentrantLock();
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder expulsiones = new LongAdder();
+
+    private static final class Entrada {
+        private final Long id;
+        private final long version;
+        private final byte[] json;
+        private volatile boolean referenciada;
+
+        private Entrada(Long id, long version, byte[] json) {
+            this.id = id;
+            this.version = version;
+            this.json = json;
+        }
+    }
+
+    @Autowired
+    public ProductoResponseCache(ProductoService productoService, ProductoMapper productoMapper,
+                                 ObjectMapper objectMapper,
+                                 @Value("${app.cache.producto.max-bytes:16777216}") long maxBytes) {
+        this(productoMapper, objectMapper, maxBytes);
+        productoService.suscribirCambios(this);
+    }
+
+    public ProductoResponseCache(ProductoMapper productoMapper, ObjectMapper objectMapper, long maxBytes) {
+        this.productoMapper = productoMapper;
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+    }
+
+    // JSON del producto; se serializa solo si no está o es de otra versión
+    public byte[] obtener(Producto producto) {
+        Entrada entrada = entradas.get(producto.getId());
+        if (entrada != null && entrada.version == producto.getVersion()) {
+            entrada.referenciada = true;
+            aciertos.increment();
+            return entrada.json;
+        }
+        fallos.increment();
+        byte[] json = serializar(producto);
+        // Entradas mayores a 1/8 del límite se sirven sin cachear
+        if (json.length <= maxBytes / 8) {
+            guardar(new Entrada(producto.getId(), producto.getVersion(), json));
+        }
+        return json;
+    }
+
+    @Override
+    public void productoCambiado(Long id, Producto anterior, Producto nuevo) {
+        Entrada eliminada = entradas.remove(id);
+        if (eliminada != null) {
+            bytes.addAndGet(-eliminada.json.length);
+        }
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public long getExpulsiones() {
+        return expulsiones.sum();
+    }
+
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    public int size() {
+        return entradas.size();
+    }
+
+    // Nombres estándar de Micrometer para caches; la tasa de aciertos se calcula con cache.gets
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", this, ProductoResponseCache::getAciertos)
+                .tags(CACHE_TAG).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", this, ProductoResponseCache::getFallos)
+                .tags(CACHE_TAG).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", this, ProductoResponseCache::getExpulsiones)
+                .tags(CACHE_TAG)
+                .register(registry);
+        Gauge.builder("cache.size", this, ProductoResponseCache::size)
+                .tags(CACHE_TAG)
+                .register(registry);
+        Gauge.builder("cache.bytes", this, ProductoResponseCache::getBytes)
+                .tags(CACHE_TAG).baseUnit("bytes")
+                .register(registry);
+    }
+
+    private byte[] serializar(Producto producto) {
+        try {
+            return objectMapper.writeValueAsBytes(productoMapper.toResponse(producto));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Error serializando el producto " + producto.getId(), e);
+        }
+    }
+
+    private void guardar(Entrada nueva) {
+        boolean[] insertada = {false};
+        entradas.compute(nueva.id, (id, actual) -> {
+            // Una carga lenta no pisa una versión más nueva
+            if (actual != null && actual.version >= nueva.version) {
+                return actual;
+            }
+            if (actual != null) {
+                bytes.addAndGet(-actual.json.length);
+            }
+            bytes.addAndGet(nueva.json.length);
+            insertada[0] = true;
+            return nueva;
+        });
+        if (!insertada[0]) {
+            return;
+        }
+        anilloLock.lock();
+        try {
+            anillo.addLast(nueva);
+            // Las invalidaciones dejan entradas muertas en el anillo; se purgan si dominan
+            if (anillo.size() > 2 * entradas.size() + 64) {
+                anillo.removeIf(entrada -> entradas.get(entrada.id) != entrada);
+            }
+            expulsar();
+        } finally {
+            anilloLock.unlock();
+        }
+    }
+
+    // Avanza la aguja hasta volver bajo el límite
+    private void expulsar() {
+        while (bytes.get() > maxBytes && !anillo.isEmpty()) {
+            Entrada candidata = anillo.pollFirst();
+            if (entradas.get(candidata.id) != candidata) {
+                // Ya invalidada o reemplazada: solo se descarta del anillo
+                continue;
+            }
+            if (candidata.referenciada) {
+                candidata.referenciada = false;
+                anillo.addLast(candidata);
+            } else if (entradas.remove(candidata.id, candidata)) {
+                bytes.addAndGet(-candidata.json.length);
+                expulsiones.increment();
+            }
+        }
+    }
+}
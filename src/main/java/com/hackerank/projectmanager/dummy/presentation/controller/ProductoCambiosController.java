@@ -0,0 +1,48 @@
+package com.hackerank.projectmanager.dummy.presentation.controller;
+
+import com.hackerank.projectmanager.dummy.presentation.sse.DifusorCambios;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Flujo de cambios del catálogo por Server-Sent Events, para que caches y
+ * buscadores dejen de recorrer el listado completo.
+ *
+ * <p>Cada alta, modificación o baja llega como evento {@value DifusorCambios#EVENTO_CAMBIO}
+ * con su secuencia. Al reconectar, el navegador reenvía {@code Last-Event-ID} y
+ * se retoma sin huecos; un evento {@value DifusorCambios#EVENTO_REINICIO} pide
+ * releer el catálogo porque los cambios intermedios ya no están. Los cambios
+ * pueden repetirse tras un reinicio: aplicarlos comparando la versión los hace
+ * idempotentes.
+ */
+@RestController
+@RequestMapping("/api/v1/projectmanager")
+@CrossOrigin(origins = "*")
+public class ProductoCambiosController {
+
+    private final DifusorCambios difusorCambios;
+
+    public ProductoCambiosController(DifusorCambios difusorCambios) {
+        this.difusorCambios = difusorCambios;
+    }
+
+    @GetMapping(value = "/cambios", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> suscribirCambios(
+            @RequestParam(required = false) Long desde,
+            @RequestHeader(name = "Last-Event-ID", required = false) String ultimoEventoId) {
+        // Sin timeout: la conexión dura lo que el cliente quiera y los latidos detectan las caídas
+        SseEmitter emitter = new SseEmitter(0L);
+        if (!difusorCambios.suscribir(emitter, ultimoEventoId, desde)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+}
@@ -2,87 +2,238 @@ package com.hackerank.projectmanager.dummy.presentation.controller;
 
 import com.hackerank.projectmanager.dummy.application.service.ProductoMapper;
 import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoQuery;
+import com.hackerank.projectmanager.dummy.domain.repository.VersionCatalogo;
 import com.hackerank.projectmanager.dummy.domain.service.ProductoService;
+import com.hackerank.projectmanager.dummy.presentation.cache.ProductoResponseCache;
+import com.hackerank.projectmanager.dummy.presentation.dto.CursorPageResponse;
 import com.hackerank.projectmanager.dummy.presentation.dto.ProductoRequest;
 import com.hackerank.projectmanager.dummy.presentation.dto.ProductoResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/v1/projectmanager")
 @CrossOrigin(origins = "*")
 public class ProductoController {
 
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    // Total de resultados, calculado desde los bitmaps sin recorrer el catálogo
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    // Cada cuántos productos se vacía el buffer en modo NDJSON
+    private static final int NDJSON_FLUSH = 256;
+    // Tope de size en los listados paginados; más que esto se recorre con NDJSON
+    static final int MAX_TAMANO_PAGINA = 1000;
+    // ?vista=resumen en los listados omite la descripción y evita leerla de disco
+    static final String VISTA_COMPLETA = "completa";
+    static final String VISTA_RESUMEN = "resumen";
+
     private final ProductoService productoService;
     private final ProductoMapper productoMapper;
+    private final ObjectMapper objectMapper;
+    private final ProductoResponseCache responseCache;
 
-    public ProductoController(ProductoService productoService, ProductoMapper productoMapper) {
+    public ProductoController(ProductoService productoService, ProductoMapper productoMapper,
+                              ObjectMapper objectMapper, ProductoResponseCache responseCache) {
         this.productoService = productoService;
         this.productoMapper = productoMapper;
+        this.objectMapper = objectMapper;
+        this.responseCache = responseCache;
     }
 
+    /**
+     * Paginación por offset: saltar hasta la página cuesta O(page * size), así que
+     * para recorrer el catálogo completo conviene el modo cursor (?after=).
+     */
     @GetMapping
     public ResponseEntity<Page<ProductoResponse>> obtenerTodosProductos(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
-
-        List<Producto> productos = productoService.obtenerTodosProductos();
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = VISTA_COMPLETA) String vista,
+            WebRequest request) {
+        validarTamanoPagina(size);
+        Function<Producto, ProductoResponse> proyeccion = proyeccion(vista);
+        return siCambioCatalogo(request, () -> {
+            Page<ProductoResponse> pageResponse = productoService
+                    .obtenerTodosProductos(PageRequest.of(page, size))
+                    .map(proyeccion);
 
-        // Implementación simple de paginación en memoria
-        Pageable pageable = PageRequest.of(page, size);
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), productos.size());
+            return ResponseEntity.ok(pageResponse);
+        });
+    }
 
-        List<ProductoResponse> content = productos.stream()
-                .skip(start)
-                .limit(end - start)
-                .map(productoMapper::toResponse)
-                .collect(Collectors.toList());
+    // Modo cursor: ?after=<token> (vacío para la primera página), orden estable por id
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageResponse<ProductoResponse>> obtenerProductosPorCursor(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = VISTA_COMPLETA) String vista,
+            WebRequest request) {
+        // Antes de size + 1: con el tope no desborda
+        validarTamanoPagina(size);
+        Function<Producto, ProductoResponse> proyeccion = proyeccion(vista);
+        return siCambioCatalogo(request, () -> {
+            // Se pide un elemento extra para saber si hay página siguiente
+            List<Producto> productos = productoService.obtenerProductosDesde(decodificarCursor(after), size + 1);
+            boolean haySiguiente = productos.size() > size;
+            List<Producto> pagina = haySiguiente ? productos.subList(0, size) : productos;
 
-        Page<ProductoResponse> pageResponse = new PageImpl<>(
-                content, pageable, productos.size());
+            List<ProductoResponse> content = pagina.stream()
+                    .map(proyeccion)
+                    .collect(Collectors.toList());
+            String nextCursor = haySiguiente ? codificarCursor(pagina.get(size - 1).getId()) : null;
 
-        return ResponseEntity.ok(pageResponse);
+            return ResponseEntity.ok(new CursorPageResponse<>(content, nextCursor));
+        });
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<ProductoResponse> obtenerProductoPorId(@PathVariable Long id) {
+    // El cuerpo sale del caché de JSON ya serializado: sin mapper ni Jackson en un acierto
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> obtenerProductoPorId(@PathVariable Long id, WebRequest request) {
         return productoService.obtenerProductoPorId(id)
-                .map(producto -> ResponseEntity.ok(productoMapper.toResponse(producto)))
+                .map(producto -> condicional(request,
+                        etag(productoService.obtenerVersionCatalogo().generacion(), producto.getVersion()),
+                        ultimaModificacion(producto),
+                        () -> ResponseEntity.ok()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(responseCache.obtener(producto))))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/categoria/{categoria}")
     public ResponseEntity<List<ProductoResponse>> obtenerProductosPorCategoria(
-            @PathVariable String categoria) {
+            @PathVariable String categoria,
+            @RequestParam(defaultValue = VISTA_COMPLETA) String vista,
+            WebRequest request) {
+        Function<Producto, ProductoResponse> proyeccion = proyeccion(vista);
+        return siCambioCatalogo(request, () -> {
+            List<ProductoResponse> response = productoService.buscarProductosPorCategoria(categoria)
+                    .stream()
+                    .map(proyeccion)
+                    .collect(Collectors.toList());
 
-        List<ProductoResponse> response = productoService.buscarProductosPorCategoria(categoria)
-                .stream()
-                .map(productoMapper::toResponse)
-                .collect(Collectors.toList());
+            return ResponseEntity.ok(response);
+        });
+    }
 
-        return ResponseEntity.ok(response);
+    @GetMapping(value = "/categoria/{categoria}", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> obtenerProductosPorCategoriaNdjson(
+            @PathVariable String categoria,
+            @RequestParam(defaultValue = VISTA_COMPLETA) String vista) {
+        return ndjson(() -> productoService.streamProductosPorCategoria(categoria), proyeccion(vista));
     }
 
     @GetMapping("/buscar")
     public ResponseEntity<List<ProductoResponse>> buscarProductos(
-            @RequestParam String nombre) {
+            @RequestParam String nombre,
+            @RequestParam(defaultValue = VISTA_COMPLETA) String vista,
+            WebRequest request) {
+        Function<Producto, ProductoResponse> proyeccion = proyeccion(vista);
+        return siCambioCatalogo(request, () -> {
+            List<ProductoResponse> response = productoService.buscarProductosPorNombre(nombre)
+                    .stream()
+                    .map(proyeccion)
+                    .collect(Collectors.toList());
+
+            return ResponseEntity.ok(response);
+        });
+    }
+
+    @GetMapping(value = "/buscar", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> buscarProductosNdjson(
+            @RequestParam String nombre,
+            @RequestParam(defaultValue = VISTA_COMPLETA) String vista) {
+        return ndjson(() -> productoService.streamProductosPorNombre(nombre), proyeccion(vista));
+    }
+
+    @GetMapping("/precio")
+    public ResponseEntity<List<ProductoResponse>> buscarProductosPorRangoPrecio(
+            @RequestParam(required = false) Double min,
+            @RequestParam(required = false) Double max,
+            @RequestParam(defaultValue = VISTA_COMPLETA) String vista,
+            WebRequest request) {
+        Function<Producto, ProductoResponse> proyeccion = proyeccion(vista);
+        return siCambioCatalogo(request, () -> {
+            List<ProductoResponse> response = productoService.buscarProductosPorRangoPrecio(min, max)
+                    .stream()
+                    .map(proyeccion)
+                    .collect(Collectors.toList());
+
+            return ResponseEntity.ok(response);
+        });
+    }
+
+    @GetMapping("/stock")
+    public ResponseEntity<List<ProductoResponse>> buscarProductosConStockMenorA(
+            @RequestParam Integer menorA,
+            @RequestParam(defaultValue = VISTA_COMPLETA) String vista,
+            WebRequest request) {
+        Function<Producto, ProductoResponse> proyeccion = proyeccion(vista);
+        return siCambioCatalogo(request, () -> {
+            List<ProductoResponse> response = productoService.buscarProductosConStockMenorA(menorA)
+                    .stream()
+                    .map(proyeccion)
+                    .collect(Collectors.toList());
+
+            return ResponseEntity.ok(response);
+        });
+    }
+
+    // Criterios combinados con AND; los omitidos no filtran
+    @GetMapping("/filtrar")
+    public ResponseEntity<List<ProductoResponse>> filtrarProductos(
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) Boolean disponible,
+            @RequestParam(required = false) Double precioMin,
+            @RequestParam(required = false) Double precioMax,
+            @RequestParam(required = false) Integer stockMenorA,
+            @RequestParam(required = false) String nombre,
+            @RequestParam(defaultValue = VISTA_COMPLETA) String vista,
+            WebRequest request) {
+        Function<Producto, ProductoResponse> proyeccion = proyeccion(vista);
+        return siCambioCatalogo(request, () -> {
+            ProductoQuery query = new ProductoQuery.Builder()
+                    .categoria(categoria)
+                    .disponible(disponible)
+                    .precioMin(precioMin)
+                    .precioMax(precioMax)
+                    .stockMenorA(stockMenorA)
+                    .nombre(nombre)
+                    .build();
 
-        List<ProductoResponse> response = productoService.buscarProductosPorNombre(nombre)
-                .stream()
-                .map(productoMapper::toResponse)
-                .collect(Collectors.toList());
+            List<ProductoResponse> response = productoService.filtrarProductos(query)
+                    .stream()
+                    .map(proyeccion)
+                    .collect(Collectors.toList());
 
-        return ResponseEntity.ok(response);
+            return ResponseEntity.ok(response);
+        });
     }
 
     @PostMapping
@@ -97,36 +248,209 @@ public class ProductoController {
                 .body(response);
     }
 
+    /**
+     * Sin If-Match gana la última escritura. Con If-Match la escritura es un
+     * compare-and-set sobre la versión leída: si otro cliente escribió entre
+     * medio responde 412 y el cliente debe releer y reintentar.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<ProductoResponse> actualizarProducto(
             @PathVariable Long id,
-            @Valid @RequestBody ProductoRequest request) {
+            @Valid @RequestBody ProductoRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        return productoService.obtenerProductoPorId(id)
-                .map(existing -> {
-                    Producto updated = productoMapper.updateDomainFromRequest(existing, request);
-                    Producto productoActualizado = productoService.actualizarProducto(id, updated)
-                            .orElseThrow(() -> new RuntimeException("Error actualizando producto"));
-                    return ResponseEntity.ok(productoMapper.toResponse(productoActualizado));
-                })
-                .orElse(ResponseEntity.notFound().build());
+        Optional<Producto> existing = productoService.obtenerProductoPorId(id);
+        if (existing.isEmpty()) {
+            // Con If-Match, un recurso inexistente no cumple la precondición
+            return ifMatch != null ? ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build()
+                    : ResponseEntity.notFound().build();
+        }
+        long generacion = productoService.obtenerVersionCatalogo().generacion();
+        long versionLeida = existing.get().getVersion();
+        if (ifMatch != null && !cumpleIfMatch(ifMatch, etag(generacion, versionLeida))) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(etag(generacion, versionLeida)).build();
+        }
+
+        Producto updated = productoMapper.updateDomainFromRequest(existing.get(), request);
+        Optional<Producto> productoActualizado = ifMatch != null
+                ? productoService.actualizarProducto(id, versionLeida, updated)
+                : productoService.actualizarProducto(id, updated);
+        return productoActualizado
+                .map(producto -> ResponseEntity.ok()
+                        .eTag(etag(generacion, producto.getVersion()))
+                        .body(productoMapper.toResponse(producto)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> eliminarProducto(@PathVariable Long id) {
-        if (productoService.eliminarProducto(id)) {
-            return ResponseEntity.noContent().build();
+    public ResponseEntity<Void> eliminarProducto(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ifMatch == null) {
+            return productoService.eliminarProducto(id)
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.notFound().build();
         }
-        return ResponseEntity.notFound().build();
+        long generacion = productoService.obtenerVersionCatalogo().generacion();
+        Optional<Producto> actual = productoService.obtenerProductoPorId(id);
+        if (actual.isEmpty() || !cumpleIfMatch(ifMatch, etag(generacion, actual.get().getVersion()))) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        // false: se borró entre la lectura y el CAS
+        return productoService.eliminarProducto(id, actual.get().getVersion())
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
     }
 
     @GetMapping("/disponibles")
-    public ResponseEntity<List<ProductoResponse>> obtenerProductosDisponibles() {
-        List<ProductoResponse> response = productoService.buscarProductosDisponibles()
-                .stream()
-                .map(productoMapper::toResponse)
-                .collect(Collectors.toList());
+    public ResponseEntity<List<ProductoResponse>> obtenerProductosDisponibles(
+            @RequestParam(defaultValue = VISTA_COMPLETA) String vista,
+            WebRequest request) {
+        Function<Producto, ProductoResponse> proyeccion = proyeccion(vista);
+        return siCambioCatalogo(request, () -> {
+            List<ProductoResponse> response = productoService.buscarProductosDisponibles()
+                    .stream()
+                    .map(proyeccion)
+                    .collect(Collectors.toList());
+
+            return ResponseEntity.ok()
+                    .header(TOTAL_COUNT_HEADER, String.valueOf(productoService.contarProductosDisponibles()))
+                    .body(response);
+        });
+    }
+
+    @GetMapping("/con-stock")
+    public ResponseEntity<List<ProductoResponse>> obtenerProductosConStock(
+            @RequestParam(defaultValue = VISTA_COMPLETA) String vista,
+            WebRequest request) {
+        Function<Producto, ProductoResponse> proyeccion = proyeccion(vista);
+        return siCambioCatalogo(request, () -> {
+            List<ProductoResponse> response = productoService.buscarProductosConStock()
+                    .stream()
+                    .map(proyeccion)
+                    .collect(Collectors.toList());
 
-        return ResponseEntity.ok(response);
+            return ResponseEntity.ok()
+                    .header(TOTAL_COUNT_HEADER, String.valueOf(productoService.contarProductosConStock()))
+                    .body(response);
+        });
+    }
+
+    @GetMapping(value = "/disponibles", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> obtenerProductosDisponiblesNdjson(
+            @RequestParam(defaultValue = VISTA_COMPLETA) String vista) {
+        return ndjson(productoService::streamProductosDisponibles, proyeccion(vista));
+    }
+
+    /**
+     * Respuesta condicional sobre la versión global del catálogo. La versión se
+     * lee antes que los datos: si una escritura se cuela entre medio, el ETag
+     * queda más viejo que el cuerpo y la próxima revalidación devuelve 200.
+     */
+    private <T> ResponseEntity<T> siCambioCatalogo(WebRequest request, Supplier<ResponseEntity<T>> respuesta) {
+        VersionCatalogo version = productoService.obtenerVersionCatalogo();
+        return condicional(request, etag(version.generacion(), version.version()),
+                version.ultimaModificacion().toEpochMilli(), respuesta);
+    }
+
+    // Responde 304 sin consultar, mapear ni serializar si el cliente ya tiene esta versión
+    private static <T> ResponseEntity<T> condicional(WebRequest request, String etag, long ultimaModificacion,
+                                                     Supplier<ResponseEntity<T>> respuesta) {
+        if (request.checkNotModified(etag, ultimaModificacion)) {
+            return conValidadores(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, ultimaModificacion).build();
+        }
+        ResponseEntity<T> completa = respuesta.get();
+        if (!completa.getStatusCode().is2xxSuccessful()) {
+            return completa;
+        }
+        return conValidadores(ResponseEntity.status(completa.getStatusCode()).headers(completa.getHeaders()),
+                etag, ultimaModificacion).body(completa.getBody());
+    }
+
+    private static ResponseEntity.BodyBuilder conValidadores(ResponseEntity.BodyBuilder builder, String etag,
+                                                             long ultimaModificacion) {
+        builder.eTag(etag);
+        if (ultimaModificacion >= 0) {
+            builder.lastModified(ultimaModificacion);
+        }
+        return builder;
+    }
+
+    // Comparación fuerte: "*" o una etiqueta idéntica; las débiles (W/) nunca coinciden
+    private static boolean cumpleIfMatch(String ifMatch, String etagActual) {
+        for (String etiqueta : ifMatch.split(",")) {
+            String valor = etiqueta.trim();
+            if (valor.equals("*") || valor.equals(etagActual)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String etag(long generacion, long version) {
+        return "\"" + Long.toHexString(generacion) + "-" + version + "\"";
+    }
+
+    // Las fechas son hora UTC (así se generan y se guardan). -1 si el producto no
+    // tiene fechas: solo se valida por ETag
+    private static long ultimaModificacion(Producto producto) {
+        LocalDateTime fecha = producto.getFechaActualizacion() != null
+                ? producto.getFechaActualizacion()
+                : producto.getFechaCreacion();
+        return fecha != null ? fecha.toInstant(ZoneOffset.UTC).toEpochMilli() : -1;
+    }
+
+    // Un producto por línea: se mapea y serializa de a uno, sin construir la lista
+    private ResponseEntity<StreamingResponseBody> ndjson(Supplier<Stream<Producto>> productos,
+                                                         Function<Producto, ProductoResponse> proyeccion) {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (Stream<Producto> stream = productos.get();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                // Sin separador entre valores raíz: cada línea termina en '\n'
+                generator.setRootValueSeparator(null);
+                int escritos = 0;
+                for (Iterator<Producto> it = stream.iterator(); it.hasNext(); ) {
+                    writer.writeValue(generator, proyeccion.apply(it.next()));
+                    generator.writeRaw('\n');
+                    if (++escritos % NDJSON_FLUSH == 0) {
+                        generator.flush();
+                    }
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    private static void validarTamanoPagina(int size) {
+        if (size < 1 || size > MAX_TAMANO_PAGINA) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + MAX_TAMANO_PAGINA);
+        }
+    }
+
+    private Function<Producto, ProductoResponse> proyeccion(String vista) {
+        return switch (vista.toLowerCase(Locale.ROOT)) {
+            case VISTA_COMPLETA -> productoMapper::toResponse;
+            case VISTA_RESUMEN -> productoMapper::toResumen;
+            default -> throw new IllegalArgumentException("La vista debe ser completa o resumen");
+        };
+    }
+
+    private static String codificarCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodificarCursor(String cursor) {
+        if (cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
     }
 }
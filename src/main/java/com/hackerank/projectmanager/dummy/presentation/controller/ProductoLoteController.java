@@ -0,0 +1,176 @@
+package com.hackerank.projectmanager.dummy.presentation.controller;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerank.projectmanager.dummy.application.service.ProductoMapper;
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.OperacionLote;
+import com.hackerank.projectmanager.dummy.domain.service.ProductoService;
+import com.hackerank.projectmanager.dummy.presentation.dto.LoteResponse;
+import com.hackerank.projectmanager.dummy.presentation.dto.OperacionLoteRequest;
+import com.hackerank.projectmanager.dummy.presentation.dto.ResultadoOperacionResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Altas, modificaciones y bajas en lote para sincronizaciones masivas.
+ *
+ * <p>El cuerpo es un array JSON que se lee de a un elemento. Cada operación se
+ * valida con las reglas de {@link com.hackerank.projectmanager.dummy.presentation.dto.ProductoRequest};
+ * las válidas se aplican juntas con un solo fsync, y las inválidas solo fallan
+ * ellas. El resultado trae un estado por operación. Un id repetido entre las
+ * operaciones válidas rechaza el lote completo: el resultado de cada operación
+ * debe poder leerse sin depender del orden dentro del lote.
+ */
+@RestController
+@RequestMapping("/api/v1/projectmanager")
+@CrossOrigin(origins = "*")
+public class ProductoLoteController {
+
+    private final ProductoService productoService;
+    private final ProductoMapper productoMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int maxOperaciones;
+
+    public ProductoLoteController(ProductoService productoService, ProductoMapper productoMapper,
+                                  ObjectMapper objectMapper, Validator validator,
+                                  @Value("${app.lote.max-operaciones:50000}") int maxOperaciones) {
+        this.productoService = productoService;
+        this.productoMapper = productoMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.maxOperaciones = maxOperaciones;
+    }
+
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LoteResponse> procesarLote(InputStream cuerpo) throws IOException {
+        // Los válidos dejan un hueco en resultados que se completa tras aplicar el lote
+        List<ResultadoOperacionResponse> resultados = new ArrayList<>();
+        List<OperacionLote> operaciones = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        Set<Long> ids = new HashSet<>();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(cuerpo)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Se esperaba un array de operaciones");
+            }
+            int indice = 0;
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("Operación " + indice + " inválida: se esperaba un objeto");
+                }
+                if (indice >= maxOperaciones) {
+                    throw new IllegalArgumentException("El lote no puede superar " + maxOperaciones + " operaciones");
+                }
+                OperacionLoteRequest request = leer(parser, indice);
+                Map<String, String> errores = new LinkedHashMap<>();
+                Optional<OperacionLote> operacion = convertir(request, errores);
+                if (operacion.isPresent()) {
+                    if (operacion.get().tipo() != OperacionLote.Tipo.CREAR && !ids.add(operacion.get().id())) {
+                        throw new IllegalArgumentException("El id " + operacion.get().id()
+                                + " aparece más de una vez en el lote");
+                    }
+                    operaciones.add(operacion.get());
+                    indices.add(indice);
+                    resultados.add(null);
+                } else {
+                    int estado = errores.isEmpty() ? HttpStatus.NOT_FOUND.value() : HttpStatus.BAD_REQUEST.value();
+                    resultados.add(new ResultadoOperacionResponse(indice, request.getId(), estado,
+                            errores.isEmpty() ? null : errores));
+                }
+                indice++;
+            }
+        }
+
+        List<Producto> aplicados = operaciones.isEmpty() ? List.of() : productoService.procesarLote(operaciones);
+        int exitosas = 0;
+        for (int i = 0; i < operaciones.size(); i++) {
+            OperacionLote operacion = operaciones.get(i);
+            Producto producto = aplicados.get(i);
+            int estado = producto == null ? HttpStatus.NOT_FOUND.value() : estadoExito(operacion.tipo());
+            Long id = producto != null ? producto.getId() : operacion.id();
+            resultados.set(indices.get(i), new ResultadoOperacionResponse(indices.get(i), id, estado, null));
+            if (producto != null) {
+                exitosas++;
+            }
+        }
+
+        return ResponseEntity.ok(new LoteResponse(exitosas, resultados.size() - exitosas, resultados));
+    }
+
+    private OperacionLoteRequest leer(JsonParser parser, int indice) throws IOException {
+        try {
+            return objectMapper.readValue(parser, OperacionLoteRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Operación " + indice + " inválida: " + e.getOriginalMessage());
+        }
+    }
+
+    // Vacío con errores si no es válida; vacío sin errores si el id a actualizar no existe
+    private Optional<OperacionLote> convertir(OperacionLoteRequest request, Map<String, String> errores) {
+        for (ConstraintViolation<OperacionLoteRequest> violacion : validator.validate(request)) {
+            errores.put(violacion.getPropertyPath().toString(), violacion.getMessage());
+        }
+        OperacionLote.Tipo tipo = null;
+        if (request.getTipo() != null && !request.getTipo().isBlank()) {
+            try {
+                tipo = OperacionLote.Tipo.valueOf(request.getTipo().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                errores.put("tipo", "El tipo debe ser CREAR, ACTUALIZAR o ELIMINAR");
+            }
+        }
+        if (tipo != null && tipo != OperacionLote.Tipo.CREAR && request.getId() == null) {
+            errores.put("id", "El id es requerido");
+        }
+        if (tipo != null && tipo != OperacionLote.Tipo.ELIMINAR && request.getProducto() == null) {
+            errores.put("producto", "El producto es requerido");
+        }
+        if (!errores.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            return switch (tipo) {
+                case CREAR -> Optional.of(OperacionLote.crear(productoMapper.toDomain(request.getProducto())));
+                // Como en PUT, se conserva la fecha de creación del producto existente
+                case ACTUALIZAR -> productoService.obtenerProductoPorId(request.getId())
+                        .map(existente -> OperacionLote.actualizar(request.getId(),
+                                productoMapper.updateDomainFromRequest(existente, request.getProducto())));
+                case ELIMINAR -> Optional.of(OperacionLote.eliminar(request.getId()));
+            };
+        } catch (IllegalArgumentException e) {
+            errores.put("producto", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static int estadoExito(OperacionLote.Tipo tipo) {
+        return switch (tipo) {
+            case CREAR -> HttpStatus.CREATED.value();
+            case ACTUALIZAR -> HttpStatus.OK.value();
+            case ELIMINAR -> HttpStatus.NO_CONTENT.value();
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.hackerank.projectmanager.dummy.presentation.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+// Evento "producto" de GET /cambios; producto y version faltan en las bajas
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CambioProductoResponse {
+    private final long secuencia;
+    private final String tipo;
+    private final Long id;
+    private final Long version;
+    private final Instant instante;
+    private final ProductoResponse producto;
+
+    public CambioProductoResponse(long secuencia, String tipo, Long id, Long version, Instant instante,
+                                  ProductoResponse producto) {
+        this.secuencia = secuencia;
+        this.tipo = tipo;
+        this.id = id;
+        this.version = version;
+        this.instante = instante;
+        this.producto = producto;
+    }
+
+    // Getters
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getInstante() {
+        return instante;
+    }
+
+    public ProductoResponse getProducto() {
+        return producto;
+    }
+}
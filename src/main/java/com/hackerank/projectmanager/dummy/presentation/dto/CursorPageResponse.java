@@ -0,0 +1,30 @@
+package com.hackerank.projectmanager.dummy.presentation.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// DTO para listados por cursor: nextCursor es null en la última página
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPageResponse<T> {
+    private final List<T> content;
+    private final String nextCursor;
+
+    public CursorPageResponse(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public int getSize() {
+        return content.size();
+    }
+}
@@ -0,0 +1,29 @@
+package com.hackerank.projectmanager.dummy.presentation.dto;
+
+import java.util.List;
+
+// Respuesta de POST /lote: un resultado por operación, en el orden recibido
+public class LoteResponse {
+    private final int aplicadas;
+    private final int fallidas;
+    private final List<ResultadoOperacionResponse> resultados;
+
+    public LoteResponse(int aplicadas, int fallidas, List<ResultadoOperacionResponse> resultados) {
+        this.aplicadas = aplicadas;
+        this.fallidas = fallidas;
+        this.resultados = resultados;
+    }
+
+    // Getters
+    public int getAplicadas() {
+        return aplicadas;
+    }
+
+    public int getFallidas() {
+        return fallidas;
+    }
+
+    public List<ResultadoOperacionResponse> getResultados() {
+        return resultados;
+    }
+}
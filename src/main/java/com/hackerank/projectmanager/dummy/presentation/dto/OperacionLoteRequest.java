@@ -0,0 +1,63 @@
+package com.hackerank.projectmanager.dummy.presentation.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+
+// Elemento de POST /lote: tipo CREAR (producto), ACTUALIZAR (id y producto) o ELIMINAR (id)
+@JsonDeserialize(builder = OperacionLoteRequest.Builder.class)
+public class OperacionLoteRequest {
+    @NotBlank(message = "El tipo es requerido")
+    private final String tipo;
+
+    private final Long id;
+
+    @Valid
+    private final ProductoRequest producto;
+
+    private OperacionLoteRequest(Builder builder) {
+        this.tipo = builder.tipo;
+        this.id = builder.id;
+        this.producto = builder.producto;
+    }
+
+    // Getters
+    public String getTipo() {
+        return tipo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ProductoRequest getProducto() {
+        return producto;
+    }
+
+    @JsonPOJOBuilder(withPrefix = "")
+    public static class Builder {
+        private String tipo;
+        private Long id;
+        private ProductoRequest producto;
+
+        public Builder tipo(String tipo) {
+            this.tipo = tipo;
+            return this;
+        }
+
+        public Builder id(Long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder producto(ProductoRequest producto) {
+            this.producto = producto;
+            return this;
+        }
+
+        public OperacionLoteRequest build() {
+            return new OperacionLoteRequest(this);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.hackerank.projectmanager.dummy.presentation.dto;
+
+// Evento "reinicio" de GET /cambios: el consumidor debe releer el catálogo y seguir desde secuencia
+public class ReinicioCambiosResponse {
+    private final String motivo;
+    private final long secuencia;
+
+    public ReinicioCambiosResponse(String motivo, long secuencia) {
+        this.motivo = motivo;
+        this.secuencia = secuencia;
+    }
+
+    // Getters
+    public String getMotivo() {
+        return motivo;
+    }
+
+    public long getSecuencia() {
+        return secuencia;
+    }
+}
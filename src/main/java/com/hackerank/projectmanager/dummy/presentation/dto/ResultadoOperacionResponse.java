@@ -0,0 +1,38 @@
+package com.hackerank.projectmanager.dummy.presentation.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+// Resultado de una operación del lote; estado sigue los códigos HTTP del endpoint unitario
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResultadoOperacionResponse {
+    private final int indice;
+    private final Long id;
+    private final int estado;
+    private final Map<String, String> errores;
+
+    public ResultadoOperacionResponse(int indice, Long id, int estado, Map<String, String> errores) {
+        this.indice = indice;
+        this.id = id;
+        this.estado = estado;
+        this.errores = errores;
+    }
+
+    // Getters
+    public int getIndice() {
+        return indice;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public int getEstado() {
+        return estado;
+    }
+
+    public Map<String, String> getErrores() {
+        return errores;
+    }
+}
@@ -1,5 +1,7 @@
 package com.hackerank.projectmanager.dummy.presentation.exception;
 
+import com.hackerank.projectmanager.dummy.domain.repository.ConflictoVersionException;
+import com.hackerank.projectmanager.operation.domain.ConflictoReservaException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -45,6 +47,26 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ConflictoVersionException.class)
+    public ResponseEntity<ErrorResponse> handleConflictoVersion(ConflictoVersionException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(ConflictoReservaException.class)
+    public ResponseEntity<ErrorResponse> handleConflictoReserva(ConflictoReservaException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     public static class ErrorResponse {
         private final int status;
         private final String message;
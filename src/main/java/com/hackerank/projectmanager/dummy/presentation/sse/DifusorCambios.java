@@ -0,0 +1,213 @@
+package com.hackerank.projectmanager.dummy.presentation.sse;
+
+import com.hackerank.projectmanager.dummy.application.service.ProductoMapper;
+import com.hackerank.projectmanager.dummy.domain.repository.CambioProducto;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.cdc.RegistroCambios;
+import com.hackerank.projectmanager.dummy.presentation.dto.CambioProductoResponse;
+import com.hackerank.projectmanager.dummy.presentation.dto.ReinicioCambiosResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envía el {@link RegistroCambios} a los suscriptores de GET /cambios.
+ *
+ * <p>Cada suscriptor tiene su hilo, que lee del anillo a su ritmo y manda cada
+ * tanda de cambios en un solo envío. Si el cliente lee lento, el envío se
+ * bloquea en el socket y solo atrasa a ese suscriptor; los escritores del
+ * catálogo nunca esperan. Un suscriptor que queda más de una vuelta del anillo
+ * atrás, o que retoma con un id de otra ejecución, recibe un evento
+ * {@value #EVENTO_REINICIO} y sigue desde el cambio más reciente.
+ *
+ * <p>El id de cada evento es {@code generacion-secuencia}: el cliente lo
+ * reenvía como {@code Last-Event-ID} al reconectar y retoma sin huecos.
+ */
+@Component
+public class DifusorCambios implements MeterBinder {
+
+    public static final String EVENTO_CAMBIO = "producto";
+    public static final String EVENTO_REINICIO = "reinicio";
+    private static final int TANDA = 256;
+
+    private final RegistroCambios registro;
+    private final ProductoMapper productoMapper;
+    private final long latidoNanos;
+    private final Semaphore cupos;
+    private final ThreadFactory fabricaHilos;
+    private final Map<SseEmitter, Thread> suscripciones = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DifusorCambios(RegistroCambios registro, ProductoMapper productoMapper,
+                          @Value("${app.cdc.latido-ms:15000}") long latidoMs,
+                          @Value("${app.cdc.max-suscriptores:256}") int maxSuscriptores,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean hilosVirtuales) {
+        this.registro = registro;
+        this.productoMapper = productoMapper;
+        this.latidoNanos = TimeUnit.MILLISECONDS.toNanos(latidoMs);
+        this.cupos = new Semaphore(maxSuscriptores);
+        this.fabricaHilos = hilosVirtuales
+                ? Thread.ofVirtual().name("cdc-sse-", 0).factory()
+                : Thread.ofPlatform().name("cdc-sse-", 0).daemon().factory();
+    }
+
+    /**
+     * Empieza a enviar cambios al emisor. Sin ultimoEventoId ni desde, solo los
+     * que ocurran a partir de ahora.
+     *
+     * @param ultimoEventoId cabecera Last-Event-ID; tiene prioridad sobre desde
+     * @param desde          primera secuencia a enviar
+     * @return false si ya se alcanzó el máximo de suscriptores
+     */
+    public boolean suscribir(SseEmitter emitter, String ultimoEventoId, Long desde) {
+        long siguiente = registro.siguienteSecuencia();
+        long inicio = siguiente;
+        String motivo = null;
+        if (ultimoEventoId != null && !ultimoEventoId.isBlank()) {
+            long[] id = decodificarId(ultimoEventoId);
+            if (id[0] == registro.generacion()) {
+                if (id[1] < 0 || id[1] >= siguiente) {
+                    throw new IllegalArgumentException("Last-Event-ID posterior al último cambio: " + ultimoEventoId);
+                }
+                inicio = id[1] + 1;
+            } else {
+                motivo = "El servidor se reinició y las secuencias anteriores ya no existen";
+            }
+        } else if (desde != null) {
+            if (desde < 0 || desde > siguiente) {
+                throw new IllegalArgumentException("desde debe estar entre 0 y " + siguiente);
+            }
+            inicio = desde;
+        }
+        if (motivo == null && inicio < registro.primeraSecuencia()) {
+            motivo = "Los cambios desde la secuencia " + inicio + " ya no están en el registro";
+            inicio = siguiente;
+        }
+
+        if (!cupos.tryAcquire()) {
+            return false;
+        }
+        long primera = inicio;
+        String motivoInicial = motivo;
+        Thread hilo = fabricaHilos.newThread(() -> difundir(emitter, primera, motivoInicial));
+        suscripciones.put(emitter, hilo);
+        // Al cerrar la conexión se interrumpe la espera del hilo
+        emitter.onCompletion(hilo::interrupt);
+        emitter.onTimeout(hilo::interrupt);
+        emitter.onError(error -> hilo.interrupt());
+        hilo.start();
+        return true;
+    }
+
+    public int suscriptores() {
+        return suscripciones.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("productos.cdc.suscriptores", this, DifusorCambios::suscriptores)
+                .register(registry);
+        FunctionCounter.builder("productos.cdc.cambios", registro, RegistroCambios::siguienteSecuencia)
+                .register(registry);
+    }
+
+    public String formatearId(long secuencia) {
+        return Long.toHexString(registro.generacion()) + "-" + secuencia;
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        suscripciones.forEach((emitter, hilo) -> {
+            hilo.interrupt();
+            emitter.complete();
+        });
+    }
+
+    private void difundir(SseEmitter emitter, long desde, String motivoInicial) {
+        long secuencia = desde;
+        List<CambioProducto> tanda = new ArrayList<>(TANDA);
+        try {
+            if (motivoInicial != null) {
+                reiniciar(emitter, motivoInicial, secuencia);
+            }
+            while (!Thread.currentThread().isInterrupted()) {
+                tanda.clear();
+                long siguiente = registro.leer(secuencia, TANDA, tanda);
+                if (siguiente < 0) {
+                    secuencia = registro.siguienteSecuencia();
+                    reiniciar(emitter, "El suscriptor quedó atrás y se perdieron cambios", secuencia);
+                    continue;
+                }
+                if (!tanda.isEmpty()) {
+                    emitter.send(eventos(tanda));
+                    secuencia = siguiente;
+                } else if (!registro.esperar(secuencia, latidoNanos)) {
+                    // Comentario SSE: mantiene viva la conexión y detecta clientes caídos
+                    emitter.send(SseEmitter.event().comment("latido").build());
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado o emisor ya completado
+        } finally {
+            suscripciones.remove(emitter);
+            cupos.release();
+            emitter.complete();
+        }
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> eventos(List<CambioProducto> tanda) {
+        Set<ResponseBodyEmitter.DataWithMediaType> eventos = new LinkedHashSet<>();
+        for (CambioProducto cambio : tanda) {
+            CambioProductoResponse response = new CambioProductoResponse(cambio.secuencia(),
+                    cambio.tipo().name(), cambio.id(),
+                    cambio.producto() != null ? cambio.producto().getVersion() : null,
+                    cambio.instante(),
+                    cambio.producto() != null ? productoMapper.toResponse(cambio.producto()) : null);
+            eventos.addAll(SseEmitter.event()
+                    .id(formatearId(cambio.secuencia()))
+                    .name(EVENTO_CAMBIO)
+                    .data(response, MediaType.APPLICATION_JSON)
+                    .build());
+        }
+        return eventos;
+    }
+
+    // Sin id: al reconectar se vuelve a avisar, el cliente aún no terminó de releer
+    private static void reiniciar(SseEmitter emitter, String motivo, long secuencia) throws IOException {
+        emitter.send(SseEmitter.event()
+                .name(EVENTO_REINICIO)
+                .data(new ReinicioCambiosResponse(motivo, secuencia), MediaType.APPLICATION_JSON)
+                .build());
+    }
+
+    private static long[] decodificarId(String id) {
+        int separador = id.indexOf('-');
+        try {
+            if (separador <= 0) {
+                throw new NumberFormatException();
+            }
+            return new long[]{Long.parseUnsignedLong(id.substring(0, separador), 16),
+                    Long.parseLong(id.substring(separador + 1))};
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Last-Event-ID inválido: " + id);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.hackerank.projectmanager.operation.application.service;
+
+import com.hackerank.projectmanager.operation.domain.EstadoStock;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stock y unidades reservadas de un producto empaquetados en un long (32 bits
+ * cada uno), para que verificar y apartar sea un único CAS sin locks.
+ */
+final class Existencias {
+
+    private static final long MASCARA = 0xFFFF_FFFFL;
+
+    private final AtomicLong estado;
+    // Versión del producto de la que sale el stock; solo avanza
+    private volatile long version;
+    // Solo para cambiar de versión, que es raro: reservar y liberar no lo toman
+    private final ReentrantLock versionLock = new ReentrantLock();
+
+    Existencias(int stock, long version) {
+        this.estado = new AtomicLong(empaquetar(stock, 0));
+        this.version = version;
+    }
+
+    // Unidades libres tras reservar, o -1 si no alcanzan
+    int reservar(int cantidad) {
+        while (true) {
+            long actual = estado.get();
+            int stock = stock(actual);
+            int reservado = reservado(actual);
+            int libres = stock - reservado - cantidad;
+            if (libres < 0) {
+                return -1;
+            }
+            if (estado.compareAndSet(actual, empaquetar(stock, reservado + cantidad))) {
+                return libres;
+            }
+        }
+    }
+
+    // Unidades libres tras devolver
+    int liberar(int cantidad) {
+        long nuevo = estado.updateAndGet(actual -> empaquetar(stock(actual), reservado(actual) - cantidad));
+        return stock(nuevo) - reservado(nuevo);
+    }
+
+    // El producto cambió en el repositorio: las reservas se conservan. Una versión
+    // que no es más nueva que la aplicada se ignora, así llegue tarde o repetida.
+    // Cada reserva pasa por aquí con la versión vigente: ese caso es una lectura volatile.
+    void fijarStock(int stock, long version) {
+        if (version <= this.version) {
+            return;
+        }
+        versionLock.lock();
+        try {
+            if (version <= this.version) {
+                return;
+            }
+            estado.updateAndGet(actual -> empaquetar(stock, reservado(actual)));
+            this.version = version;
+        } finally {
+            versionLock.unlock();
+        }
+    }
+
+    int libres() {
+        long actual = estado.get();
+        return stock(actual) - reservado(actual);
+    }
+
+    // Stock y reservado leídos juntos
+    EstadoStock foto(Long productoId) {
+        long actual = estado.get();
+        return new EstadoStock(productoId, stock(actual), reservado(actual), stock(actual) - reservado(actual));
+    }
+
+    private static long empaquetar(int stock, int reservado) {
+        return ((long) stock << 32) | (reservado & MASCARA);
+    }
+
+    private static int stock(long estado) {
+        return (int) (estado >>> 32);
+    }
+
+    private static int reservado(long estado) {
+        return (int) estado;
+    }
+}
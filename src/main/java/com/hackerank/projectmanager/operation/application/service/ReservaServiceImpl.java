@@ -0,0 +1,298 @@
+package com.hackerank.projectmanager.operation.application.service;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.ConflictoVersionException;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoCambioListener;
+import com.hackerank.projectmanager.dummy.domain.service.ProductoService;
+import com.hackerank.projectmanager.operation.domain.ConflictoReservaException;
+import com.hackerank.projectmanager.operation.domain.EstadoStock;
+import com.hackerank.projectmanager.operation.domain.Reserva;
+import com.hackerank.projectmanager.operation.domain.service.ReservaService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reservas de stock para ventas con mucha concurrencia sobre pocos productos.
+ *
+ * <p>Reservar y liberar solo tocan un {@link Existencias} por producto (un CAS),
+ * sin escribir el producto: el repositorio se escribe solo al confirmar, y una
+ * confirmación que deja el stock en cero además apaga {@code disponible}. Las
+ * reservas viven en memoria, así que lo que se escribe no depende de ellas: un
+ * producto agotado por reservas sigue disponible en el catálogo, reservar
+ * responde 409 y el estado de stock muestra cero libres. Así un reinicio, que
+ * pierde las reservas, no deja productos apagados sin nadie que los encienda.
+ * El stock de cada contador se mantiene al día
+ * escuchando los cambios del repositorio, así que un PUT de stock se ve en la
+ * siguiente reserva. Los vencimientos se agrupan en cubetas por intervalo de
+ * barrido; confirmar o liberar saca la reserva de su cubeta.
+ */
+@Service
+public class ReservaServiceImpl implements ReservaService, ProductoCambioListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservaServiceImpl.class);
+
+    private final ProductoService productoService;
+    private final Duration ttlPorDefecto;
+    private final long barridoMs;
+    private final boolean hilosVirtuales;
+
+    private final Map<Long, Existencias> existencias = new ConcurrentHashMap<>();
+    private final Map<Long, Reserva> reservas = new ConcurrentHashMap<>();
+    // Cubeta -> ids de reservas que vencen en ella; la cubeta k vence en k * barridoMs
+    private final NavigableMap<Long, Set<Long>> vencimientos = new ConcurrentSkipListMap<>();
+    private final AtomicLong secuencia = new AtomicLong();
+    private ScheduledExecutorService barrido;
+
+    @Autowired
+    public ReservaServiceImpl(ProductoService productoService,
+                              @Value("${app.reservas.ttl-segundos:600}") long ttlSegundos,
+                              @Value("${app.reservas.barrido-ms:1000}") long barridoMs,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean hilosVirtuales) {
+        this.productoService = productoService;
+        this.ttlPorDefecto = Duration.ofSeconds(ttlSegundos);
+        this.barridoMs = barridoMs;
+        this.hilosVirtuales = hilosVirtuales;
+        productoService.suscribirCambios(this);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        if (barridoMs <= 0) {
+            return;
+        }
+        ThreadFactory fabrica = hilosVirtuales
+                ? Thread.ofVirtual().name("reservas-barrido").factory()
+                : r -> {
+                    Thread hilo = new Thread(r, "reservas-barrido");
+                    hilo.setDaemon(true);
+                    return hilo;
+                };
+        barrido = Executors.newSingleThreadScheduledExecutor(fabrica);
+        barrido.scheduleWithFixedDelay(this::barrer, barridoMs, barridoMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void detener() {
+        if (barrido != null) {
+            barrido.shutdownNow();
+        }
+    }
+
+    @Override
+    public Optional<Reserva> reservar(Long productoId, int cantidad, Duration ttl) {
+        if (cantidad <= 0) {
+            throw new IllegalArgumentException("La cantidad debe ser mayor a 0");
+        }
+        Optional<Existencias> contador = existencias(productoId);
+        if (contador.isEmpty()) {
+            return Optional.empty();
+        }
+        if (contador.get().reservar(cantidad) < 0) {
+            throw new ConflictoReservaException("Stock insuficiente para el producto " + productoId
+                    + ": libres " + Math.max(0, contador.get().libres()) + ", pedidas " + cantidad);
+        }
+
+        Instant expiraEn = Instant.now().plus(ttl != null ? ttl : ttlPorDefecto);
+        Reserva reserva = new Reserva(secuencia.incrementAndGet(), productoId, cantidad, expiraEn);
+        reservas.put(reserva.getId(), reserva);
+        programarVencimiento(reserva);
+        return Optional.of(reserva);
+    }
+
+    @Override
+    public Optional<Reserva> confirmar(Long reservaId) {
+        Reserva reserva = reservas.get(reservaId);
+        if (reserva == null) {
+            return Optional.empty();
+        }
+        finalizar(reserva, Reserva.Estado.CONFIRMADA);
+        // Primero baja el stock y después lo reservado: mientras tanto las libres quedan por debajo, nunca por encima
+        descontarStock(reserva.getProductoId(), reserva.getCantidad());
+        devolver(reserva);
+        return Optional.of(reserva);
+    }
+
+    @Override
+    public Optional<Reserva> liberar(Long reservaId) {
+        Reserva reserva = reservas.get(reservaId);
+        if (reserva == null) {
+            return Optional.empty();
+        }
+        finalizar(reserva, Reserva.Estado.LIBERADA);
+        devolver(reserva);
+        return Optional.of(reserva);
+    }
+
+    @Override
+    public Optional<Reserva> obtenerReserva(Long reservaId) {
+        return Optional.ofNullable(reservas.get(reservaId));
+    }
+
+    @Override
+    public Optional<EstadoStock> obtenerEstadoStock(Long productoId) {
+        return existencias(productoId).map(contador -> contador.foto(productoId));
+    }
+
+    @Override
+    public int expirarVencidas() {
+        int expiradas = 0;
+        long actual = Math.floorDiv(Instant.now().toEpochMilli(), Math.max(1, barridoMs));
+        Map.Entry<Long, Set<Long>> vencida;
+        while ((vencida = primeraHasta(actual)) != null) {
+            vencimientos.remove(vencida.getKey(), vencida.getValue());
+            for (Long reservaId : vencida.getValue()) {
+                Reserva reserva = reservas.get(reservaId);
+                // Una reserva confirmada en paralelo pierde el CAS y no se devuelve dos veces
+                if (reserva != null && reserva.finalizar(Reserva.Estado.EXPIRADA)) {
+                    devolver(reserva);
+                    expiradas++;
+                }
+            }
+        }
+        return expiradas;
+    }
+
+    @Override
+    public void productoCambiado(Long id, Producto anterior, Producto nuevo) {
+        // Corre dentro del compute del repositorio: solo ajusta el contador, nunca escribe productos
+        if (nuevo == null) {
+            existencias.remove(id);
+            return;
+        }
+        Existencias contador = existencias.get(id);
+        if (contador != null) {
+            contador.fijarStock(stockDe(nuevo), nuevo.getVersion());
+        }
+    }
+
+    private void barrer() {
+        try {
+            int expiradas = expirarVencidas();
+            if (expiradas > 0) {
+                logger.debug("Expiradas {} reservas", expiradas);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error expirando reservas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * productoCambiado corre dentro del compute del repositorio, antes de que el
+     * mapa tenga el valor nuevo. Si corre antes de que exista el contador, su
+     * aviso se pierde y el contador puede sembrarse con el producto anterior.
+     * Por eso cada uso vuelve a leer el producto y aplica su versión si es más
+     * nueva: cuando esa escritura termina, la siguiente operación la ve.
+     */
+    private Optional<Existencias> existencias(Long productoId) {
+        Optional<Producto> actual = productoService.obtenerProductoPorId(productoId);
+        if (actual.isEmpty()) {
+            return Optional.empty();
+        }
+        Producto producto = actual.get();
+        Existencias contador = existencias.computeIfAbsent(productoId,
+                id -> new Existencias(stockDe(producto), producto.getVersion()));
+        contador.fijarStock(stockDe(producto), producto.getVersion());
+        return Optional.of(contador);
+    }
+
+    private void finalizar(Reserva reserva, Reserva.Estado estado) {
+        if (!reserva.finalizar(estado)) {
+            throw new ConflictoReservaException("La reserva " + reserva.getId() + " ya está " + reserva.getEstado());
+        }
+    }
+
+    // Quita la reserva y sus unidades de lo reservado
+    private void devolver(Reserva reserva) {
+        reservas.remove(reserva.getId());
+        Set<Long> cubeta = vencimientos.get(cubeta(reserva.getExpiraEn()));
+        if (cubeta != null) {
+            cubeta.remove(reserva.getId());
+        }
+        Existencias contador = existencias.get(reserva.getProductoId());
+        if (contador != null) {
+            contador.liberar(reserva.getCantidad());
+        }
+    }
+
+    private void descontarStock(Long productoId, int cantidad) {
+        while (true) {
+            Optional<Producto> actual = productoService.obtenerProductoPorId(productoId);
+            if (actual.isEmpty()) {
+                return;
+            }
+            Producto producto = actual.get();
+            int stock = Math.max(0, stockDe(producto) - cantidad);
+            // Sin stock no hay nada que vender; volver a habilitarlo es parte de reponer
+            Boolean disponible = stock == 0 ? Boolean.FALSE : producto.getDisponible();
+            try {
+                productoService.actualizarProducto(productoId, producto.getVersion(),
+                        copiar(producto, stock, disponible));
+                return;
+            } catch (ConflictoVersionException e) {
+                // Otro escritor cambió el producto: se relee y se reintenta
+            }
+        }
+    }
+
+    // Si el barrido retiró la cubeta mientras se agregaba el id, se reintenta en una nueva
+    private void programarVencimiento(Reserva reserva) {
+        long clave = cubeta(reserva.getExpiraEn());
+        while (true) {
+            Set<Long> ids = vencimientos.computeIfAbsent(clave, k -> ConcurrentHashMap.newKeySet());
+            ids.add(reserva.getId());
+            if (vencimientos.get(clave) == ids) {
+                return;
+            }
+        }
+    }
+
+    private Map.Entry<Long, Set<Long>> primeraHasta(long cubeta) {
+        Map.Entry<Long, Set<Long>> primera = vencimientos.firstEntry();
+        return primera != null && primera.getKey() <= cubeta ? primera : null;
+    }
+
+    // Redondea hacia arriba: toda reserva de la cubeta k venció en k * intervalo
+    private long cubeta(Instant instante) {
+        long intervalo = Math.max(1, barridoMs);
+        return Math.floorDiv(instante.toEpochMilli() + intervalo - 1, intervalo);
+    }
+
+    private static int stockDe(Producto producto) {
+        return producto.getStock() != null ? producto.getStock() : 0;
+    }
+
+    private static Producto copiar(Producto producto, Integer stock, Boolean disponible) {
+        return new Producto.Builder()
+                .id(producto.getId())
+                .nombre(producto.getNombre())
+                .descripcion(producto.getDescripcion())
+                .precio(producto.getPrecio())
+                .categoria(producto.getCategoria())
+                .stock(stock)
+                .disponible(disponible)
+                .fechaCreacion(producto.getFechaCreacion())
+                .fechaActualizacion(LocalDateTime.now(ZoneOffset.UTC))
+                .build();
+    }
+}
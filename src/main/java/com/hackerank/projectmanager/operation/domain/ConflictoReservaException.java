@@ -0,0 +1,8 @@
+package com.hackerank.projectmanager.operation.domain;
+
+// Stock insuficiente o reserva que ya no está pendiente
+public class ConflictoReservaException extends RuntimeException {
+    public ConflictoReservaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,5 @@
+package com.hackerank.projectmanager.operation.domain;
+
+// Foto del stock de un producto: libres = stock - reservado (negativo si se redujo el stock por debajo de lo reservado)
+public record EstadoStock(Long productoId, int stock, int reservado, int libres) {
+}
@@ -0,0 +1,58 @@
+package com.hackerank.projectmanager.operation.domain;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unidades apartadas de un producto hasta que se confirman, se liberan o
+ * vencen. El paso desde PENDIENTE es un CAS, así que confirmar y expirar en
+ * paralelo tiene un único ganador y las unidades se devuelven una sola vez.
+ */
+public class Reserva {
+
+    public enum Estado {
+        PENDIENTE,
+        CONFIRMADA,
+        LIBERADA,
+        EXPIRADA
+    }
+
+    private final Long id;
+    private final Long productoId;
+    private final int cantidad;
+    private final Instant expiraEn;
+    private final AtomicReference<Estado> estado = new AtomicReference<>(Estado.PENDIENTE);
+
+    public Reserva(Long id, Long productoId, int cantidad, Instant expiraEn) {
+        this.id = id;
+        this.productoId = productoId;
+        this.cantidad = cantidad;
+        this.expiraEn = expiraEn;
+    }
+
+    // true solo para el primer llamador que saca a la reserva de PENDIENTE
+    public boolean finalizar(Estado nuevo) {
+        return estado.compareAndSet(Estado.PENDIENTE, nuevo);
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public Instant getExpiraEn() {
+        return expiraEn;
+    }
+
+    public Estado getEstado() {
+        return estado.get();
+    }
+}
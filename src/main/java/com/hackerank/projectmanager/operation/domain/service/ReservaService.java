@@ -0,0 +1,33 @@
+package com.hackerank.projectmanager.operation.domain.service;
+
+import com.hackerank.projectmanager.operation.domain.EstadoStock;
+import com.hackerank.projectmanager.operation.domain.Reserva;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public interface ReservaService {
+
+    /**
+     * Aparta unidades sin tocar el producto; nunca reserva más que el stock.
+     *
+     * @param ttl vigencia de la reserva; null usa la configurada
+     * @return vacío si el producto no existe
+     * @throws com.hackerank.projectmanager.operation.domain.ConflictoReservaException si no hay unidades libres
+     */
+    Optional<Reserva> reservar(Long productoId, int cantidad, Duration ttl);
+
+    // Descuenta las unidades del stock del producto; vacío si la reserva no existe
+    Optional<Reserva> confirmar(Long reservaId);
+
+    // Devuelve las unidades; vacío si la reserva no existe
+    Optional<Reserva> liberar(Long reservaId);
+
+    // Solo reservas pendientes: las finalizadas se descartan
+    Optional<Reserva> obtenerReserva(Long reservaId);
+
+    Optional<EstadoStock> obtenerEstadoStock(Long productoId);
+
+    // Devuelve las unidades de las reservas vencidas; retorna cuántas expiró
+    int expirarVencidas();
+}
@@ -1,4 +1,79 @@
 package com.hackerank.projectmanager.operation.presentation.controller;
 
+import com.hackerank.projectmanager.operation.domain.EstadoStock;
+import com.hackerank.projectmanager.operation.domain.Reserva;
+import com.hackerank.projectmanager.operation.domain.service.ReservaService;
+import com.hackerank.projectmanager.operation.presentation.dto.OperationRequest;
+import com.hackerank.projectmanager.operation.presentation.dto.OperationResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Reservas de stock: reservar aparta unidades por un tiempo, confirmar las
+ * descuenta del producto y liberar (o vencer) las devuelve. Sin unidades
+ * libres responde 409; el producto pasa a no disponible cuando una
+ * confirmación deja su stock en cero.
+ */
+@RestController
+@RequestMapping("/api/v1/projectmanager/operaciones")
+@CrossOrigin(origins = "*")
 public class OperationController {
+
+    private final ReservaService reservaService;
+
+    public OperationController(ReservaService reservaService) {
+        this.reservaService = reservaService;
+    }
+
+    @PostMapping("/reservas")
+    public ResponseEntity<OperationResponse> reservar(@Valid @RequestBody OperationRequest request) {
+        Duration ttl = request.getTtlSegundos() != null ? Duration.ofSeconds(request.getTtlSegundos()) : null;
+        return reservaService.reservar(request.getProductoId(), request.getCantidad(), ttl)
+                .map(reserva -> ResponseEntity
+                        .created(URI.create("/api/v1/projectmanager/operaciones/reservas/" + reserva.getId()))
+                        .body(toResponse(reserva)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/reservas/{id}")
+    public ResponseEntity<OperationResponse> obtenerReserva(@PathVariable Long id) {
+        return reservaService.obtenerReserva(id)
+                .map(reserva -> ResponseEntity.ok(toResponse(reserva)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/reservas/{id}/confirmar")
+    public ResponseEntity<OperationResponse> confirmar(@PathVariable Long id) {
+        return reservaService.confirmar(id)
+                .map(reserva -> ResponseEntity.ok(toResponse(reserva)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/reservas/{id}/liberar")
+    public ResponseEntity<OperationResponse> liberar(@PathVariable Long id) {
+        return reservaService.liberar(id)
+                .map(reserva -> ResponseEntity.ok(toResponse(reserva)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/stock/{productoId}")
+    public ResponseEntity<EstadoStock> obtenerEstadoStock(@PathVariable Long productoId) {
+        return reservaService.obtenerEstadoStock(productoId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static OperationResponse toResponse(Reserva reserva) {
+        return new OperationResponse.Builder()
+                .reservaId(reserva.getId())
+                .productoId(reserva.getProductoId())
+                .cantidad(reserva.getCantidad())
+                .estado(reserva.getEstado().name())
+                .expiraEn(reserva.getExpiraEn())
+                .build();
+    }
 }
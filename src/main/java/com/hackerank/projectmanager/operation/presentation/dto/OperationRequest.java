@@ -1,4 +1,65 @@
 package com.hackerank.projectmanager.operation.presentation.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+// Pedido de reserva; sin ttlSegundos se usa app.reservas.ttl-segundos
+@JsonDeserialize(builder = OperationRequest.Builder.class)
 public class OperationRequest {
+    @NotNull(message = "El producto es requerido")
+    private final Long productoId;
+
+    @NotNull(message = "La cantidad es requerida")
+    @Min(value = 1, message = "La cantidad debe ser mayor a 0")
+    private final Integer cantidad;
+
+    @Min(value = 1, message = "El TTL debe ser de al menos 1 segundo")
+    private final Long ttlSegundos;
+
+    private OperationRequest(Builder builder) {
+        this.productoId = builder.productoId;
+        this.cantidad = builder.cantidad;
+        this.ttlSegundos = builder.ttlSegundos;
+    }
+
+    // Getters
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    public Integer getCantidad() {
+        return cantidad;
+    }
+
+    public Long getTtlSegundos() {
+        return ttlSegundos;
+    }
+
+    @JsonPOJOBuilder(withPrefix = "")
+    public static class Builder {
+        private Long productoId;
+        private Integer cantidad;
+        private Long ttlSegundos;
+
+        public Builder productoId(Long productoId) {
+            this.productoId = productoId;
+            return this;
+        }
+
+        public Builder cantidad(Integer cantidad) {
+            this.cantidad = cantidad;
+            return this;
+        }
+
+        public Builder ttlSegundos(Long ttlSegundos) {
+            this.ttlSegundos = ttlSegundos;
+            return this;
+        }
+
+        public OperationRequest build() {
+            return new OperationRequest(this);
+        }
+    }
 }
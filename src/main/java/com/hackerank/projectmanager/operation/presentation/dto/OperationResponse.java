@@ -1,4 +1,81 @@
 package com.hackerank.projectmanager.operation.presentation.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+// Estado de una reserva
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class OperationResponse {
+    private final Long reservaId;
+    private final Long productoId;
+    private final int cantidad;
+    private final String estado;
+    private final Instant expiraEn;
+
+    private OperationResponse(Builder builder) {
+        this.reservaId = builder.reservaId;
+        this.productoId = builder.productoId;
+        this.cantidad = builder.cantidad;
+        this.estado = builder.estado;
+        this.expiraEn = builder.expiraEn;
+    }
+
+    // Getters
+    public Long getReservaId() {
+        return reservaId;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public Instant getExpiraEn() {
+        return expiraEn;
+    }
+
+    public static class Builder {
+        private Long reservaId;
+        private Long productoId;
+        private int cantidad;
+        private String estado;
+        private Instant expiraEn;
+
+        public Builder reservaId(Long reservaId) {
+            this.reservaId = reservaId;
+            return this;
+        }
+
+        public Builder productoId(Long productoId) {
+            this.productoId = productoId;
+            return this;
+        }
+
+        public Builder cantidad(int cantidad) {
+            this.cantidad = cantidad;
+            return this;
+        }
+
+        public Builder estado(String estado) {
+            this.estado = estado;
+            return this;
+        }
+
+        public Builder expiraEn(Instant expiraEn) {
+            this.expiraEn = expiraEn;
+            return this;
+        }
+
+        public OperationResponse build() {
+            return new OperationResponse(this);
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package com.hackerank.projectmanager.reports.application.service;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.reports.domain.AgregadoInventario;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Totales de una categoría mantenidos por deltas. Las sumas de dinero son
+ * BigDecimal para que restar y sumar millones de veces no acumule error, y
+ * los precios se cuentan en un mapa ordenado para conocer mínimo y máximo
+ * después de una baja.
+ */
+final class AcumuladorCategoria {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TreeMap<Double, Integer> precios = new TreeMap<>();
+    private volatile String nombre;
+    private long productos;
+    private long disponibles;
+    private long stock;
+    private BigDecimal sumaPrecios = BigDecimal.ZERO;
+    private BigDecimal valorInventario = BigDecimal.ZERO;
+
+    AcumuladorCategoria(String nombre) {
+        this.nombre = nombre;
+    }
+
+    // Agregado más la suma exacta de precios, para combinar categorías sin pasar por double
+    record Foto(AgregadoInventario agregado, BigDecimal sumaPrecios) {
+    }
+
+    // signo 1 suma el producto, -1 lo resta
+    void aplicar(Producto producto, int signo) {
+        long unidades = producto.getStock() != null ? producto.getStock() : 0;
+        BigDecimal precio = BigDecimal.valueOf(producto.getPrecio());
+        lock.lock();
+        try {
+            productos += signo;
+            if (Boolean.TRUE.equals(producto.getDisponible())) {
+                disponibles += signo;
+            }
+            stock += signo * unidades;
+            sumaPrecios = signo > 0 ? sumaPrecios.add(precio) : sumaPrecios.subtract(precio);
+            BigDecimal valor = precio.multiply(BigDecimal.valueOf(unidades));
+            valorInventario = signo > 0 ? valorInventario.add(valor) : valorInventario.subtract(valor);
+            precios.merge(producto.getPrecio(), signo, (a, b) -> a + b == 0 ? null : a + b);
+            if (signo > 0) {
+                // La categoría se muestra como la escribió el último producto agregado
+                nombre = producto.getCategoria();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean vacio() {
+        lock.lock();
+        try {
+            return productos == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Foto foto() {
+        lock.lock();
+        try {
+            if (productos == 0) {
+                return new Foto(new AgregadoInventario(nombre, 0, 0, 0, null, null, null, BigDecimal.ZERO),
+                        BigDecimal.ZERO);
+            }
+            double promedio = sumaPrecios.divide(BigDecimal.valueOf(productos), MathContext.DECIMAL64).doubleValue();
+            return new Foto(new AgregadoInventario(nombre, productos, disponibles, stock,
+                    precios.firstKey(), promedio, precios.lastKey(), valorInventario), sumaPrecios);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
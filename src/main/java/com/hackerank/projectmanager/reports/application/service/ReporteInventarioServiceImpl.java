@@ -0,0 +1,165 @@
+package com.hackerank.projectmanager.reports.application.service;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoCambioListener;
+import com.hackerank.projectmanager.dummy.domain.service.ProductoService;
+import com.hackerank.projectmanager.reports.domain.AgregadoInventario;
+import com.hackerank.projectmanager.reports.domain.service.ReporteInventarioService;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reportes de inventario servidos desde acumuladores por categoría que se
+ * actualizan en cada escritura del repositorio: restan el producto anterior y
+ * suman el nuevo. Leer un reporte no recorre el catálogo.
+ *
+ * <p>La carga inicial no supone que no haya tráfico: mientras se recorre el
+ * catálogo, los cambios que llegan solo se anotan como último estado del id, y
+ * por cada id gana el estado más nuevo entre lo recorrido y lo anotado. Recién
+ * con eso sumado se pasa a aplicar deltas, así ninguna escritura se cuenta dos
+ * veces ni se pierde.
+ */
+@Service
+public class ReporteInventarioServiceImpl implements ReporteInventarioService, ProductoCambioListener {
+
+    private final Map<String, AcumuladorCategoria> acumuladores = new ConcurrentHashMap<>();
+    // Solo durante la carga inicial; la protege siembraLock
+    private Map<Long, Estado> siembra = new HashMap<>();
+    private volatile boolean sembrando = true;
+    private final ReentrantLock siembraLock = new ReentrantLock();
+
+    // Último estado conocido de un id; producto null si se eliminó. El orden es 2 * versión,
+    // más 1 en una baja: la baja de la versión v es posterior a haber visto la v
+    private record Estado(long orden, Producto producto) {
+    }
+
+    public ReporteInventarioServiceImpl(ProductoService productoService) {
+        // Suscribirse es una barrera: las escrituras posteriores llegan todas al listener
+        productoService.suscribirCambios(this);
+        for (Producto producto : productoService.obtenerTodosProductos()) {
+            anotar(producto.getId(), new Estado(2 * producto.getVersion(), producto));
+        }
+        siembraLock.lock();
+        try {
+            siembra.values().stream()
+                    .map(Estado::producto)
+                    .filter(Objects::nonNull)
+                    .forEach(producto -> aplicar(producto, 1));
+            siembra = null;
+            sembrando = false;
+        } finally {
+            siembraLock.unlock();
+        }
+    }
+
+    @Override
+    public void productoCambiado(Long id, Producto anterior, Producto nuevo) {
+        if (sembrando && anotarDuranteSiembra(id, anterior, nuevo)) {
+            return;
+        }
+        // Corre dentro del compute del id: dos cambios del mismo producto no se cruzan
+        if (anterior != null) {
+            aplicar(anterior, -1);
+        }
+        if (nuevo != null) {
+            aplicar(nuevo, 1);
+        }
+    }
+
+    @Override
+    public AgregadoInventario obtenerTotalGlobal() {
+        long productos = 0;
+        long disponibles = 0;
+        long stock = 0;
+        Double minimo = null;
+        Double maximo = null;
+        BigDecimal sumaPrecios = BigDecimal.ZERO;
+        BigDecimal valor = BigDecimal.ZERO;
+        for (AcumuladorCategoria acumulador : acumuladores.values()) {
+            AcumuladorCategoria.Foto foto = acumulador.foto();
+            AgregadoInventario categoria = foto.agregado();
+            if (categoria.productos() == 0) {
+                continue;
+            }
+            productos += categoria.productos();
+            disponibles += categoria.disponibles();
+            stock += categoria.stockTotal();
+            minimo = minimo == null ? categoria.precioMinimo() : Math.min(minimo, categoria.precioMinimo());
+            maximo = maximo == null ? categoria.precioMaximo() : Math.max(maximo, categoria.precioMaximo());
+            sumaPrecios = sumaPrecios.add(foto.sumaPrecios());
+            valor = valor.add(categoria.valorInventario());
+        }
+        Double promedio = productos == 0 ? null
+                : sumaPrecios.divide(BigDecimal.valueOf(productos), MathContext.DECIMAL64).doubleValue();
+        return new AgregadoInventario(null, productos, disponibles, stock, minimo, promedio, maximo, valor);
+    }
+
+    @Override
+    public List<AgregadoInventario> obtenerTotalesPorCategoria() {
+        // Una categoría vaciada se descarta; una foto tomada justo antes puede verla en cero
+        return acumuladores.values().stream()
+                .map(acumulador -> acumulador.foto().agregado())
+                .filter(agregado -> agregado.productos() > 0)
+                .sorted(Comparator.comparing(AgregadoInventario::categoria,
+                        Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER)))
+                .toList();
+    }
+
+    @Override
+    public Optional<AgregadoInventario> obtenerTotalCategoria(String categoria) {
+        return Optional.ofNullable(acumuladores.get(clave(categoria)))
+                .map(acumulador -> acumulador.foto().agregado())
+                .filter(agregado -> agregado.productos() > 0);
+    }
+
+    // false si la siembra ya terminó y el cambio debe aplicarse como delta
+    private boolean anotarDuranteSiembra(Long id, Producto anterior, Producto nuevo) {
+        siembraLock.lock();
+        try {
+            if (!sembrando) {
+                return false;
+            }
+            anotar(id, nuevo != null
+                    ? new Estado(2 * nuevo.getVersion(), nuevo)
+                    : new Estado(2 * anterior.getVersion() + 1, null));
+            return true;
+        } finally {
+            siembraLock.unlock();
+        }
+    }
+
+    private void anotar(Long id, Estado estado) {
+        siembraLock.lock();
+        try {
+            siembra.merge(id, estado, (actual, candidato) -> candidato.orden() > actual.orden() ? candidato : actual);
+        } finally {
+            siembraLock.unlock();
+        }
+    }
+
+    // El compute de la clave serializa crear, aplicar y descartar el acumulador
+    private void aplicar(Producto producto, int signo) {
+        acumuladores.compute(clave(producto.getCategoria()), (clave, acumulador) -> {
+            AcumuladorCategoria destino = acumulador != null
+                    ? acumulador
+                    : new AcumuladorCategoria(producto.getCategoria());
+            destino.aplicar(producto, signo);
+            return destino.vacio() ? null : destino;
+        });
+    }
+
+    private static String clave(String categoria) {
+        return categoria != null ? categoria.toLowerCase(Locale.ROOT) : "";
+    }
+}
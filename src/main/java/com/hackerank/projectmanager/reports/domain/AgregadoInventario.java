@@ -0,0 +1,14 @@
+package com.hackerank.projectmanager.reports.domain;
+
+import java.math.BigDecimal;
+
+// Totales de un conjunto de productos; precios null cuando el conjunto está vacío
+public record AgregadoInventario(String categoria,
+                                 long productos,
+                                 long disponibles,
+                                 long stockTotal,
+                                 Double precioMinimo,
+                                 Double precioPromedio,
+                                 Double precioMaximo,
+                                 BigDecimal valorInventario) {
+}
@@ -0,0 +1,18 @@
+package com.hackerank.projectmanager.reports.domain.service;
+
+import com.hackerank.projectmanager.reports.domain.AgregadoInventario;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ReporteInventarioService {
+
+    // Totales de todo el catálogo, combinando las categorías: O(categorías)
+    AgregadoInventario obtenerTotalGlobal();
+
+    // Una entrada por categoría con productos, ordenadas por nombre
+    List<AgregadoInventario> obtenerTotalesPorCategoria();
+
+    // Ignora mayúsculas, igual que la búsqueda por categoría
+    Optional<AgregadoInventario> obtenerTotalCategoria(String categoria);
+}
@@ -1,4 +1,45 @@
 package com.hackerank.projectmanager.reports.presentation.controller;
 
+import com.hackerank.projectmanager.reports.domain.AgregadoInventario;
+import com.hackerank.projectmanager.reports.domain.service.ReporteInventarioService;
+import com.hackerank.projectmanager.reports.presentation.dto.ReportsRequest;
+import com.hackerank.projectmanager.reports.presentation.dto.ReportsResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+// Totales de inventario mantenidos en cada escritura: leerlos no recorre el catálogo
+@RestController
+@RequestMapping("/api/v1/projectmanager/reportes")
+@CrossOrigin(origins = "*")
 public class ReportsController {
+
+    private final ReporteInventarioService reporteService;
+
+    public ReportsController(ReporteInventarioService reporteService) {
+        this.reporteService = reporteService;
+    }
+
+    @GetMapping
+    public ResponseEntity<ReportsResponse> obtenerReporte(ReportsRequest request) {
+        List<AgregadoInventario> categorias = request.getCategorias() == null || request.getCategorias().isEmpty()
+                ? reporteService.obtenerTotalesPorCategoria()
+                : request.getCategorias().stream()
+                        .map(reporteService::obtenerTotalCategoria)
+                        .flatMap(Optional::stream)
+                        .toList();
+        return ResponseEntity.ok(new ReportsResponse.Builder()
+                .global(reporteService.obtenerTotalGlobal())
+                .categorias(categorias)
+                .build());
+    }
+
+    @GetMapping("/categorias/{categoria}")
+    public ResponseEntity<AgregadoInventario> obtenerReporteCategoria(@PathVariable String categoria) {
+        return reporteService.obtenerTotalCategoria(categoria)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
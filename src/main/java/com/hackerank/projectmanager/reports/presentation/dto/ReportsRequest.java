@@ -1,4 +1,17 @@
 package com.hackerank.projectmanager.reports.presentation.dto;
 
+import java.util.List;
+
+// Parámetros de GET /reportes: categorias limita el detalle; el total global siempre es del catálogo
 public class ReportsRequest {
+    private final List<String> categorias;
+
+    public ReportsRequest(List<String> categorias) {
+        this.categorias = categorias;
+    }
+
+    // Getters
+    public List<String> getCategorias() {
+        return categorias;
+    }
 }
@@ -1,4 +1,43 @@
 package com.hackerank.projectmanager.reports.presentation.dto;
 
+import com.hackerank.projectmanager.reports.domain.AgregadoInventario;
+
+import java.util.List;
+
 public class ReportsResponse {
+    private final AgregadoInventario global;
+    private final List<AgregadoInventario> categorias;
+
+    private ReportsResponse(Builder builder) {
+        this.global = builder.global;
+        this.categorias = builder.categorias;
+    }
+
+    // Getters
+    public AgregadoInventario getGlobal() {
+        return global;
+    }
+
+    public List<AgregadoInventario> getCategorias() {
+        return categorias;
+    }
+
+    public static class Builder {
+        private AgregadoInventario global;
+        private List<AgregadoInventario> categorias;
+
+        public Builder global(AgregadoInventario global) {
+            this.global = global;
+            return this;
+        }
+
+        public Builder categorias(List<AgregadoInventario> categorias) {
+            this.categorias = categorias;
+            return this;
+        }
+
+        public ReportsResponse build() {
+            return new ReportsResponse(this);
+        }
+    }
 }
@@ -0,0 +1,82 @@
+package com.hackerank.projectmanager.admin.application.service;
+
+import com.hackerank.projectmanager.dummy.domain.repository.ResultadoRecarga;
+import com.hackerank.projectmanager.dummy.domain.service.ProductoService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogoAdminServiceImplTest {
+
+    @Mock
+    private ProductoService productoService;
+
+    @TempDir
+    Path directorio;
+
+    private final ResultadoRecarga resultado = new ResultadoRecarga("catalogo.json", 3, 1, 5, 0, 10, 12, 2);
+
+    @Test
+    void recargarCatalogo_WithFileInDirectory_ShouldReloadAndRememberResult() throws IOException {
+        // Arrange
+        Path archivo = Files.writeString(directorio.resolve("catalogo.json"), "[]");
+        when(productoService.recargarCatalogo(archivo.toRealPath().toString())).thenReturn(resultado);
+        CatalogoAdminServiceImpl service = new CatalogoAdminServiceImpl(productoService, directorio.toString());
+
+        // Act
+        ResultadoRecarga recarga = service.recargarCatalogo("catalogo.json");
+
+        // Assert
+        assertSame(resultado, recarga);
+        assertSame(resultado, service.obtenerUltimaRecarga().orElseThrow());
+    }
+
+    @Test
+    void recargarCatalogo_WhenPathEscapesDirectory_ShouldThrowIllegalArgumentException() {
+        // Arrange
+        CatalogoAdminServiceImpl service = new CatalogoAdminServiceImpl(productoService, directorio.toString());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.recargarCatalogo("../../etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> service.recargarCatalogo("no-existe.json"));
+        verifyNoInteractions(productoService);
+    }
+
+    @Test
+    void recargarCatalogo_WhenSymlinkPointsOutsideDirectory_ShouldThrowIllegalArgumentException(
+            @TempDir Path afuera) throws IOException {
+        // Arrange: el enlace está en el directorio pero apunta a otro
+        Path externo = Files.writeString(afuera.resolve("externo.json"), "[]");
+        Path catalogos = Files.createDirectory(directorio.resolve("catalogos"));
+        Files.createSymbolicLink(catalogos.resolve("enlace.json"), externo);
+        CatalogoAdminServiceImpl service = new CatalogoAdminServiceImpl(productoService, catalogos.toString());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.recargarCatalogo("enlace.json"));
+        verifyNoInteractions(productoService);
+    }
+
+    @Test
+    void recargarCatalogo_WhenFileUnreadable_ShouldThrowIllegalArgumentExceptionAndKeepLastResult() {
+        // Arrange
+        when(productoService.recargarCatalogo(any()))
+                .thenThrow(new UncheckedIOException(new IOException("JSON inválido")));
+        CatalogoAdminServiceImpl service = new CatalogoAdminServiceImpl(productoService, directorio.toString());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.recargarCatalogo(null));
+        assertTrue(service.obtenerUltimaRecarga().isEmpty());
+    }
+}
@@ -0,0 +1,196 @@
+package com.hackerank.projectmanager.domain;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.ProductoJsonRepository;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductoCompactoTest {
+
+    private static final int CANTIDAD = 10_000;
+    private static final String[] CATEGORIAS = {"Tecnologia", "Hogar", "Deportes", "Juguetes", "Libros"};
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 10, 30, 15, 123_456_789);
+
+    // Misma forma que Producto antes de compactarlo: opcionales en caja, fechas como objetos
+    // y una categoría nueva por producto, como la deja Jackson al leer el JSON
+    @SuppressWarnings("unused")
+    private static final class ProductoEnCajas {
+        private final Long id;
+        private final LocalDateTime fechaCreacion;
+        private final LocalDateTime fechaActualizacion;
+        private final long version;
+        private final String nombre;
+        private final String descripcion;
+        private final Double precio;
+        private final String categoria;
+        private final Integer stock;
+        private final Boolean disponible;
+
+        private ProductoEnCajas(long id) {
+            this.id = id;
+            this.fechaCreacion = BASE.plusSeconds(id);
+            this.fechaActualizacion = BASE.plusSeconds(id * 2);
+            this.version = id;
+            this.nombre = "Producto " + id;
+            this.descripcion = null;
+            this.precio = 10.0 + id;
+            this.categoria = new String(CATEGORIAS[(int) (id % CATEGORIAS.length)]);
+            this.stock = (int) (id % 500);
+            this.disponible = id % 3 != 0;
+        }
+    }
+
+    private static Producto compacto(long id) {
+        return new Producto.Builder()
+                .id(id)
+                .nombre("Producto " + id)
+                .precio(10.0 + id)
+                .categoria(new String(CATEGORIAS[(int) (id % CATEGORIAS.length)]))
+                .stock((int) (id % 500))
+                .disponible(id % 3 != 0)
+                .fechaCreacion(BASE.plusSeconds(id))
+                .fechaActualizacion(BASE.plusSeconds(id * 2))
+                .version(id)
+                .build();
+    }
+
+    @Test
+    void getters_ShouldReturnSameValuesAsBuilt() {
+        // Arrange
+        LocalDateTime creacion = LocalDateTime.of(1999, 12, 31, 23, 59, 59, 999_999_999);
+
+        // Act
+        Producto producto = new Producto.Builder()
+                .id(7L)
+                .nombre("Laptop")
+                .precio(0.0)
+                .categoria("Tecnologia")
+                .stock(0)
+                .disponible(false)
+                .fechaCreacion(creacion)
+                .build();
+
+        // Assert
+        assertEquals(0.0, producto.getPrecio());
+        assertEquals(0, producto.getStock());
+        assertEquals(Boolean.FALSE, producto.getDisponible());
+        assertEquals(creacion, producto.getFechaCreacion());
+        assertNull(producto.getFechaActualizacion());
+        assertEquals("Tecnologia", producto.getCategoria());
+        assertFalse(producto.tieneStock());
+    }
+
+    @Test
+    void getters_WhenOptionalFieldsMissing_ShouldReturnNull() {
+        // Act
+        Producto producto = new Producto.Builder().nombre("Laptop").precio(5.0).build();
+
+        // Assert
+        assertNull(producto.getStock());
+        assertNull(producto.getDisponible());
+        assertNull(producto.getCategoria());
+        assertNull(producto.getFechaCreacion());
+        assertFalse(producto.tieneStock());
+    }
+
+    @Test
+    void save_ShouldShareOneCategoryInstanceAndFreeItWithLastProduct() {
+        // Arrange
+        ProductoJsonRepository repository = new ProductoJsonRepository();
+
+        // Act
+        Producto primero = repository.save(compacto(1L));
+        Producto segundo = repository.save(compacto(1L + CATEGORIAS.length));
+
+        // Assert
+        assertSame(primero.getCategoria(), segundo.getCategoria());
+        assertTrue(segundo.esDeCategoria(primero.getCategoria().toUpperCase()));
+        assertEquals(1, repository.tamanoIndice("categorias"));
+        repository.deleteById(1L);
+        repository.deleteById(1L + CATEGORIAS.length);
+        assertEquals(0, repository.tamanoIndice("categorias"));
+    }
+
+    @Test
+    void save_WithManyDistinctCategories_ShouldNotExhaustDictionary() {
+        // Arrange: más categorías distintas de las que entran en 16 bits, una viva a la vez
+        ProductoJsonRepository repository = new ProductoJsonRepository();
+
+        // Act
+        for (int i = 0; i < 70_000; i++) {
+            repository.save(new Producto.Builder().id(1L).nombre("Producto").precio(1.0)
+                    .categoria("Categoria " + i).build());
+        }
+
+        // Assert
+        assertEquals(1, repository.tamanoIndice("categorias"));
+        assertEquals("Categoria 69999", repository.findById(1L).orElseThrow().getCategoria());
+    }
+
+    @Test
+    void builder_FromExistingProduct_ShouldCopyWithoutChangingIt() {
+        // Arrange
+        Producto original = compacto(1L);
+        String categoria = original.getCategoria();
+
+        // Act
+        Producto copia = new Producto.Builder(original).categoria(new String(categoria)).build();
+
+        // Assert
+        assertNotSame(original, copia);
+        assertTrue(copia.mismoContenido(original));
+        assertEquals(original.getVersion(), copia.getVersion());
+        assertSame(categoria, original.getCategoria());
+    }
+
+    @Test
+    void save_WhenCategoryIsNotShared_ShouldPublishCopyAndKeepArgument() {
+        // Arrange
+        ProductoJsonRepository repository = new ProductoJsonRepository();
+        Producto primero = repository.save(compacto(1L));
+        Producto argumento = compacto(1L + CATEGORIAS.length);
+        String categoria = argumento.getCategoria();
+
+        // Act
+        Producto guardado = repository.save(argumento);
+
+        // Assert
+        assertSame(categoria, argumento.getCategoria());
+        assertSame(primero.getCategoria(), guardado.getCategoria());
+        assertSame(guardado, repository.findById(guardado.getId()).orElseThrow());
+    }
+
+    @Test
+    void builder_WhenDateOutOfRange_ShouldThrowIllegalArgumentException() {
+        // Arrange
+        Producto.Builder builder = new Producto.Builder().nombre("Laptop").precio(5.0)
+                .fechaCreacion(LocalDateTime.of(3000, 1, 1, 0, 0));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void footprint_ShouldUseFewerBytesPerProductThanBoxedLayout() {
+        // Arrange
+        ProductoJsonRepository repository = new ProductoJsonRepository();
+        ProductoEnCajas[] anteriores = new ProductoEnCajas[CANTIDAD];
+        Producto[] compactos = new Producto[CANTIDAD];
+        for (int i = 0; i < CANTIDAD; i++) {
+            anteriores[i] = new ProductoEnCajas(1000 + i);
+            // Guardado: el repositorio le pone la categoría compartida
+            compactos[i] = repository.save(compacto(1000 + i));
+        }
+
+        // Act: incluye el nombre de cada producto; cada categoría compartida cuenta una vez
+        long bytesAntes = GraphLayout.parseInstance((Object) anteriores).totalSize() / CANTIDAD;
+        long bytesDespues = GraphLayout.parseInstance((Object) compactos).totalSize() / CANTIDAD;
+
+        // Assert
+        assertTrue(bytesDespues < bytesAntes * 2 / 3, "antes=" + bytesAntes + ", despues=" + bytesDespues);
+    }
+}
@@ -0,0 +1,738 @@
+package com.hackerank.projectmanager.infrastructure.persistence;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.ConflictoVersionException;
+import com.hackerank.projectmanager.dummy.domain.repository.OperacionLote;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoQuery;
+import com.hackerank.projectmanager.dummy.domain.repository.ResultadoRecarga;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.ProductoJsonRepository;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.descripciones.AlmacenDescripciones;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductoJsonRepositoryTest {
+
+    private static final String[] CATEGORIAS = {"Tecnologia", "Audio", "Hogar", "Deportes"};
+
+    private ProductoJsonRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProductoJsonRepository();
+    }
+
+    private Producto producto(Long id, String nombre, String categoria) {
+        return new Producto.Builder()
+                .id(id)
+                .nombre(nombre)
+                .categoria(categoria)
+                .precio(100.0)
+                .stock(5)
+                .disponible(true)
+                .build();
+    }
+
+    private Set<Long> ids(List<Producto> productos) {
+        return productos.stream().map(Producto::getId).collect(Collectors.toSet());
+    }
+
+    @Test
+    void findByCategoria_ShouldIgnoreCase() {
+        // Arrange
+        repository.save(producto(1L, "Laptop", "Tecnologia"));
+        repository.save(producto(2L, "Parlante", "Audio"));
+
+        // Act
+        List<Producto> resultado = repository.findByCategoria("TECNOLOGIA");
+
+        // Assert
+        assertEquals(Set.of(1L), ids(resultado));
+    }
+
+    @Test
+    void findByCategoria_WhenProductChangesCategory_ShouldMoveBetweenCategories() {
+        // Arrange
+        repository.save(producto(1L, "Laptop", "Tecnologia"));
+
+        // Act
+        repository.save(producto(1L, "Laptop", "Audio"));
+
+        // Assert
+        assertTrue(repository.findByCategoria("Tecnologia").isEmpty());
+        assertEquals(Set.of(1L), ids(repository.findByCategoria("audio")));
+    }
+
+    @Test
+    void findByCategoria_WhenProductDeleted_ShouldNotReturnIt() {
+        // Arrange
+        repository.save(producto(1L, "Laptop", "Tecnologia"));
+
+        // Act
+        repository.deleteById(1L);
+
+        // Assert
+        assertTrue(repository.findByCategoria("Tecnologia").isEmpty());
+    }
+
+    @Test
+    void findByCategoria_AfterConcurrentMutations_ShouldMatchFullScan() throws InterruptedException {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 5_000; i++) {
+                    long id = random.nextLong(1, 200);
+                    if (random.nextInt(4) == 0) {
+                        repository.deleteById(id);
+                    } else {
+                        String categoria = CATEGORIAS[random.nextInt(CATEGORIAS.length)];
+                        repository.save(producto(id, "Producto " + id, categoria));
+                    }
+                }
+            });
+        }
+
+        // Act
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Assert
+        for (String categoria : CATEGORIAS) {
+            Set<Long> escaneo = repository.findAll().stream()
+                    .filter(p -> p.getCategoria().equalsIgnoreCase(categoria))
+                    .map(Producto::getId)
+                    .collect(Collectors.toSet());
+            assertEquals(escaneo, ids(repository.findByCategoria(categoria)), categoria);
+        }
+    }
+
+    @Test
+    void findByNombreContaining_ShouldMatchSubstringIgnoringCase() {
+        // Arrange
+        repository.save(producto(1L, "Laptop Gaming", "Tecnologia"));
+        repository.save(producto(2L, "Mouse Gamer", "Tecnologia"));
+        repository.save(producto(3L, "Parlante", "Audio"));
+
+        // Act & Assert
+        assertEquals(Set.of(1L, 2L), ids(repository.findByNombreContaining("GAM")));
+        assertEquals(Set.of(1L), ids(repository.findByNombreContaining("top ga")));
+        assertEquals(Set.of(2L, 3L), ids(repository.findByNombreContaining("e")));
+        assertTrue(repository.findByNombreContaining("xyz").isEmpty());
+    }
+
+    @Test
+    void findByNombreContaining_WhenProductRenamed_ShouldUseNewName() {
+        // Arrange
+        repository.save(producto(1L, "Laptop Gaming", "Tecnologia"));
+
+        // Act
+        repository.save(producto(1L, "Monitor Curvo", "Tecnologia"));
+
+        // Assert
+        assertTrue(repository.findByNombreContaining("laptop").isEmpty());
+        assertEquals(Set.of(1L), ids(repository.findByNombreContaining("curvo")));
+    }
+
+    @Test
+    void findByNombreContaining_ShouldMatchLinearScan() {
+        // Arrange
+        String[] palabras = {"Laptop", "Gaming", "Mouse", "Teclado", "Monitor", "Silla", "Audio"};
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (long id = 1; id <= 500; id++) {
+            String nombre = palabras[random.nextInt(palabras.length)] + " " + palabras[random.nextInt(palabras.length)];
+            repository.save(producto(id, nombre, "Tecnologia"));
+        }
+        for (long id = 1; id <= 500; id += 7) {
+            repository.deleteById(id);
+        }
+
+        // Act & Assert
+        for (String consulta : List.of("lap", "MING", "o M", "silla audio", "te", "x", "")) {
+            Set<Long> escaneo = repository.findAll().stream()
+                    .filter(p -> p.getNombre().toLowerCase().contains(consulta.toLowerCase()))
+                    .map(Producto::getId)
+                    .collect(Collectors.toSet());
+            assertEquals(escaneo, ids(repository.findByNombreContaining(consulta)), consulta);
+        }
+    }
+
+    @Test
+    void findAllPageable_ShouldReturnIdOrderedWindowAndTotal() {
+        // Arrange
+        for (long id = 10; id >= 1; id--) {
+            repository.save(producto(id, "Producto " + id, "Tecnologia"));
+        }
+        repository.deleteById(4L);
+
+        // Act
+        Page<Producto> primera = repository.findAll(PageRequest.of(0, 3));
+        Page<Producto> segunda = repository.findAll(PageRequest.of(1, 3));
+        Page<Producto> ultima = repository.findAll(PageRequest.of(3, 3));
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), primera.map(Producto::getId).getContent());
+        assertEquals(List.of(5L, 6L, 7L), segunda.map(Producto::getId).getContent());
+        assertEquals(List.of(), ultima.getContent());
+        assertEquals(9, primera.getTotalElements());
+        assertEquals(3, primera.getTotalPages());
+    }
+
+    @Test
+    void findAllAfter_ShouldWalkWholeCatalogWithoutRepeats() {
+        // Arrange
+        for (long id = 1; id <= 25; id++) {
+            repository.save(producto(id, "Producto " + id, "Tecnologia"));
+        }
+
+        // Act
+        List<Long> recorridos = new ArrayList<>();
+        Long cursor = null;
+        List<Producto> pagina;
+        do {
+            pagina = repository.findAllAfter(cursor, 10);
+            pagina.forEach(p -> recorridos.add(p.getId()));
+            if (!pagina.isEmpty()) {
+                cursor = pagina.get(pagina.size() - 1).getId();
+            }
+            // Escrituras concurrentes detrás del cursor no alteran lo que queda por recorrer
+            repository.deleteById(1L);
+        } while (!pagina.isEmpty());
+
+        // Assert
+        assertEquals(25, recorridos.size());
+        assertEquals(recorridos.stream().sorted().toList(), recorridos);
+    }
+
+    @Test
+    void init_ShouldStreamCatalogFromClasspath() {
+        // Arrange
+        ReflectionTestUtils.setField(repository, "jsonFilePath", "classpath:data/productos.json");
+
+        // Act
+        repository.init();
+
+        // Assert
+        assertEquals(3, repository.count());
+        assertEquals(Set.of(1L, 2L), ids(repository.findByCategoria("tecnologia")));
+    }
+
+    @Test
+    void init_ShouldStreamCatalogFromFileSystem(@TempDir Path dir) throws IOException {
+        // Arrange
+        Path archivo = dir.resolve("catalogo.json");
+        Files.writeString(archivo, """
+                {"version": 2, "meta": {"origen": "erp"}, "productos": [
+                  {"id": 7, "nombre": "Silla", "precio": 50.0, "categoria": "Hogar", "stock": 2, "disponible": true},
+                  {"id": 2000, "nombre": "Mesa", "precio": 80.0, "categoria": "Hogar", "stock": 1, "disponible": true}
+                ]}
+                """);
+        ReflectionTestUtils.setField(repository, "jsonFilePath", archivo.toString());
+
+        // Act
+        repository.init();
+        Producto nuevo = repository.save(new Producto.Builder().nombre("Lampara").precio(10.0).categoria("Hogar").build());
+
+        // Assert
+        assertEquals(3, repository.count());
+        assertEquals(2001L, nuevo.getId());
+    }
+
+    @Test
+    void columnarScans_AfterConcurrentMutations_ShouldMatchFullScan() throws InterruptedException {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 5_000; i++) {
+                    long id = random.nextLong(1, 3_000);
+                    if (random.nextInt(5) == 0) {
+                        repository.deleteById(id);
+                    } else {
+                        repository.save(new Producto.Builder()
+                                .id(id)
+                                .nombre("Producto " + id)
+                                .categoria("Hogar")
+                                .precio((double) random.nextInt(1, 1000))
+                                .stock(random.nextInt(3) == 0 ? null : random.nextInt(100))
+                                .disponible(random.nextBoolean())
+                                .build());
+                    }
+                }
+            });
+        }
+
+        // Act
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Assert
+        List<Producto> todos = repository.findAll();
+        for (boolean valor : new boolean[]{true, false}) {
+            Set<Long> escaneo = todos.stream()
+                    .filter(p -> p.getDisponible().equals(valor))
+                    .map(Producto::getId)
+                    .collect(Collectors.toSet());
+            assertEquals(escaneo, ids(repository.findByDisponible(valor)));
+            assertEquals(escaneo.size(), repository.countByDisponible(valor));
+        }
+        Set<Long> conStock = todos.stream()
+                .filter(Producto::tieneStock)
+                .map(Producto::getId)
+                .collect(Collectors.toSet());
+        assertEquals(conStock, ids(repository.findConStock()));
+        assertEquals(conStock.size(), repository.countConStock());
+        long stock = todos.stream().mapToLong(p -> p.getStock() != null ? p.getStock() : 0).sum();
+        double valor = todos.stream().mapToDouble(p -> p.getPrecio() * (p.getStock() != null ? p.getStock() : 0)).sum();
+        assertEquals(stock, repository.sumStock());
+        assertEquals(valor, repository.sumValorInventario(), 1e-6);
+    }
+
+    @Test
+    void streamByDisponible_WhenProductsDeletedWhileStreaming_ShouldSkipThem() {
+        // Arrange: varios bloques de ids
+        for (long id = 1; id <= 1_000; id++) {
+            repository.save(producto(id, "Producto " + id, "Hogar"));
+        }
+        List<Long> vistos = new ArrayList<>();
+
+        // Act: los ids se leen a medida que se consume el stream
+        try (Stream<Producto> stream = repository.streamByDisponible(true)) {
+            stream.forEach(p -> {
+                vistos.add(p.getId());
+                if (vistos.size() == 10) {
+                    for (long id = 500; id <= 1_000; id++) {
+                        repository.deleteById(id);
+                    }
+                }
+            });
+        }
+
+        // Assert
+        assertEquals(499, vistos.size());
+        assertEquals(499, Set.copyOf(vistos).size());
+        assertTrue(vistos.stream().allMatch(id -> id < 500));
+    }
+
+    @Test
+    void rangeQueries_AfterUpdatesAndDeletes_ShouldMatchFullScan() {
+        // Arrange
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 3_000; i++) {
+            long id = random.nextLong(1, 500);
+            if (random.nextInt(6) == 0) {
+                repository.deleteById(id);
+            } else {
+                repository.save(new Producto.Builder()
+                        .id(id)
+                        .nombre("Producto " + id)
+                        .categoria("Hogar")
+                        .precio(random.nextInt(100, 100_000) / 100.0)
+                        .stock(random.nextInt(4) == 0 ? null : random.nextInt(20))
+                        .disponible(true)
+                        .build());
+            }
+        }
+        List<Producto> todos = repository.findAll();
+
+        // Act
+        List<Producto> bajoQuinientos = repository.findByPrecioBetween(null, 500.0);
+        List<Producto> banda = repository.findByPrecioBetween(100.0, 250.5);
+        List<Producto> stockBajo = repository.findByStockLessThan(5);
+
+        // Assert
+        assertEquals(todos.stream().filter(p -> p.getPrecio() <= 500.0).map(Producto::getId).collect(Collectors.toSet()),
+                ids(bajoQuinientos));
+        assertEquals(todos.stream().filter(p -> p.getPrecio() >= 100.0 && p.getPrecio() <= 250.5)
+                .map(Producto::getId).collect(Collectors.toSet()), ids(banda));
+        assertEquals(todos.stream().filter(p -> p.getStock() != null && p.getStock() < 5)
+                .map(Producto::getId).collect(Collectors.toSet()), ids(stockBajo));
+        // Los resultados salen ordenados por el atributo
+        List<Double> precios = banda.stream().map(Producto::getPrecio).toList();
+        assertEquals(precios.stream().sorted().toList(), precios);
+    }
+
+    @Test
+    void findByQuery_WithCombinedCriteria_ShouldMatchFullScan() {
+        // Arrange
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 4_000; i++) {
+            long id = random.nextLong(1, 1_500);
+            if (random.nextInt(6) == 0) {
+                repository.deleteById(id);
+            } else {
+                repository.save(new Producto.Builder()
+                        .id(id)
+                        .nombre((random.nextBoolean() ? "Laptop " : "Mouse ") + id)
+                        .categoria(CATEGORIAS[random.nextInt(CATEGORIAS.length)])
+                        .precio(random.nextInt(100, 100_000) / 100.0)
+                        .stock(random.nextInt(4) == 0 ? null : random.nextInt(20))
+                        .disponible(random.nextInt(5) == 0 ? null : random.nextBoolean())
+                        .build());
+            }
+        }
+        List<Producto> todos = repository.findAll();
+        List<ProductoQuery> consultas = List.of(
+                new ProductoQuery.Builder().categoria("audio").disponible(true).build(),
+                new ProductoQuery.Builder().categoria("Hogar").precioMin(50.0).precioMax(300.0).build(),
+                new ProductoQuery.Builder().disponible(false).stockMenorA(3).nombre("lap").build(),
+                new ProductoQuery.Builder().categoria("Deportes").disponible(true)
+                        .precioMax(900.0).stockMenorA(10).nombre("mouse 1").build(),
+                new ProductoQuery.Builder().nombre("la").disponible(true).build(),
+                new ProductoQuery.Builder().categoria("Inexistente").build(),
+                new ProductoQuery.Builder().build());
+
+        for (ProductoQuery consulta : consultas) {
+            // Act
+            List<Producto> resultado = repository.findByQuery(consulta);
+
+            // Assert
+            List<Long> esperado = todos.stream()
+                    .filter(consulta::coincide)
+                    .map(Producto::getId)
+                    .sorted()
+                    .toList();
+            assertEquals(esperado, resultado.stream().map(Producto::getId).toList());
+        }
+    }
+
+    @Test
+    void productoQuery_WhenMinGreaterThanMax_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new ProductoQuery.Builder().precioMin(10.0).precioMax(5.0).build());
+    }
+
+    @Test
+    void productoQuery_coincide_ShouldMatchNameLikeNombreIndex() {
+        // Arrange
+        repository.save(producto(1L, "CAFÉ Molido", "Hogar"));
+        repository.save(producto(2L, "Té verde", "Hogar"));
+
+        // Act & Assert: con o sin índice de nombre el resultado es el mismo
+        for (String nombre : List.of("café", "Té", "molido", "x")) {
+            ProductoQuery query = new ProductoQuery.Builder().nombre(nombre).build();
+            Set<Long> esperados = ids(repository.findByNombreContaining(nombre));
+            Set<Long> porFiltro = repository.findAll().stream()
+                    .filter(query::coincide)
+                    .map(Producto::getId)
+                    .collect(Collectors.toSet());
+            assertEquals(esperados, porFiltro, nombre);
+            assertEquals(esperados, ids(repository.findByQuery(query)), nombre);
+        }
+    }
+
+    @Test
+    void findConStock_WhenStockOrAvailabilityChanges_ShouldFollowLatestState() {
+        // Arrange
+        repository.save(producto(1L, "Laptop", "Tecnologia"));
+        repository.save(producto(2L, "Mouse", "Tecnologia"));
+
+        // Act
+        repository.save(new Producto.Builder()
+                .id(1L).nombre("Laptop").categoria("Tecnologia").precio(100.0).stock(0).disponible(true).build());
+        repository.save(new Producto.Builder()
+                .id(2L).nombre("Mouse").categoria("Tecnologia").precio(100.0).stock(5).disponible(false).build());
+        repository.save(producto(3L, "Teclado", "Tecnologia"));
+
+        // Assert
+        assertEquals(Set.of(3L), ids(repository.findConStock()));
+        assertEquals(1, repository.countConStock());
+        assertEquals(Set.of(1L, 3L), ids(repository.findByDisponible(true)));
+        assertEquals(1, repository.countByDisponible(false));
+    }
+
+    @Test
+    void save_AndDelete_ShouldAdvanceVersions() {
+        // Arrange
+        long inicial = repository.version().version();
+
+        // Act
+        Producto creado = repository.save(producto(1L, "Laptop", "Tecnologia"));
+        long trasAlta = repository.version().version();
+        Producto modificado = repository.save(producto(1L, "Laptop Pro", "Tecnologia"));
+        repository.deleteById(1L);
+        long trasBaja = repository.version().version();
+        repository.deleteById(99L);
+
+        // Assert
+        assertTrue(creado.getVersion() > inicial);
+        assertTrue(trasAlta >= creado.getVersion());
+        assertTrue(modificado.getVersion() > creado.getVersion());
+        assertTrue(trasBaja > modificado.getVersion());
+        // Borrar un id inexistente no cambia el catálogo
+        assertEquals(trasBaja, repository.version().version());
+    }
+
+    @Test
+    void aplicarLote_ShouldApplyAllOperationsWithIncreasingVersions() {
+        // Arrange
+        repository.save(producto(1L, "Laptop", "Tecnologia"));
+        repository.save(producto(2L, "Parlante", "Audio"));
+        long antes = repository.version().version();
+
+        // Act
+        List<Producto> resultados = repository.aplicarLote(List.of(
+                OperacionLote.crear(producto(null, "Mouse", "Tecnologia")),
+                OperacionLote.actualizar(1L, producto(null, "Laptop Pro", "Tecnologia")),
+                OperacionLote.eliminar(2L)));
+
+        // Assert
+        assertEquals(3, resultados.size());
+        Producto creado = resultados.get(0);
+        assertNotNull(creado.getId());
+        assertEquals("Laptop Pro", repository.findById(1L).orElseThrow().getNombre());
+        assertFalse(repository.existsById(2L));
+        assertEquals(Set.of(1L, creado.getId()), ids(repository.findByCategoria("tecnologia")));
+        long versionActualizado = repository.findById(1L).orElseThrow().getVersion();
+        assertTrue(creado.getVersion() > antes);
+        assertTrue(versionActualizado > creado.getVersion());
+        assertTrue(repository.version().version() >= versionActualizado);
+    }
+
+    @Test
+    void aplicarLote_WhenSameIdWrittenTwice_ShouldGiveEachStateItsOwnVersion() {
+        // Arrange
+        repository.save(producto(1L, "Laptop", "Tecnologia"));
+
+        // Act
+        List<Producto> resultados = repository.aplicarLote(List.of(
+                OperacionLote.actualizar(1L, producto(null, "Laptop Pro", "Tecnologia")),
+                OperacionLote.actualizar(1L, producto(null, "Laptop Max", "Tecnologia"))));
+
+        // Assert
+        assertTrue(resultados.get(1).getVersion() > resultados.get(0).getVersion());
+        assertEquals("Laptop Max", repository.findById(1L).orElseThrow().getNombre());
+    }
+
+    @Test
+    void aplicarLote_WhenIdMissing_ShouldReturnNullWithoutCreating() {
+        // Arrange
+        repository.save(producto(1L, "Laptop", "Tecnologia"));
+
+        // Act
+        List<Producto> resultados = repository.aplicarLote(List.of(
+                OperacionLote.actualizar(99L, producto(null, "Fantasma", "Tecnologia")),
+                OperacionLote.eliminar(98L),
+                OperacionLote.eliminar(1L)));
+
+        // Assert
+        assertNull(resultados.get(0));
+        assertNull(resultados.get(1));
+        assertEquals(1L, resultados.get(2).getId());
+        assertEquals(0, repository.count());
+        assertTrue(repository.findByNombreContaining("fantasma").isEmpty());
+    }
+
+    @Test
+    void actualizar_WhenVersionIsStale_ShouldThrowAndKeepProduct() {
+        // Arrange
+        Producto original = repository.save(producto(1L, "Laptop", "Tecnologia"));
+        long versionLeida = original.getVersion();
+        repository.save(producto(1L, "Laptop Pro", "Tecnologia"));
+
+        // Act & Assert
+        assertThrows(ConflictoVersionException.class,
+                () -> repository.actualizar(1L, versionLeida, producto(null, "Laptop Vieja", "Audio")));
+        assertEquals("Laptop Pro", repository.findById(1L).orElseThrow().getNombre());
+        assertTrue(repository.findByCategoria("Audio").isEmpty());
+    }
+
+    @Test
+    void actualizar_AndEliminar_WhenIdMissing_ShouldNotCreate() {
+        // Act
+        boolean eliminado = repository.eliminar(7L, null);
+
+        // Assert
+        assertTrue(repository.actualizar(7L, null, producto(null, "Fantasma", "Tecnologia")).isEmpty());
+        assertFalse(eliminado);
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void actualizar_WithConcurrentCompareAndSet_ShouldNotLoseUpdates() throws InterruptedException {
+        // Arrange: cada tarea suma 1 al stock releyendo y reintentando ante conflicto
+        repository.save(new Producto.Builder().id(1L).nombre("Laptop").categoria("Tecnologia")
+                .precio(100.0).stock(0).disponible(true).build());
+        int tareas = 16;
+        int incrementosPorTarea = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(tareas);
+
+        // Act
+        for (int t = 0; t < tareas; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < incrementosPorTarea; i++) {
+                    while (true) {
+                        Producto leido = repository.findById(1L).orElseThrow();
+                        Producto nuevo = new Producto.Builder().nombre(leido.getNombre())
+                                .categoria(leido.getCategoria()).precio(leido.getPrecio())
+                                .stock(leido.getStock() + 1).disponible(true).build();
+                        try {
+                            repository.actualizar(1L, leido.getVersion(), nuevo);
+                            break;
+                        } catch (ConflictoVersionException e) {
+                            // Otro escritor ganó: se relee
+                        }
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        // Assert
+        Producto finalizado = repository.findById(1L).orElseThrow();
+        assertEquals(tareas * incrementosPorTarea, finalizado.getStock());
+        assertEquals(Set.of(1L), ids(repository.findByStockLessThan(tareas * incrementosPorTarea + 1)));
+    }
+
+    private static void escribirCatalogo(Path archivo, int productos, String categoria) throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int id = 1; id <= productos; id++) {
+            json.append(id > 1 ? "," : "").append("{\"id\":").append(id)
+                    .append(",\"nombre\":\"Producto ").append(id)
+                    .append("\",\"precio\":10.0,\"categoria\":\"").append(categoria)
+                    .append("\",\"stock\":1,\"disponible\":true}");
+        }
+        Files.writeString(archivo, json.append("]").toString());
+    }
+
+    @Test
+    void recargar_ShouldSwapCatalogAndNotifyOnlyDifferences(@TempDir Path dir) throws IOException {
+        // Arrange
+        Path archivo = dir.resolve("catalogo.json");
+        Files.writeString(archivo, """
+                [{"id": 1, "nombre": "Silla", "precio": 50.0, "categoria": "Hogar", "stock": 2, "disponible": true},
+                 {"id": 2, "nombre": "Mesa", "precio": 80.0, "categoria": "Hogar", "stock": 1, "disponible": true},
+                 {"id": 3, "nombre": "Lampara", "precio": 20.0, "categoria": "Hogar", "stock": 4, "disponible": true}]
+                """);
+        ReflectionTestUtils.setField(repository, "jsonFilePath", archivo.toString());
+        repository.init();
+        Producto silla = repository.findById(1L).orElseThrow();
+        List<String> cambios = new ArrayList<>();
+        repository.suscribir((id, anterior, nuevo) ->
+                cambios.add(id + ":" + (anterior == null ? "alta" : nuevo == null ? "baja" : "modificacion")));
+        long versionCatalogo = repository.version().version();
+
+        // Act: la silla no cambia, la mesa pasa a Oficina, la lámpara se va y llega una alfombra
+        Files.writeString(archivo, """
+                [{"id": 1, "nombre": "Silla", "precio": 50.0, "categoria": "Hogar", "stock": 2, "disponible": true},
+                 {"id": 2, "nombre": "Mesa", "precio": 80.0, "categoria": "Oficina", "stock": 1, "disponible": true},
+                 {"id": 9, "nombre": "Alfombra", "precio": 30.0, "categoria": "Hogar", "stock": 1, "disponible": true}]
+                """);
+        ResultadoRecarga resultado = repository.recargar(null);
+
+        // Assert
+        assertEquals(3, resultado.productos());
+        assertEquals(3, resultado.cambios());
+        assertEquals(Set.of("2:modificacion", "3:baja", "9:alta"), Set.copyOf(cambios));
+        assertSame(silla, repository.findById(1L).orElseThrow());
+        assertEquals(Set.of(1L, 9L), ids(repository.findByCategoria("hogar")));
+        assertEquals(Set.of(2L), ids(repository.findByCategoria("Oficina")));
+        assertTrue(repository.findById(3L).isEmpty());
+        assertTrue(repository.version().version() > versionCatalogo);
+        assertTrue(repository.save(producto(null, "Nuevo", "Hogar")).getId() > 9L);
+    }
+
+    @Test
+    void recargar_WithConcurrentReaders_ShouldNeverExposePartialCatalog(@TempDir Path dir) throws Exception {
+        // Arrange
+        Path hogar = dir.resolve("hogar.json");
+        Path audio = dir.resolve("audio.json");
+        escribirCatalogo(hogar, 2_000, "Hogar");
+        escribirCatalogo(audio, 3_000, "Audio");
+        repository.recargar(hogar.toString());
+        ExecutorService lectores = Executors.newFixedThreadPool(4);
+        AtomicBoolean seguir = new AtomicBoolean(true);
+        List<Future<Integer>> lecturas = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            lecturas.add(lectores.submit(() -> {
+                int leidas = 0;
+                while (seguir.get()) {
+                    int todos = repository.findAll().size();
+                    int deAudio = repository.findByCategoria("Audio").size();
+                    assertTrue(todos == 2_000 || todos == 3_000, "catálogo parcial: " + todos);
+                    assertTrue(deAudio == 0 || deAudio == 3_000, "índice parcial: " + deAudio);
+                    leidas++;
+                }
+                return leidas;
+            }));
+        }
+
+        // Act
+        for (int i = 0; i < 6; i++) {
+            repository.recargar((i % 2 == 0 ? audio : hogar).toString());
+        }
+        seguir.set(false);
+
+        // Assert
+        for (Future<Integer> lectura : lecturas) {
+            assertTrue(lectura.get(30, TimeUnit.SECONDS) > 0);
+        }
+        lectores.shutdown();
+        assertEquals(2_000, repository.count());
+        assertEquals(2_000, repository.countByDisponible(true));
+    }
+
+    @Test
+    void recargar_WhenFileInvalid_ShouldKeepPreviousCatalog(@TempDir Path dir) throws IOException {
+        // Arrange
+        repository.save(producto(1L, "Laptop", "Tecnologia"));
+        Path archivo = dir.resolve("roto.json");
+        Files.writeString(archivo, "[{\"id\": 5, \"nombre\": \"Mesa\", \"precio\": -1.0}]");
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> repository.recargar(archivo.toString()));
+        assertEquals(1, repository.count());
+        assertEquals(Set.of(1L), ids(repository.findByCategoria("Tecnologia")));
+    }
+
+    @Test
+    void save_WithDescriptionStore_ShouldKeepTextOnDiskAndReuseUnchangedDescription(@TempDir Path dir)
+            throws IOException {
+        // Arrange
+        try (AlmacenDescripciones almacen = new AlmacenDescripciones(dir, 1 << 16)) {
+            ProductoJsonRepository conAlmacen = new ProductoJsonRepository(null, null, almacen);
+            String descripcion = "Laptop de 14 pulgadas con 16 GB de memoria y disco de 512 GB";
+            Producto original = new Producto.Builder().id(1L).nombre("Laptop").categoria("Tecnologia")
+                    .precio(100.0).stock(5).descripcion(descripcion).build();
+
+            // Act
+            Producto alta = conAlmacen.save(original);
+            long bytesTrasAlta = almacen.getBytes();
+            Producto soloStock = conAlmacen.save(new Producto.Builder().id(1L).nombre("Laptop")
+                    .categoria("Tecnologia").precio(100.0).stock(4).descripcion(descripcion).build());
+
+            // Assert: se publica una copia con la referencia; el producto recibido no cambia
+            assertFalse(alta.descripcionAlmacenada() instanceof String);
+            assertSame(descripcion, original.descripcionAlmacenada());
+            assertEquals(descripcion, conAlmacen.findById(1L).orElseThrow().getDescripcion());
+            assertSame(alta.descripcionAlmacenada(), soloStock.descripcionAlmacenada());
+            assertEquals(bytesTrasAlta, almacen.getBytes());
+            assertTrue(soloStock.mismoContenido(new Producto.Builder().id(1L).nombre("Laptop")
+                    .categoria("Tecnologia").precio(100.0).stock(4).descripcion(descripcion).build()));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.hackerank.projectmanager.infrastructure.persistence.cdc;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.CambioProducto;
+import com.hackerank.projectmanager.dummy.domain.repository.OperacionLote;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.ProductoJsonRepository;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.cdc.RegistroCambios;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistroCambiosTest {
+
+    private ProductoJsonRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProductoJsonRepository();
+    }
+
+    private RegistroCambios registro(int capacidad) {
+        RegistroCambios registro = new RegistroCambios(capacidad);
+        repository.suscribir(registro);
+        return registro;
+    }
+
+    private Producto producto(long id, double precio) {
+        return new Producto.Builder().id(id).nombre("Producto " + id).categoria("Tecnologia").precio(precio).build();
+    }
+
+    @Test
+    void leer_ShouldReturnMutationsInOrderWithTypes() {
+        // Arrange
+        RegistroCambios registro = registro(16);
+        repository.save(producto(1L, 10.0));
+        repository.save(producto(1L, 20.0));
+        repository.deleteById(1L);
+        repository.deleteById(99L);
+
+        // Act
+        List<CambioProducto> cambios = new ArrayList<>();
+        long siguiente = registro.leer(0, 10, cambios);
+
+        // Assert
+        assertEquals(3, siguiente);
+        assertEquals(List.of(OperacionLote.Tipo.CREAR, OperacionLote.Tipo.ACTUALIZAR, OperacionLote.Tipo.ELIMINAR),
+                cambios.stream().map(CambioProducto::tipo).toList());
+        assertEquals(20.0, cambios.get(1).producto().getPrecio());
+        assertNull(cambios.get(2).producto());
+        assertEquals(2, cambios.get(2).secuencia());
+    }
+
+    @Test
+    void leer_WhenOverwritten_ShouldReturnMinusOne() {
+        // Arrange
+        RegistroCambios registro = registro(4);
+        for (long id = 1; id <= 10; id++) {
+            repository.save(producto(id, 1.0));
+        }
+
+        // Act
+        List<CambioProducto> cambios = new ArrayList<>();
+        long perdida = registro.leer(2, 10, cambios);
+        long vigente = registro.leer(registro.primeraSecuencia(), 10, cambios);
+
+        // Assert
+        assertEquals(-1, perdida);
+        assertEquals(6, registro.primeraSecuencia());
+        assertEquals(10, vigente);
+        assertEquals(4, cambios.size());
+    }
+
+    @Test
+    void esperar_ShouldWakeUpWhenChangeIsPublished() throws Exception {
+        // Arrange
+        RegistroCambios registro = registro(16);
+        CompletableFuture<Boolean> espera = CompletableFuture.supplyAsync(
+                () -> registro.esperar(0, TimeUnit.SECONDS.toNanos(10)));
+
+        // Act
+        Thread.sleep(50);
+        repository.save(producto(1L, 10.0));
+
+        // Assert
+        assertTrue(espera.get(5, TimeUnit.SECONDS));
+        assertFalse(registro.esperar(1, TimeUnit.MILLISECONDS.toNanos(20)));
+    }
+
+    @Test
+    void leer_WithConcurrentWriters_ShouldHaveNoGapsAndKeepPerIdOrder() throws InterruptedException {
+        // Arrange
+        RegistroCambios registro = registro(1 << 16);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act: cada hilo sube el precio de ids compartidos
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    long id = 1 + i % 50;
+                    repository.save(producto(id, i));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        // Assert
+        List<CambioProducto> cambios = new ArrayList<>();
+        assertEquals(16_000, registro.leer(0, Integer.MAX_VALUE, cambios));
+        Map<Long, Long> ultimaVersion = new HashMap<>();
+        for (int i = 0; i < cambios.size(); i++) {
+            CambioProducto cambio = cambios.get(i);
+            assertEquals(i, cambio.secuencia());
+            Long anterior = ultimaVersion.put(cambio.id(), cambio.producto().getVersion());
+            assertTrue(anterior == null || anterior < cambio.producto().getVersion());
+        }
+        // El último cambio de cada id es el estado actual
+        ultimaVersion.forEach((id, version) ->
+                assertEquals(version, repository.findById(id).orElseThrow().getVersion()));
+    }
+
+    @Test
+    void constructor_WhenCapacityNotPowerOfTwo_ShouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new RegistroCambios(1000));
+    }
+}
@@ -0,0 +1,93 @@
+package com.hackerank.projectmanager.infrastructure.persistence.descripciones;
+
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.descripciones.AlmacenDescripciones;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlmacenDescripcionesTest {
+
+    private static final int TAMANO_SEGMENTO = 64;
+
+    @TempDir
+    Path directorio;
+
+    private AlmacenDescripciones almacen;
+
+    @BeforeEach
+    void setUp() {
+        almacen = new AlmacenDescripciones(directorio, TAMANO_SEGMENTO);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        almacen.close();
+    }
+
+    @Test
+    void agregar_ShouldReadBackTextAcrossSegments() {
+        // Arrange: registros de 4 + 26 bytes (ó y ú ocupan dos), dos por segmento
+        List<CharSequence> referencias = new ArrayList<>();
+        int registro = 4 + "Descripción número 00000".getBytes(StandardCharsets.UTF_8).length;
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            referencias.add(almacen.agregar(String.format("Descripción número %05d", i)));
+        }
+
+        // Assert
+        for (int i = 0; i < 10; i++) {
+            assertEquals(String.format("Descripción número %05d", i), referencias.get(i).toString());
+        }
+        assertEquals(4 * TAMANO_SEGMENTO + 2 * registro, almacen.getBytes());
+    }
+
+    @Test
+    void descripcion_ShouldBehaveLikeTheOriginalCharSequence() {
+        // Arrange: ASCII se lee por byte, con acentos se decodifica
+        for (String texto : List.of("Laptop gamer 15 pulgadas", "Cámara réflex año 2025")) {
+
+            // Act
+            CharSequence referencia = almacen.agregar(texto);
+
+            // Assert
+            assertEquals(texto.length(), referencia.length());
+            for (int i = 0; i < texto.length(); i++) {
+                assertEquals(texto.charAt(i), referencia.charAt(i));
+            }
+            assertEquals(texto.substring(2, 9), referencia.subSequence(2, 9).toString());
+            assertThrows(IndexOutOfBoundsException.class, () -> referencia.charAt(texto.length()));
+        }
+    }
+
+    @Test
+    void agregar_WhenLargerThanSegment_ShouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> almacen.agregar("x".repeat(TAMANO_SEGMENTO)));
+        assertEquals(0, almacen.getBytes());
+    }
+
+    @Test
+    void close_ShouldDeleteFile() throws IOException {
+        // Arrange
+        almacen.agregar("Descripción temporal");
+
+        // Act
+        almacen.close();
+
+        // Assert
+        try (var archivos = Files.list(directorio)) {
+            assertEquals(0, archivos.count());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.hackerank.projectmanager.infrastructure.persistence.metricas;
+
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.ConflictoVersionException;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.ProductoJsonRepository;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.metricas.ProductoRepositoryMedido;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductoRepositoryMedidoTest {
+
+    private SimpleMeterRegistry registry;
+    private ProductoRepositoryMedido repository;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repository = new ProductoRepositoryMedido(new ProductoJsonRepository(), registry);
+    }
+
+    private Producto producto(long id, String categoria) {
+        return new Producto.Builder().id(id).nombre("Producto " + id).categoria(categoria).precio(10.0).build();
+    }
+
+    @Test
+    void findByCategoria_ShouldRecordTimeAndResultSize() {
+        // Arrange
+        repository.save(producto(1L, "Audio"));
+        repository.save(producto(2L, "Audio"));
+        repository.save(producto(3L, "Hogar"));
+
+        // Act
+        repository.findByCategoria("audio");
+        repository.findByCategoria("juguetes");
+
+        // Assert
+        Timer timer = registry.get("productos.repositorio").tag("metodo", "findByCategoria").timer();
+        assertEquals(2, timer.count());
+        DistributionSummary resultados = registry.get("productos.repositorio.resultados")
+                .tag("metodo", "findByCategoria").summary();
+        assertEquals(2, resultados.count());
+        assertEquals(2.0, resultados.totalAmount());
+        assertEquals(3, registry.get("productos.repositorio").tag("metodo", "save").timer().count());
+    }
+
+    @Test
+    void actualizar_WhenVersionConflict_ShouldCountErrorAndRethrow() {
+        // Arrange
+        Producto guardado = repository.save(producto(1L, "Audio"));
+
+        // Act & Assert
+        assertThrows(ConflictoVersionException.class,
+                () -> repository.actualizar(1L, guardado.getVersion() + 1, producto(1L, "Hogar")));
+        assertEquals(1.0, registry.get("productos.repositorio.errores")
+                .tag("metodo", "actualizar").tag("exception", "ConflictoVersionException").counter().count());
+        assertEquals(1, registry.get("productos.repositorio").tag("metodo", "actualizar").timer().count());
+    }
+
+    @Test
+    void gauges_ShouldReadCurrentCatalog() {
+        // Arrange
+        repository.save(producto(1L, "Audio"));
+        repository.save(producto(2L, "Hogar"));
+
+        // Act & Assert
+        assertEquals(2.0, registry.get("productos.catalogo.tamano").gauge().value());
+        assertEquals(2.0, registry.get("productos.indice.entradas").tag("indice", "categoria").gauge().value());
+        assertEquals(2.0, registry.get("productos.indice.entradas").tag("indice", "precio").gauge().value());
+    }
+}
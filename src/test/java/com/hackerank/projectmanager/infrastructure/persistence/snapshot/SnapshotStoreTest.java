@@ -0,0 +1,196 @@
+package com.hackerank.projectmanager.infrastructure.persistence.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.ProductoJsonRepository;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.snapshot.SnapshotStore;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.wal.FsyncPolicy;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.wal.WriteAheadLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private Producto producto(long id, String nombre) {
+        return new Producto.Builder()
+                .id(id)
+                .nombre(nombre)
+                .descripcion("Descripción de " + nombre)
+                .categoria("Tecnologia")
+                .precio(99.9)
+                .stock(7)
+                .disponible(true)
+                .fechaCreacion(LocalDateTime.of(2025, 3, 1, 8, 30, 15, 123_000_000))
+                .version(id * 10)
+                .build();
+    }
+
+    private ProductoJsonRepository abrirRepositorio(WriteAheadLog wal) {
+        ProductoJsonRepository repository = new ProductoJsonRepository(wal, new SnapshotStore(dir.resolve("snapshot")));
+        ReflectionTestUtils.setField(repository, "jsonFilePath", "classpath:data/productos.json");
+        ReflectionTestUtils.setField(repository, "snapshotIntervaloSegundos", 0L);
+        repository.init();
+        return repository;
+    }
+
+    private WriteAheadLog abrirWal() {
+        return new WriteAheadLog(dir.resolve("wal"), FsyncPolicy.BATCHED, 10, new ObjectMapper().findAndRegisterModules());
+    }
+
+    private long contar(Path directorio, String sufijo) throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos.filter(p -> p.toString().endsWith(sufijo)).count();
+        }
+    }
+
+    @Test
+    void cargar_ShouldRestoreAllFields() {
+        // Arrange
+        SnapshotStore store = new SnapshotStore(dir);
+        Producto sinOpcionales = new Producto.Builder().id(2L).nombre("Mínimo").precio(1.0).build();
+        store.escribir(List.of(producto(1L, "Laptop"), sinOpcionales), 4, 1500);
+
+        // Act
+        List<Producto> cargados = new ArrayList<>();
+        Optional<SnapshotStore.Cabecera> cabecera = store.cargar(cargados::add);
+
+        // Assert
+        assertTrue(cabecera.isPresent());
+        assertEquals(4, cabecera.get().segmentoWal());
+        assertEquals(1500, cabecera.get().sequence());
+        assertEquals(2, cabecera.get().productos());
+        Producto laptop = cargados.get(0);
+        assertEquals("Laptop", laptop.getNombre());
+        assertEquals("Descripción de Laptop", laptop.getDescripcion());
+        assertEquals(99.9, laptop.getPrecio());
+        assertEquals(7, laptop.getStock());
+        assertTrue(laptop.getDisponible());
+        assertEquals(LocalDateTime.of(2025, 3, 1, 8, 30, 15, 123_000_000), laptop.getFechaCreacion());
+        assertEquals(10, laptop.getVersion());
+        assertNull(cargados.get(1).getStock());
+        assertNull(cargados.get(1).getDisponible());
+        assertNull(cargados.get(1).getCategoria());
+    }
+
+    @Test
+    void cargar_WhenLatestSnapshotIsCorrupted_ShouldIgnoreIt() throws IOException {
+        // Arrange
+        SnapshotStore store = new SnapshotStore(dir);
+        store.escribir(List.of(producto(1L, "Laptop")), 1, 1000);
+        Path snapshot;
+        try (Stream<Path> archivos = Files.list(dir)) {
+            snapshot = archivos.findFirst().orElseThrow();
+        }
+        byte[] contenido = Files.readAllBytes(snapshot);
+        contenido[30] ^= 0x55;
+        Files.write(snapshot, contenido);
+
+        // Act
+        Optional<SnapshotStore.Cabecera> cabecera = store.cargar(p -> fail("No debe entregar productos"));
+
+        // Assert
+        assertTrue(cabecera.isEmpty());
+    }
+
+    @Test
+    void cargar_WhenFormatIsNotCurrent_ShouldIgnoreSnapshot() throws IOException {
+        // Arrange: formato 1 con un CRC que coincide, para que solo falle la versión
+        SnapshotStore store = new SnapshotStore(dir);
+        store.escribir(List.of(producto(1L, "Laptop")), 1, 1000);
+        Path snapshot;
+        try (Stream<Path> archivos = Files.list(dir)) {
+            snapshot = archivos.findFirst().orElseThrow();
+        }
+        ByteBuffer contenido = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+        contenido.putInt(Integer.BYTES, 1);
+        CRC32 crc = new CRC32();
+        crc.update(contenido.array(), 0, contenido.capacity() - Integer.BYTES);
+        contenido.putInt(contenido.capacity() - Integer.BYTES, (int) crc.getValue());
+        Files.write(snapshot, contenido.array());
+
+        // Act
+        Optional<SnapshotStore.Cabecera> cabecera = store.cargar(p -> fail("No debe entregar productos"));
+
+        // Assert
+        assertTrue(cabecera.isEmpty());
+    }
+
+    @Test
+    void cargar_WhenSnapshotSpansSeveralBlocks_ShouldValidateWholeFile() throws IOException {
+        // Arrange: varios bloques de 64 KB para el CRC y un byte dañado en el último
+        SnapshotStore store = new SnapshotStore(dir);
+        List<Producto> productos = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            productos.add(producto(id, "Producto " + id));
+        }
+        store.escribir(productos, 1, 5_000);
+        Path snapshot;
+        try (Stream<Path> archivos = Files.list(dir)) {
+            snapshot = archivos.findFirst().orElseThrow();
+        }
+        List<Producto> cargados = new ArrayList<>();
+        assertEquals(5_000, store.cargar(cargados::add).orElseThrow().productos());
+        assertEquals("Producto 5000", cargados.get(4_999).getNombre());
+        byte[] contenido = Files.readAllBytes(snapshot);
+        assertTrue(contenido.length > 3 * (1 << 16));
+        contenido[contenido.length - 100] ^= 0x55;
+        Files.write(snapshot, contenido);
+
+        // Act
+        Optional<SnapshotStore.Cabecera> cabecera = store.cargar(p -> fail("No debe entregar productos"));
+
+        // Assert
+        assertTrue(cabecera.isEmpty());
+    }
+
+    @Test
+    void repository_AfterSnapshot_ShouldRestartFromSnapshotPlusLogTail() throws IOException {
+        // Arrange
+        WriteAheadLog walInicial = abrirWal();
+        ProductoJsonRepository antes = abrirRepositorio(walInicial);
+        for (long id = 10; id < 60; id++) {
+            antes.save(producto(id, "Producto " + id));
+        }
+        antes.tomarSnapshot();
+        // Cola del log posterior al snapshot
+        antes.save(producto(10L, "Producto renombrado"));
+        antes.deleteById(11L);
+        Producto nuevo = antes.save(new Producto.Builder().nombre("Nuevo").precio(5.0).categoria("Hogar").build());
+        antes.tomarSnapshot();
+        antes.save(producto(12L, "Después del segundo snapshot"));
+        walInicial.close();
+
+        // Act
+        try (WriteAheadLog wal = abrirWal()) {
+            ProductoJsonRepository despues = abrirRepositorio(wal);
+
+            // Assert
+            assertEquals(antes.count(), despues.count());
+            assertEquals("Producto renombrado", despues.findById(10L).orElseThrow().getNombre());
+            assertFalse(despues.existsById(11L));
+            assertEquals("Después del segundo snapshot", despues.findById(12L).orElseThrow().getNombre());
+            assertEquals("Nuevo", despues.findById(nuevo.getId()).orElseThrow().getNombre());
+            assertEquals(1, despues.findByNombreContaining("renombrado").size());
+            assertEquals(1, contar(dir.resolve("snapshot"), ".bin"));
+            // Solo quedan el segmento anterior a la última rotación y el actual
+            assertTrue(contar(dir.resolve("wal"), ".log") <= 2);
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.hackerank.projectmanager.infrastructure.persistence.wal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.OperacionLote;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.ProductoJsonRepository;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.wal.FsyncPolicy;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.wal.WalEntrada;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.wal.WriteAheadLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path dir;
+
+    private WriteAheadLog abrir(FsyncPolicy politica) {
+        return new WriteAheadLog(dir, politica, 10, new ObjectMapper().findAndRegisterModules());
+    }
+
+    private Producto producto(long id, String nombre) {
+        return new Producto.Builder()
+                .id(id)
+                .nombre(nombre)
+                .categoria("Tecnologia")
+                .precio(10.5)
+                .stock(3)
+                .disponible(true)
+                .fechaActualizacion(LocalDateTime.of(2025, 1, 1, 10, 0))
+                .build();
+    }
+
+    private List<WalEntrada> reproducir() throws IOException {
+        List<WalEntrada> entradas = new ArrayList<>();
+        try (WriteAheadLog wal = abrir(FsyncPolicy.ALWAYS)) {
+            wal.reproducir(entradas::add);
+        }
+        return entradas;
+    }
+
+    private Path segmento() throws IOException {
+        try (Stream<Path> archivos = Files.list(dir)) {
+            return archivos.filter(p -> p.toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(FsyncPolicy.class)
+    void reproducir_ShouldReturnEntriesInOrder(FsyncPolicy politica) throws IOException {
+        // Arrange
+        try (WriteAheadLog wal = abrir(politica)) {
+            wal.reproducir(e -> { });
+            wal.esperarDurable(wal.registrar(WalEntrada.put(producto(1, "Laptop"))));
+            wal.esperarDurable(wal.registrar(WalEntrada.put(producto(2, "Mouse"))));
+            wal.esperarDurable(wal.registrar(WalEntrada.delete(1)));
+        }
+
+        // Act
+        List<WalEntrada> entradas = reproducir();
+
+        // Assert
+        assertEquals(3, entradas.size());
+        assertEquals(WalEntrada.Tipo.PUT, entradas.get(0).tipo());
+        assertEquals("Laptop", entradas.get(0).producto().getNombre());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 10, 0), entradas.get(0).producto().getFechaActualizacion());
+        assertEquals(2L, entradas.get(1).id());
+        assertEquals(WalEntrada.Tipo.DELETE, entradas.get(2).tipo());
+        assertEquals(1L, entradas.get(2).id());
+    }
+
+    @Test
+    void reproducir_WhenTailIsTorn_ShouldKeepValidPrefixAndTruncate() throws IOException {
+        // Arrange: simula una caída a mitad de un registro
+        try (WriteAheadLog wal = abrir(FsyncPolicy.ALWAYS)) {
+            wal.reproducir(e -> { });
+            wal.registrar(WalEntrada.put(producto(1, "Laptop")));
+            wal.registrar(WalEntrada.put(producto(2, "Mouse")));
+        }
+        Path archivo = segmento();
+        long tamanoValido = Files.size(archivo);
+        Files.write(archivo, new byte[]{0, 0, 0, 90, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // Act
+        List<WalEntrada> entradas = reproducir();
+
+        // Assert
+        assertEquals(2, entradas.size());
+        assertEquals(tamanoValido, Files.size(archivo));
+    }
+
+    @Test
+    void reproducir_WhenLastRecordIsCorrupted_ShouldDiscardIt() throws IOException {
+        // Arrange
+        try (WriteAheadLog wal = abrir(FsyncPolicy.ALWAYS)) {
+            wal.reproducir(e -> { });
+            wal.registrar(WalEntrada.put(producto(1, "Laptop")));
+            wal.registrar(WalEntrada.put(producto(2, "Mouse")));
+        }
+        Path archivo = segmento();
+        byte[] contenido = Files.readAllBytes(archivo);
+        contenido[contenido.length - 2] ^= 0x7F;
+        Files.write(archivo, contenido);
+
+        // Act
+        List<WalEntrada> entradas = reproducir();
+
+        // Assert
+        assertEquals(1, entradas.size());
+        assertEquals(1L, entradas.get(0).id());
+    }
+
+    @Test
+    void reproducir_WhenEarlierSegmentIsTorn_ShouldFailWithoutDeletingLaterSegments() throws IOException {
+        // Arrange: el primer segmento se daña después de rotar
+        Path primero;
+        try (WriteAheadLog wal = abrir(FsyncPolicy.ALWAYS)) {
+            wal.reproducir(e -> { });
+            wal.registrar(WalEntrada.put(producto(1, "Laptop")));
+            primero = segmento();
+            wal.rotar();
+            wal.registrar(WalEntrada.put(producto(2, "Mouse")));
+        }
+        long tamano = Files.size(primero);
+        Files.write(primero, new byte[]{0, 0, 0, 90, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // Act & Assert
+        try (WriteAheadLog wal = abrir(FsyncPolicy.ALWAYS)) {
+            IllegalStateException error = assertThrows(IllegalStateException.class, () -> wal.reproducir(e -> { }));
+            assertTrue(error.getMessage().contains(primero.toString()));
+        }
+        try (Stream<Path> archivos = Files.list(dir)) {
+            assertEquals(2, archivos.filter(p -> p.toString().endsWith(".log")).count());
+        }
+        assertEquals(tamano + 7, Files.size(primero));
+    }
+
+    @Test
+    void registrar_AfterRecoveringTornTail_ShouldAppendAfterValidPrefix() throws IOException {
+        // Arrange
+        try (WriteAheadLog wal = abrir(FsyncPolicy.ALWAYS)) {
+            wal.reproducir(e -> { });
+            wal.registrar(WalEntrada.put(producto(1, "Laptop")));
+        }
+        Files.write(segmento(), new byte[]{0, 0, 1}, StandardOpenOption.APPEND);
+
+        // Act
+        try (WriteAheadLog wal = abrir(FsyncPolicy.ALWAYS)) {
+            wal.reproducir(e -> { });
+            wal.registrar(WalEntrada.put(producto(2, "Mouse")));
+        }
+
+        // Assert
+        assertEquals(List.of(1L, 2L), reproducir().stream().map(WalEntrada::id).toList());
+    }
+
+    @Test
+    void esperarDurable_WithBatchedPolicy_ShouldGroupConcurrentWritersIntoFewerFsyncs() throws Exception {
+        // Arrange
+        int escritores = 16;
+        int porEscritor = 200;
+        try (WriteAheadLog wal = abrir(FsyncPolicy.BATCHED)) {
+            wal.reproducir(e -> { });
+            ExecutorService executor = Executors.newFixedThreadPool(escritores);
+
+            // Act
+            for (int t = 0; t < escritores; t++) {
+                int base = t * porEscritor;
+                executor.submit(() -> {
+                    for (int i = 0; i < porEscritor; i++) {
+                        wal.esperarDurable(wal.registrar(WalEntrada.put(producto(base + i, "P" + i))));
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+            // Assert
+            assertTrue(wal.getFsyncs() < escritores * porEscritor,
+                    "fsyncs=" + wal.getFsyncs());
+        }
+        assertEquals(escritores * porEscritor, reproducir().size());
+    }
+
+    @Test
+    void registrar_WithAlwaysPolicy_ShouldDeferFsyncToEsperarDurable() throws IOException {
+        // Arrange
+        try (WriteAheadLog wal = abrir(FsyncPolicy.ALWAYS)) {
+            wal.reproducir(e -> { });
+            long fsyncsAntes = wal.getFsyncs();
+
+            // Act
+            long posicion = wal.registrar(WalEntrada.put(producto(1, "Laptop")));
+            long trasRegistrar = wal.getFsyncs();
+            wal.esperarDurable(posicion);
+
+            // Assert: el append no sincroniza dentro del lock del id
+            assertEquals(fsyncsAntes, trasRegistrar);
+            assertEquals(fsyncsAntes + 1, wal.getFsyncs());
+        }
+    }
+
+    @Test
+    void repository_WithVirtualThreadWriters_ShouldPersistEveryWrite() throws Exception {
+        // Arrange: muchos más escritores que núcleos, cada uno espera su fsync
+        int escritores = 1_000;
+        try (WriteAheadLog wal = abrir(FsyncPolicy.BATCHED)) {
+            wal.reproducir(e -> { });
+            ProductoJsonRepository repository = new ProductoJsonRepository(wal, null);
+
+            // Act
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int t = 0; t < escritores; t++) {
+                    long id = t + 1;
+                    executor.submit(() -> repository.save(producto(id, "P" + id)));
+                }
+            }
+
+            // Assert
+            assertEquals(escritores, repository.count());
+            assertTrue(wal.getFsyncs() < escritores, "fsyncs=" + wal.getFsyncs());
+        }
+        assertEquals(escritores, reproducir().size());
+    }
+
+    @Test
+    void repository_WithConcurrentWritersOnSameIds_ShouldLogEachIdInMapOrder() throws Exception {
+        // Arrange: el append ocurre fuera del compute y aun así debe seguir el orden del mapa
+        ProductoJsonRepository repository;
+        try (WriteAheadLog wal = abrir(FsyncPolicy.BATCHED)) {
+            wal.reproducir(e -> { });
+            repository = new ProductoJsonRepository(wal, null);
+
+            // Act
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int t = 0; t < 2_000; t++) {
+                    long id = t % 4 + 1;
+                    int n = t;
+                    executor.submit(() -> repository.save(producto(id, "P" + n)));
+                }
+            }
+        }
+
+        // Assert: lo último registrado de cada id es lo que quedó en el mapa
+        List<WalEntrada> entradas = reproducir();
+        for (long id = 1; id <= 4; id++) {
+            long buscado = id;
+            WalEntrada ultima = entradas.stream().filter(e -> e.id() == buscado).reduce((x, y) -> y).orElseThrow();
+            Producto enMemoria = repository.findById(id).orElseThrow();
+            assertEquals(enMemoria.getVersion(), ultima.producto().getVersion());
+            assertEquals(enMemoria.getNombre(), ultima.producto().getNombre());
+        }
+    }
+
+    @Test
+    void repository_WhenListenerFails_ShouldKeepWriteInMapIndexesAndLog() throws IOException {
+        // Arrange
+        try (WriteAheadLog wal = abrir(FsyncPolicy.ALWAYS)) {
+            wal.reproducir(e -> { });
+            ProductoJsonRepository repository = new ProductoJsonRepository(wal, null);
+            repository.suscribir((id, anterior, nuevo) -> {
+                throw new IllegalStateException("listener roto");
+            });
+
+            // Act
+            repository.save(producto(1L, "Laptop"));
+
+            // Assert
+            assertTrue(repository.existsById(1L));
+            assertEquals(1, repository.findByNombreContaining("laptop").size());
+        }
+        assertEquals(1, reproducir().size());
+    }
+
+    @Test
+    void repository_WhenAppendFails_ShouldNotApplyOrNotifyWrite() throws IOException {
+        // Arrange: con el canal cerrado el append falla
+        WriteAheadLog wal = abrir(FsyncPolicy.ALWAYS);
+        wal.reproducir(e -> { });
+        ProductoJsonRepository repository = new ProductoJsonRepository(wal, null);
+        repository.save(producto(1L, "Laptop"));
+        long version = repository.findById(1L).orElseThrow().getVersion();
+        List<Long> notificados = new ArrayList<>();
+        repository.suscribir((id, anterior, nuevo) -> notificados.add(id));
+        wal.close();
+
+        // Act & Assert
+        assertThrows(UncheckedIOException.class, () -> repository.save(producto(1L, "Laptop renombrada")));
+        assertThrows(UncheckedIOException.class, () -> repository.save(producto(2L, "Mouse")));
+        assertThrows(UncheckedIOException.class, () -> repository.deleteById(1L));
+        assertEquals("Laptop", repository.findById(1L).orElseThrow().getNombre());
+        assertEquals(version, repository.findById(1L).orElseThrow().getVersion());
+        assertFalse(repository.existsById(2L));
+        assertTrue(repository.findByNombreContaining("renombrada").isEmpty());
+        assertTrue(notificados.isEmpty());
+    }
+
+    @Test
+    void repository_AfterCrash_ShouldRecoverWritesOnTopOfSeed() throws IOException {
+        // Arrange: primer proceso, sin cierre ordenado del WAL
+        WriteAheadLog walCaido = abrir(FsyncPolicy.BATCHED);
+        ProductoJsonRepository antes = new ProductoJsonRepository(walCaido, null);
+        ReflectionTestUtils.setField(antes, "jsonFilePath", "classpath:data/productos.json");
+        antes.init();
+        Producto creado = antes.save(new Producto.Builder()
+                .nombre("Teclado").precio(30.0).categoria("Tecnologia").stock(4).disponible(true).build());
+        antes.save(producto(2L, "Smartphone Renovado"));
+        antes.deleteById(3L);
+
+        // Act: segundo proceso sobre el mismo directorio
+        try (WriteAheadLog wal = abrir(FsyncPolicy.BATCHED)) {
+            ProductoJsonRepository despues = new ProductoJsonRepository(wal, null);
+            ReflectionTestUtils.setField(despues, "jsonFilePath", "classpath:data/productos.json");
+            despues.init();
+
+            // Assert
+            assertEquals(3, despues.count());
+            assertEquals("Teclado", despues.findById(creado.getId()).orElseThrow().getNombre());
+            assertEquals("Smartphone Renovado", despues.findById(2L).orElseThrow().getNombre());
+            assertFalse(despues.existsById(3L));
+            assertEquals(1, despues.findByNombreContaining("renovado").size());
+            // Las versiones continúan donde quedaron, sin reutilizar valores ya publicados
+            assertTrue(despues.version().version() >= antes.findById(2L).orElseThrow().getVersion());
+            assertEquals(antes.findById(2L).orElseThrow().getVersion(), despues.findById(2L).orElseThrow().getVersion());
+
+            // La secuencia continúa después de los ids recuperados
+            Producto otro = despues.save(new Producto.Builder().nombre("Otro").precio(1.0).categoria("X").build());
+            assertEquals(creado.getId() + 1, otro.getId());
+        }
+        walCaido.close();
+    }
+
+    @Test
+    void aplicarLote_WithAlwaysPolicy_ShouldShareOneFsync() throws IOException {
+        // Arrange
+        List<OperacionLote> operaciones = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            operaciones.add(OperacionLote.crear(producto(0, "Producto " + i)));
+        }
+
+        try (WriteAheadLog wal = abrir(FsyncPolicy.ALWAYS)) {
+            ProductoJsonRepository repository = new ProductoJsonRepository(wal, null);
+            wal.reproducir(e -> { });
+            long fsyncsAntes = wal.getFsyncs();
+
+            // Act
+            repository.aplicarLote(operaciones);
+
+            // Assert
+            assertTrue(wal.getFsyncs() - fsyncsAntes <= 2, "fsyncs=" + (wal.getFsyncs() - fsyncsAntes));
+        }
+        assertEquals(200, reproducir().size());
+    }
+}
@@ -0,0 +1,211 @@
+package com.hackerank.projectmanager.operation.application.service;
+
+import com.hackerank.projectmanager.dummy.application.service.ProductoServiceImpl;
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.service.ProductoService;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.ProductoJsonRepository;
+import com.hackerank.projectmanager.operation.domain.ConflictoReservaException;
+import com.hackerank.projectmanager.operation.domain.EstadoStock;
+import com.hackerank.projectmanager.operation.domain.Reserva;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReservaServiceImplTest {
+
+    private ProductoJsonRepository repository;
+    private ReservaServiceImpl reservaService;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProductoJsonRepository();
+        // Sin barrido programado: los tests expiran a mano
+        reservaService = new ReservaServiceImpl(new ProductoServiceImpl(repository), 600, 0, false);
+    }
+
+    private Producto guardar(long id, int stock) {
+        return repository.save(new Producto.Builder()
+                .id(id)
+                .nombre("Zapatilla")
+                .categoria("Deportes")
+                .precio(80.0)
+                .stock(stock)
+                .disponible(true)
+                .build());
+    }
+
+    private Producto producto(long id) {
+        return repository.findById(id).orElseThrow();
+    }
+
+    @Test
+    void reservar_WithConcurrentBuyers_ShouldNeverOversell() throws InterruptedException {
+        // Arrange
+        guardar(1L, 1_000);
+        int compradores = 32;
+        int intentosPorComprador = 100;
+        AtomicInteger exitosas = new AtomicInteger();
+        AtomicInteger rechazadas = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(compradores);
+
+        // Act
+        for (int t = 0; t < compradores; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < intentosPorComprador; i++) {
+                    try {
+                        reservaService.reservar(1L, 1, null);
+                        exitosas.incrementAndGet();
+                    } catch (ConflictoReservaException e) {
+                        rechazadas.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(1_000, exitosas.get());
+        assertEquals(compradores * intentosPorComprador - 1_000, rechazadas.get());
+        EstadoStock estado = reservaService.obtenerEstadoStock(1L).orElseThrow();
+        assertEquals(0, estado.libres());
+        assertEquals(1_000, estado.reservado());
+        assertTrue(producto(1L).getDisponible());
+        assertEquals(1_000, producto(1L).getStock());
+    }
+
+    @Test
+    void reservar_WhenSoldOutByReservations_ShouldNotPersistUnavailable() {
+        // Arrange
+        guardar(1L, 2);
+        long version = producto(1L).getVersion();
+
+        // Act
+        Reserva reserva = reservaService.reservar(1L, 2, null).orElseThrow();
+
+        // Assert: las reservas no sobreviven un reinicio, el producto no se escribe
+        assertTrue(producto(1L).getDisponible());
+        assertEquals(version, producto(1L).getVersion());
+        assertEquals(0, reservaService.obtenerEstadoStock(1L).orElseThrow().libres());
+        reservaService.liberar(reserva.getId());
+        assertEquals(2, reservaService.obtenerEstadoStock(1L).orElseThrow().libres());
+        assertEquals(Reserva.Estado.LIBERADA, reserva.getEstado());
+    }
+
+    @Test
+    void confirmar_WhenLastUnitsSold_ShouldMakeProductUnavailable() {
+        // Arrange
+        guardar(1L, 2);
+        Reserva reserva = reservaService.reservar(1L, 2, null).orElseThrow();
+
+        // Act
+        reservaService.confirmar(reserva.getId());
+
+        // Assert
+        assertEquals(0, producto(1L).getStock());
+        assertFalse(producto(1L).getDisponible());
+    }
+
+    @Test
+    void confirmar_ShouldDiscountStockFromProduct() {
+        // Arrange
+        guardar(1L, 5);
+        Reserva reserva = reservaService.reservar(1L, 3, null).orElseThrow();
+
+        // Act
+        reservaService.confirmar(reserva.getId());
+
+        // Assert
+        assertEquals(2, producto(1L).getStock());
+        EstadoStock estado = reservaService.obtenerEstadoStock(1L).orElseThrow();
+        assertEquals(2, estado.stock());
+        assertEquals(0, estado.reservado());
+        assertTrue(reservaService.obtenerReserva(reserva.getId()).isEmpty());
+        assertTrue(reservaService.confirmar(reserva.getId()).isEmpty());
+    }
+
+    @Test
+    void expirarVencidas_ShouldReturnUnitsOnlyOnce() throws InterruptedException {
+        // Arrange
+        guardar(1L, 1);
+        Reserva reserva = reservaService.reservar(1L, 1, Duration.ofMillis(10)).orElseThrow();
+        Thread.sleep(30);
+
+        // Act
+        int expiradas = reservaService.expirarVencidas();
+
+        // Assert
+        assertEquals(1, expiradas);
+        assertEquals(0, reservaService.expirarVencidas());
+        assertEquals(Reserva.Estado.EXPIRADA, reserva.getEstado());
+        assertEquals(1, reservaService.obtenerEstadoStock(1L).orElseThrow().libres());
+        assertTrue(producto(1L).getDisponible());
+        assertTrue(reservaService.confirmar(reserva.getId()).isEmpty());
+    }
+
+    @Test
+    void reservar_AfterStockUpdate_ShouldUseNewStock() {
+        // Arrange
+        guardar(1L, 1);
+        reservaService.reservar(1L, 1, null);
+
+        // Act: reposición por PUT
+        repository.save(new Producto.Builder().id(1L).nombre("Zapatilla").categoria("Deportes")
+                .precio(80.0).stock(4).disponible(true).build());
+
+        // Assert
+        assertTrue(reservaService.reservar(1L, 3, null).isPresent());
+        assertThrows(ConflictoReservaException.class, () -> reservaService.reservar(1L, 1, null));
+    }
+
+    @Test
+    void reservar_WhenProductMissing_ShouldReturnEmpty() {
+        // Act & Assert
+        assertTrue(reservaService.reservar(99L, 1, null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> reservaService.reservar(99L, 0, null));
+    }
+
+    @Test
+    void reservar_WhenChangeNotifiedBeforeCounterExisted_ShouldPickUpNewStockOnNextUse() {
+        // Arrange: el aviso de la versión 2 corrió antes de sembrar y el contador vio la 1
+        ProductoService productoService = mock(ProductoService.class);
+        Producto.Builder base = new Producto.Builder().id(1L).nombre("Zapatilla").precio(80.0).disponible(true);
+        Producto v1 = base.stock(1).version(1).build();
+        Producto v2 = base.stock(5).version(2).build();
+        when(productoService.obtenerProductoPorId(1L)).thenReturn(Optional.of(v1)).thenReturn(Optional.of(v2));
+        ReservaServiceImpl servicio = new ReservaServiceImpl(productoService, 600, 0, false);
+        assertEquals(1, servicio.obtenerEstadoStock(1L).orElseThrow().stock());
+
+        // Act
+        Optional<Reserva> reserva = servicio.reservar(1L, 4, null);
+
+        // Assert
+        assertTrue(reserva.isPresent());
+        assertEquals(1, servicio.obtenerEstadoStock(1L).orElseThrow().libres());
+    }
+
+    @Test
+    void productoCambiado_WithOlderVersion_ShouldKeepNewerStock() {
+        // Arrange
+        Producto actual = guardar(1L, 5);
+        reservaService.obtenerEstadoStock(1L);
+        Producto viejo = new Producto.Builder().id(1L).nombre("Zapatilla").precio(80.0).stock(1)
+                .version(actual.getVersion() - 1).build();
+
+        // Act
+        reservaService.productoCambiado(1L, actual, viejo);
+
+        // Assert
+        assertEquals(5, reservaService.obtenerEstadoStock(1L).orElseThrow().stock());
+    }
+}
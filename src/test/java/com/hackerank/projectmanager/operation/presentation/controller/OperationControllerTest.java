@@ -0,0 +1,73 @@
+package com.hackerank.projectmanager.operation.presentation.controller;
+
+import com.hackerank.projectmanager.operation.domain.Reserva;
+import com.hackerank.projectmanager.operation.domain.service.ReservaService;
+import com.hackerank.projectmanager.operation.presentation.dto.OperationRequest;
+import com.hackerank.projectmanager.operation.presentation.dto.OperationResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OperationControllerTest {
+
+    @Mock
+    private ReservaService reservaService;
+
+    @InjectMocks
+    private OperationController operationController;
+
+    @Test
+    void reservar_ShouldReturnCreatedWithLocation() {
+        // Arrange
+        Reserva reserva = new Reserva(7L, 1L, 2, Instant.parse("2025-01-01T00:10:00Z"));
+        when(reservaService.reservar(1L, 2, Duration.ofSeconds(30))).thenReturn(Optional.of(reserva));
+        OperationRequest request = new OperationRequest.Builder().productoId(1L).cantidad(2).ttlSegundos(30L).build();
+
+        // Act
+        ResponseEntity<OperationResponse> response = operationController.reservar(request);
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals("/api/v1/projectmanager/operaciones/reservas/7", response.getHeaders().getLocation().toString());
+        assertNotNull(response.getBody());
+        assertEquals("PENDIENTE", response.getBody().getEstado());
+        assertEquals(2, response.getBody().getCantidad());
+    }
+
+    @Test
+    void reservar_WhenProductMissing_ShouldReturnNotFound() {
+        // Arrange
+        when(reservaService.reservar(9L, 1, null)).thenReturn(Optional.empty());
+        OperationRequest request = new OperationRequest.Builder().productoId(9L).cantidad(1).build();
+
+        // Act
+        ResponseEntity<OperationResponse> response = operationController.reservar(request);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void confirmar_WhenReservationUnknown_ShouldReturnNotFound() {
+        // Arrange
+        when(reservaService.confirmar(5L)).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<OperationResponse> response = operationController.confirmar(5L);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
@@ -0,0 +1,132 @@
+package com.hackerank.projectmanager.presentation.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerank.projectmanager.dummy.application.service.ProductoMapper;
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.ProductoJsonRepository;
+import com.hackerank.projectmanager.dummy.presentation.cache.ProductoResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductoResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private ProductoJsonRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProductoJsonRepository();
+    }
+
+    private ProductoResponseCache cache(long maxBytes) {
+        ProductoResponseCache cache = new ProductoResponseCache(new ProductoMapper(), objectMapper, maxBytes);
+        repository.suscribir(cache);
+        return cache;
+    }
+
+    private Producto guardar(long id, String nombre) {
+        return repository.save(new Producto.Builder()
+                .id(id)
+                .nombre(nombre)
+                .categoria("Tecnologia")
+                .precio(10.0)
+                .stock(3)
+                .disponible(true)
+                .build());
+    }
+
+    @Test
+    void obtener_WhenCalledTwice_ShouldReuseSerializedBytes() throws IOException {
+        // Arrange
+        ProductoResponseCache cache = cache(1 << 20);
+        Producto producto = guardar(1L, "Laptop");
+
+        // Act
+        byte[] primero = cache.obtener(producto);
+        byte[] segundo = cache.obtener(producto);
+
+        // Assert
+        assertSame(primero, segundo);
+        assertEquals(1, cache.getAciertos());
+        assertEquals(1, cache.getFallos());
+        JsonNode json = objectMapper.readTree(primero);
+        assertEquals("Laptop", json.get("nombre").asText());
+        assertEquals(primero.length, cache.getBytes());
+    }
+
+    @Test
+    void obtener_AfterSave_ShouldServeNewVersion() throws IOException {
+        // Arrange
+        ProductoResponseCache cache = cache(1 << 20);
+        cache.obtener(guardar(1L, "Laptop"));
+
+        // Act
+        Producto actualizado = guardar(1L, "Laptop Pro");
+        byte[] json = cache.obtener(actualizado);
+
+        // Assert
+        assertEquals("Laptop Pro", objectMapper.readTree(json).get("nombre").asText());
+        assertEquals(2, cache.getFallos());
+    }
+
+    @Test
+    void productoCambiado_OnDelete_ShouldReleaseEntry() {
+        // Arrange
+        ProductoResponseCache cache = cache(1 << 20);
+        cache.obtener(guardar(1L, "Laptop"));
+
+        // Act
+        repository.deleteById(1L);
+
+        // Assert
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getBytes());
+    }
+
+    @Test
+    void obtener_WhenOverBudget_ShouldEvictUnreferencedEntriesFirst() {
+        // Arrange: cada entrada ocupa ~100 bytes, entran unas 20
+        ProductoResponseCache cache = cache(2_000);
+        Producto caliente = guardar(1L, "Producto caliente");
+        cache.obtener(caliente);
+
+        // Act
+        for (long id = 2; id <= 200; id++) {
+            cache.obtener(guardar(id, "Producto " + id));
+            // El producto caliente se lee entre inserciones y conserva su segunda oportunidad
+            cache.obtener(caliente);
+        }
+
+        // Assert
+        assertTrue(cache.getBytes() <= 2_000, "bytes=" + cache.getBytes());
+        assertTrue(cache.getExpulsiones() > 0);
+        long fallosAntes = cache.getFallos();
+        cache.obtener(caliente);
+        assertEquals(fallosAntes, cache.getFallos());
+    }
+
+    @Test
+    void bindTo_ShouldExposeHitsMissesAndSize() {
+        // Arrange
+        ProductoResponseCache cache = cache(1 << 20);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        Producto producto = guardar(1L, "Laptop");
+
+        // Act
+        cache.obtener(producto);
+        cache.obtener(producto);
+        cache.obtener(producto);
+
+        // Assert
+        assertEquals(2.0, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("result", "miss").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.size").tag("cache", "producto-json").gauge().value());
+    }
+}
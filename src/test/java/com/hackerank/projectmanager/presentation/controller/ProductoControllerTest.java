@@ -3,26 +3,47 @@ package com.hackerank.projectmanager.presentation.controller;
 import com.hackerank.projectmanager.dummy.presentation.controller.ProductoController;
 import com.hackerank.projectmanager.dummy.application.service.ProductoMapper;
 import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.ProductoQuery;
+import com.hackerank.projectmanager.dummy.domain.repository.VersionCatalogo;
 import com.hackerank.projectmanager.dummy.domain.service.ProductoService;
+import com.hackerank.projectmanager.dummy.presentation.cache.ProductoResponseCache;
+import com.hackerank.projectmanager.dummy.presentation.dto.CursorPageResponse;
 import com.hackerank.projectmanager.dummy.presentation.dto.ProductoRequest;
 import com.hackerank.projectmanager.dummy.presentation.dto.ProductoResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.TimeZone;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -35,15 +56,24 @@ class ProductoControllerTest {
     @Mock
     private ProductoMapper productoMapper;
 
+    @Mock
+    private ProductoResponseCache responseCache;
+
     @InjectMocks
     private ProductoController productoController;
 
     private Producto producto;
     private ProductoResponse productoResponse;
     private ProductoRequest productoRequest;
+    private MockHttpServletRequest httpRequest;
+    private ServletWebRequest request;
 
     @BeforeEach
     void setUp() {
+        httpRequest = new MockHttpServletRequest("GET", "/api/v1/projectmanager");
+        request = new ServletWebRequest(httpRequest, new MockHttpServletResponse());
+        lenient().when(productoService.obtenerVersionCatalogo())
+                .thenReturn(new VersionCatalogo(0x1f, 7, Instant.parse("2025-01-01T00:00:00Z")));
 
         producto = new Producto.Builder()
                 .id(1L)
@@ -77,14 +107,15 @@ class ProductoControllerTest {
         List<ProductoResponse> productoResponses = Arrays.asList(productoResponse,
                 new ProductoResponse.Builder().id(2L).nombre("Product 2").build());
 
-        when(productoService.obtenerTodosProductos()).thenReturn(productos);
+        when(productoService.obtenerTodosProductos(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(productos, PageRequest.of(0, 10), 2));
         when(productoMapper.toResponse(any(Producto.class)))
                 .thenReturn(productoResponses.get(0))
                 .thenReturn(productoResponses.get(1));
 
         // Act
         ResponseEntity<Page<ProductoResponse>> response =
-                productoController.obtenerTodosProductos(0, 10);
+                productoController.obtenerTodosProductos(0, 10, "completa", request);
 
         // Assert
         assertNotNull(response);
@@ -96,18 +127,19 @@ class ProductoControllerTest {
         assertEquals(1, page.getTotalPages());
         assertEquals(2, page.getContent().size());
 
-        verify(productoService).obtenerTodosProductos();
+        verify(productoService).obtenerTodosProductos(PageRequest.of(0, 10));
         verify(productoMapper, times(2)).toResponse(any(Producto.class));
     }
 
     @Test
     void obtenerTodosProductos_WithEmptyList_ShouldReturnEmptyPage() {
         // Arrange
-        when(productoService.obtenerTodosProductos()).thenReturn(Collections.emptyList());
+        when(productoService.obtenerTodosProductos(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 10), 0));
 
         // Act
         ResponseEntity<Page<ProductoResponse>> response =
-                productoController.obtenerTodosProductos(0, 10);
+                productoController.obtenerTodosProductos(0, 10, "completa", request);
 
         // Assert
         assertNotNull(response);
@@ -116,28 +148,28 @@ class ProductoControllerTest {
         assertTrue(response.getBody().isEmpty());
         assertEquals(0, response.getBody().getTotalElements());
 
-        verify(productoService).obtenerTodosProductos();
+        verify(productoService).obtenerTodosProductos(PageRequest.of(0, 10));
         verify(productoMapper, never()).toResponse(any(Producto.class));
     }
 
     @Test
     void obtenerProductoPorId_WhenProductExists_ShouldReturnProduct() {
         // Arrange
+        byte[] json = "{\"id\":1,\"nombre\":\"Test Product\"}".getBytes(StandardCharsets.UTF_8);
         when(productoService.obtenerProductoPorId(1L)).thenReturn(Optional.of(producto));
-        when(productoMapper.toResponse(producto)).thenReturn(productoResponse);
+        when(responseCache.obtener(producto)).thenReturn(json);
 
         // Act
-        ResponseEntity<ProductoResponse> response = productoController.obtenerProductoPorId(1L);
+        ResponseEntity<byte[]> response = productoController.obtenerProductoPorId(1L, request);
 
         // Assert
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertNotNull(response.getBody());
-        assertEquals(1L, response.getBody().getId());
-        assertEquals("Test Product", response.getBody().getNombre());
+        assertArrayEquals(json, response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
 
         verify(productoService).obtenerProductoPorId(1L);
-        verify(productoMapper).toResponse(producto);
+        verify(responseCache).obtener(producto);
     }
 
     @Test
@@ -146,7 +178,7 @@ class ProductoControllerTest {
         when(productoService.obtenerProductoPorId(1L)).thenReturn(Optional.empty());
 
         // Act
-        ResponseEntity<ProductoResponse> response = productoController.obtenerProductoPorId(1L);
+        ResponseEntity<byte[]> response = productoController.obtenerProductoPorId(1L, request);
 
         // Assert
         assertNotNull(response);
@@ -154,7 +186,7 @@ class ProductoControllerTest {
         assertNull(response.getBody());
 
         verify(productoService).obtenerProductoPorId(1L);
-        verify(productoMapper, never()).toResponse(any(Producto.class));
+        verifyNoInteractions(responseCache);
     }
 
     @Test
@@ -168,7 +200,7 @@ class ProductoControllerTest {
 
         // Act
         ResponseEntity<List<ProductoResponse>> response =
-                productoController.obtenerProductosPorCategoria("Electronics");
+                productoController.obtenerProductosPorCategoria("Electronics", "completa", request);
 
         // Assert
         assertNotNull(response);
@@ -188,7 +220,7 @@ class ProductoControllerTest {
 
         // Act
         ResponseEntity<List<ProductoResponse>> response =
-                productoController.obtenerProductosPorCategoria("Unknown");
+                productoController.obtenerProductosPorCategoria("Unknown", "completa", request);
 
         // Assert
         assertNotNull(response);
@@ -200,6 +232,32 @@ class ProductoControllerTest {
         verify(productoMapper, never()).toResponse(any(Producto.class));
     }
 
+    @Test
+    void obtenerProductosPorCategoria_WithResumenView_ShouldSkipDescription() {
+        // Arrange
+        ProductoResponse resumen = new ProductoResponse.Builder().id(1L).nombre("Test Product").build();
+        when(productoService.buscarProductosPorCategoria("Electronics")).thenReturn(List.of(producto));
+        when(productoMapper.toResumen(producto)).thenReturn(resumen);
+
+        // Act
+        ResponseEntity<List<ProductoResponse>> response =
+                productoController.obtenerProductosPorCategoria("Electronics", "RESUMEN", request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(resumen, response.getBody().get(0));
+        verify(productoMapper, never()).toResponse(any(Producto.class));
+    }
+
+    @Test
+    void obtenerProductosPorCategoria_WithUnknownView_ShouldThrowIllegalArgument() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> productoController.obtenerProductosPorCategoria("Electronics", "mini", request));
+        verifyNoInteractions(productoMapper);
+        verify(productoService, never()).buscarProductosPorCategoria(any());
+    }
+
     @Test
     void buscarProductos_ShouldReturnMatchingProducts() {
         // Arrange
@@ -211,7 +269,7 @@ class ProductoControllerTest {
 
         // Act
         ResponseEntity<List<ProductoResponse>> response =
-                productoController.buscarProductos("Test");
+                productoController.buscarProductos("Test", "completa", request);
 
         // Assert
         assertNotNull(response);
@@ -272,7 +330,7 @@ class ProductoControllerTest {
 
         // Act
         ResponseEntity<ProductoResponse> response =
-                productoController.actualizarProducto(1L, productoRequest);
+                productoController.actualizarProducto(1L, productoRequest, null);
 
         // Assert
         assertNotNull(response);
@@ -294,7 +352,7 @@ class ProductoControllerTest {
 
         // Act
         ResponseEntity<ProductoResponse> response =
-                productoController.actualizarProducto(1L, productoRequest);
+                productoController.actualizarProducto(1L, productoRequest, null);
 
         // Assert
         assertNotNull(response);
@@ -313,7 +371,7 @@ class ProductoControllerTest {
         when(productoService.eliminarProducto(1L)).thenReturn(true);
 
         // Act
-        ResponseEntity<Void> response = productoController.eliminarProducto(1L);
+        ResponseEntity<Void> response = productoController.eliminarProducto(1L, null);
 
         // Assert
         assertNotNull(response);
@@ -328,7 +386,7 @@ class ProductoControllerTest {
         when(productoService.eliminarProducto(1L)).thenReturn(false);
 
         // Act
-        ResponseEntity<Void> response = productoController.eliminarProducto(1L);
+        ResponseEntity<Void> response = productoController.eliminarProducto(1L, null);
 
         // Assert
         assertNotNull(response);
@@ -337,6 +395,72 @@ class ProductoControllerTest {
         verify(productoService).eliminarProducto(1L);
     }
 
+    @Test
+    void actualizarProducto_WhenIfMatchIsCurrent_ShouldUpdateWithCompareAndSet() {
+        // Arrange
+        Producto leido = new Producto.Builder().id(1L).nombre("Test Product").precio(100.0).version(12).build();
+        Producto updatedProducto = new Producto.Builder().id(1L).nombre("Updated Product").precio(150.0).version(13).build();
+        when(productoService.obtenerProductoPorId(1L)).thenReturn(Optional.of(leido));
+        when(productoMapper.updateDomainFromRequest(leido, productoRequest)).thenReturn(updatedProducto);
+        when(productoService.actualizarProducto(1L, 12L, updatedProducto)).thenReturn(Optional.of(updatedProducto));
+        when(productoMapper.toResponse(updatedProducto)).thenReturn(productoResponse);
+
+        // Act
+        ResponseEntity<ProductoResponse> response =
+                productoController.actualizarProducto(1L, productoRequest, "\"1f-12\"");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"1f-13\"", response.getHeaders().getETag());
+        verify(productoService, never()).actualizarProducto(anyLong(), any());
+    }
+
+    @Test
+    void actualizarProducto_WhenIfMatchIsStale_ShouldReturn412WithoutWriting() {
+        // Arrange
+        Producto leido = new Producto.Builder().id(1L).nombre("Test Product").precio(100.0).version(13).build();
+        when(productoService.obtenerProductoPorId(1L)).thenReturn(Optional.of(leido));
+
+        // Act
+        ResponseEntity<ProductoResponse> response =
+                productoController.actualizarProducto(1L, productoRequest, "\"1f-12\"");
+
+        // Assert
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        assertEquals("\"1f-13\"", response.getHeaders().getETag());
+        verify(productoService, never()).actualizarProducto(anyLong(), anyLong(), any());
+        verify(productoService, never()).actualizarProducto(anyLong(), any());
+    }
+
+    @Test
+    void eliminarProducto_WhenIfMatchIsStale_ShouldReturn412WithoutDeleting() {
+        // Arrange
+        Producto leido = new Producto.Builder().id(1L).nombre("Test Product").precio(100.0).version(13).build();
+        when(productoService.obtenerProductoPorId(1L)).thenReturn(Optional.of(leido));
+
+        // Act
+        ResponseEntity<Void> response = productoController.eliminarProducto(1L, "W/\"1f-13\", \"1f-12\"");
+
+        // Assert
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        verify(productoService, never()).eliminarProducto(anyLong(), anyLong());
+        verify(productoService, never()).eliminarProducto(anyLong());
+    }
+
+    @Test
+    void eliminarProducto_WhenIfMatchIsCurrent_ShouldDeleteWithCompareAndSet() {
+        // Arrange
+        Producto leido = new Producto.Builder().id(1L).nombre("Test Product").precio(100.0).version(13).build();
+        when(productoService.obtenerProductoPorId(1L)).thenReturn(Optional.of(leido));
+        when(productoService.eliminarProducto(1L, 13L)).thenReturn(true);
+
+        // Act
+        ResponseEntity<Void> response = productoController.eliminarProducto(1L, "\"1f-12\", \"1f-13\"");
+
+        // Assert
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+    }
+
     @Test
     void obtenerProductosDisponibles_ShouldReturnAvailableProducts() {
         // Arrange
@@ -344,17 +468,19 @@ class ProductoControllerTest {
         List<ProductoResponse> productoResponses = Arrays.asList(productoResponse);
 
         when(productoService.buscarProductosDisponibles()).thenReturn(productos);
+        when(productoService.contarProductosDisponibles()).thenReturn(1L);
         when(productoMapper.toResponse(producto)).thenReturn(productoResponse);
 
         // Act
         ResponseEntity<List<ProductoResponse>> response =
-                productoController.obtenerProductosDisponibles();
+                productoController.obtenerProductosDisponibles("completa", request);
 
         // Assert
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().size());
+        assertEquals("1", response.getHeaders().getFirst("X-Total-Count"));
         //assertTrue(response.getBody().get(0).isDisponible());
 
         verify(productoService).buscarProductosDisponibles();
@@ -364,27 +490,26 @@ class ProductoControllerTest {
     @Test
     void obtenerTodosProductos_WithPagination_ShouldHandleDifferentPages() {
         // Arrange
+        // El servicio devuelve solo la ventana pedida y el total del catálogo
         List<Producto> productos = Arrays.asList(
                 producto,
-                new Producto.Builder().id(2L).nombre("Product 2").precio(1000.0).build(),
-                new Producto.Builder().id(3L).nombre("Product 3").precio(500.0).build()
+                new Producto.Builder().id(2L).nombre("Product 2").precio(1000.0).build()
         );
 
         List<ProductoResponse> productoResponses = Arrays.asList(
                 productoResponse,
-                new ProductoResponse.Builder().id(2L).nombre("Product 2").build(),
-                new ProductoResponse.Builder().id(3L).nombre("Product 3").build()
+                new ProductoResponse.Builder().id(2L).nombre("Product 2").build()
         );
 
-        when(productoService.obtenerTodosProductos()).thenReturn(productos);
+        when(productoService.obtenerTodosProductos(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(productos, PageRequest.of(0, 2), 3));
         when(productoMapper.toResponse(any(Producto.class)))
                 .thenReturn(productoResponses.get(0))
-                .thenReturn(productoResponses.get(1))
-                .thenReturn(productoResponses.get(2));
+                .thenReturn(productoResponses.get(1));
 
         // Act - Test first page with 2 items
         ResponseEntity<Page<ProductoResponse>> response =
-                productoController.obtenerTodosProductos(0, 2);
+                productoController.obtenerTodosProductos(0, 2, "completa", request);
 
         // Assert
         assertNotNull(response);
@@ -396,7 +521,212 @@ class ProductoControllerTest {
         assertEquals(2, page.getContent().size());
         assertEquals(2, page.getTotalPages());
 
-        verify(productoService).obtenerTodosProductos();
+        verify(productoService).obtenerTodosProductos(PageRequest.of(0, 2));
         verify(productoMapper, times(2)).toResponse(any(Producto.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void obtenerProductosPorCursor_ShouldReturnPageAndNextCursor() {
+        // Arrange
+        Producto producto2 = new Producto.Builder().id(2L).nombre("Product 2").precio(10.0).build();
+        Producto producto3 = new Producto.Builder().id(3L).nombre("Product 3").precio(10.0).build();
+        when(productoService.obtenerProductosDesde(null, 3))
+                .thenReturn(Arrays.asList(producto, producto2, producto3));
+        when(productoMapper.toResponse(any(Producto.class))).thenReturn(productoResponse);
+
+        // Act
+        ResponseEntity<CursorPageResponse<ProductoResponse>> response =
+                productoController.obtenerProductosPorCursor("", 2, "completa", request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(2, response.getBody().getContent().size());
+        assertNotNull(response.getBody().getNextCursor());
+
+        // El cursor devuelto continúa después del último id entregado
+        when(productoService.obtenerProductosDesde(2L, 3)).thenReturn(List.of(producto3));
+        ResponseEntity<CursorPageResponse<ProductoResponse>> siguiente =
+                productoController.obtenerProductosPorCursor(response.getBody().getNextCursor(), 2, "completa", request);
+
+        assertEquals(1, siguiente.getBody().getContent().size());
+        assertNull(siguiente.getBody().getNextCursor());
+        verify(productoService).obtenerProductosDesde(2L, 3);
+    }
+
+    @Test
+    void obtenerTodosProductos_WhenSizeOverLimit_ShouldThrowIllegalArgument() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> productoController.obtenerTodosProductos(0, 2_000_000_000, "completa", request));
+        verify(productoService, never()).obtenerTodosProductos(any(Pageable.class));
+    }
+
+    @Test
+    void obtenerProductosPorCursor_WhenSizeIsMaxInt_ShouldThrowIllegalArgument() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> productoController.obtenerProductosPorCursor("", Integer.MAX_VALUE, "completa", request));
+        verify(productoService, never()).obtenerProductosDesde(any(), anyInt());
+    }
+
+    @Test
+    void obtenerProductosPorCursor_WithInvalidCursor_ShouldThrowIllegalArgument() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> productoController.obtenerProductosPorCursor("%%%", 2, "completa", request));
+        verify(productoService, never()).obtenerProductosDesde(any(), anyInt());
+    }
+
+    @Test
+    void obtenerProductosPorCategoriaNdjson_ShouldWriteOneProductPerLine() throws Exception {
+        // Arrange
+        ProductoController controller = new ProductoController(productoService, productoMapper, new ObjectMapper(), responseCache);
+        Producto producto2 = new Producto.Builder().id(2L).nombre("Product 2").precio(10.0).build();
+        when(productoService.streamProductosPorCategoria("Electronics"))
+                .thenReturn(Stream.of(producto, producto2));
+        when(productoMapper.toResponse(producto)).thenReturn(productoResponse);
+        when(productoMapper.toResponse(producto2))
+                .thenReturn(new ProductoResponse.Builder().id(2L).nombre("Product 2").build());
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response =
+                controller.obtenerProductosPorCategoriaNdjson("Electronics", "completa");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        String[] lineas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lineas.length);
+        assertTrue(lineas[0].startsWith("{\"id\":1,"));
+        assertTrue(lineas[1].startsWith("{\"id\":2,"));
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("}\n"));
+    }
+
+    @Test
+    void buscarProductosPorRangoPrecio_ShouldReturnProductsInRange() {
+        // Arrange
+        when(productoService.buscarProductosPorRangoPrecio(null, 500.0)).thenReturn(List.of(producto));
+        when(productoMapper.toResponse(producto)).thenReturn(productoResponse);
+
+        // Act
+        ResponseEntity<List<ProductoResponse>> response =
+                productoController.buscarProductosPorRangoPrecio(null, 500.0, "completa", request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        verify(productoService).buscarProductosPorRangoPrecio(null, 500.0);
+    }
+
+    @Test
+    void filtrarProductos_ShouldPassAllCriteriaToService() {
+        // Arrange
+        ArgumentCaptor<ProductoQuery> query = ArgumentCaptor.forClass(ProductoQuery.class);
+        when(productoService.filtrarProductos(query.capture())).thenReturn(List.of(producto));
+        when(productoMapper.toResponse(producto)).thenReturn(productoResponse);
+
+        // Act
+        ResponseEntity<List<ProductoResponse>> response =
+                productoController.filtrarProductos("Tecnologia", true, 10.0, 500.0, 20, "lap", "completa", request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals("Tecnologia", query.getValue().getCategoria());
+        assertTrue(query.getValue().getDisponible());
+        assertEquals(10.0, query.getValue().getPrecioMin());
+        assertEquals(500.0, query.getValue().getPrecioMax());
+        assertEquals(20, query.getValue().getStockMenorA());
+        assertEquals("lap", query.getValue().getNombre());
+    }
+
+    @Test
+    void obtenerProductosPorCategoria_ShouldReturnCatalogVersionValidators() {
+        // Arrange
+        when(productoService.buscarProductosPorCategoria("Electronics")).thenReturn(List.of(producto));
+        when(productoMapper.toResponse(producto)).thenReturn(productoResponse);
+
+        // Act
+        ResponseEntity<List<ProductoResponse>> response =
+                productoController.obtenerProductosPorCategoria("Electronics", "completa", request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"1f-7\"", response.getHeaders().getETag());
+        assertEquals(Instant.parse("2025-01-01T00:00:00Z").toEpochMilli(), response.getHeaders().getLastModified());
+    }
+
+    @Test
+    void obtenerProductosPorCategoria_WhenIfNoneMatchIsCurrent_ShouldReturn304WithoutQuerying() {
+        // Arrange
+        httpRequest.addHeader("If-None-Match", "\"1f-7\"");
+
+        // Act
+        ResponseEntity<List<ProductoResponse>> response =
+                productoController.obtenerProductosPorCategoria("Electronics", "completa", request);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verify(productoService, never()).buscarProductosPorCategoria(any());
+        verifyNoInteractions(productoMapper);
+    }
+
+    @Test
+    void obtenerProductoPorId_WhenIfNoneMatchIsCurrent_ShouldReturn304WithoutMapping() {
+        // Arrange
+        Producto versionado = new Producto.Builder().id(1L).nombre("Test Product").precio(100.0).version(12).build();
+        when(productoService.obtenerProductoPorId(1L)).thenReturn(Optional.of(versionado));
+        httpRequest.addHeader("If-None-Match", "\"1f-12\"");
+
+        // Act
+        ResponseEntity<byte[]> response = productoController.obtenerProductoPorId(1L, request);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"1f-12\"", response.getHeaders().getETag());
+        verifyNoInteractions(responseCache);
+    }
+
+    @Test
+    void obtenerProductoPorId_WhenIfNoneMatchIsStale_ShouldReturnProduct() {
+        // Arrange
+        Producto versionado = new Producto.Builder().id(1L).nombre("Test Product").precio(100.0).version(13).build();
+        when(productoService.obtenerProductoPorId(1L)).thenReturn(Optional.of(versionado));
+        byte[] json = "{}".getBytes(StandardCharsets.UTF_8);
+        when(responseCache.obtener(versionado)).thenReturn(json);
+        httpRequest.addHeader("If-None-Match", "\"1f-12\"");
+
+        // Act
+        ResponseEntity<byte[]> response = productoController.obtenerProductoPorId(1L, request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"1f-13\"", response.getHeaders().getETag());
+        assertArrayEquals(json, response.getBody());
+    }
+
+    @Test
+    void obtenerProductoPorId_OnHostOutsideUtc_ShouldSendLastModifiedInUtc() {
+        // Arrange: las fechas se guardan como hora UTC, la zona del host no debe influir
+        Producto fechado = new Producto.Builder().id(1L).nombre("Test Product").precio(100.0).version(13)
+                .fechaActualizacion(LocalDateTime.of(2025, 3, 1, 10, 0)).build();
+        when(productoService.obtenerProductoPorId(1L)).thenReturn(Optional.of(fechado));
+        when(responseCache.obtener(fechado)).thenReturn("{}".getBytes(StandardCharsets.UTF_8));
+        TimeZone zonaOriginal = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("America/Lima"));
+        ResponseEntity<byte[]> response;
+        try {
+            // Act
+            response = productoController.obtenerProductoPorId(1L, request);
+        } finally {
+            TimeZone.setDefault(zonaOriginal);
+        }
+
+        // Assert
+        assertEquals(Instant.parse("2025-03-01T10:00:00Z").toEpochMilli(), response.getHeaders().getLastModified());
+    }
+}
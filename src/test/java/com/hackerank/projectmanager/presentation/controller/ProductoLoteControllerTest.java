@@ -0,0 +1,172 @@
+package com.hackerank.projectmanager.presentation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerank.projectmanager.dummy.application.service.ProductoMapper;
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.domain.repository.OperacionLote;
+import com.hackerank.projectmanager.dummy.domain.service.ProductoService;
+import com.hackerank.projectmanager.dummy.presentation.controller.ProductoLoteController;
+import com.hackerank.projectmanager.dummy.presentation.dto.LoteResponse;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductoLoteControllerTest {
+
+    @Mock
+    private ProductoService productoService;
+
+    private ProductoLoteController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ProductoLoteController(productoService, new ProductoMapper(),
+                new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator(), 3);
+    }
+
+    private static InputStream cuerpo(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Producto producto(long id, String nombre) {
+        return new Producto.Builder().id(id).nombre(nombre).categoria("Tecnologia").precio(10.0).build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void procesarLote_ShouldApplyValidOperationsInOneCall() throws IOException {
+        // Arrange
+        when(productoService.obtenerProductoPorId(1L)).thenReturn(Optional.of(producto(1L, "Laptop")));
+        when(productoService.procesarLote(any())).thenAnswer(invocacion -> {
+            List<OperacionLote> operaciones = invocacion.getArgument(0);
+            return Arrays.asList(producto(10L, "Mouse"), operaciones.get(1).producto(), null);
+        });
+        String json = """
+                [
+                  {"tipo": "crear", "producto": {"nombre": "Mouse", "precio": 5.0, "categoria": "Tecnologia"}},
+                  {"tipo": "ACTUALIZAR", "id": 1, "producto": {"nombre": "Laptop Pro", "precio": 20.0, "categoria": "Tecnologia"}},
+                  {"tipo": "ELIMINAR", "id": 99}
+                ]
+                """;
+
+        // Act
+        ResponseEntity<LoteResponse> response = controller.procesarLote(cuerpo(json));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        LoteResponse lote = response.getBody();
+        assertNotNull(lote);
+        assertEquals(2, lote.getAplicadas());
+        assertEquals(1, lote.getFallidas());
+        assertEquals(201, lote.getResultados().get(0).getEstado());
+        assertEquals(10L, lote.getResultados().get(0).getId());
+        assertEquals(200, lote.getResultados().get(1).getEstado());
+        assertEquals(404, lote.getResultados().get(2).getEstado());
+        assertEquals(99L, lote.getResultados().get(2).getId());
+
+        ArgumentCaptor<List<OperacionLote>> captor = ArgumentCaptor.forClass(List.class);
+        verify(productoService, times(1)).procesarLote(captor.capture());
+        assertEquals("Laptop Pro", captor.getValue().get(1).producto().getNombre());
+    }
+
+    @Test
+    void procesarLote_WhenItemInvalid_ShouldFailOnlyThatItem() throws IOException {
+        // Arrange
+        when(productoService.procesarLote(any())).thenReturn(List.of(producto(10L, "Mouse")));
+        String json = """
+                [
+                  {"tipo": "CREAR", "producto": {"nombre": "M", "precio": -1, "categoria": "Tecnologia"}},
+                  {"tipo": "CREAR", "producto": {"nombre": "Mouse", "precio": 5.0, "categoria": "Tecnologia"}},
+                  {"tipo": "ELIMINAR"}
+                ]
+                """;
+
+        // Act
+        LoteResponse lote = controller.procesarLote(cuerpo(json)).getBody();
+
+        // Assert
+        assertNotNull(lote);
+        assertEquals(1, lote.getAplicadas());
+        assertEquals(2, lote.getFallidas());
+        assertEquals(400, lote.getResultados().get(0).getEstado());
+        assertTrue(lote.getResultados().get(0).getErrores().containsKey("producto.precio"));
+        assertEquals(201, lote.getResultados().get(1).getEstado());
+        assertEquals(400, lote.getResultados().get(2).getEstado());
+        assertTrue(lote.getResultados().get(2).getErrores().containsKey("id"));
+    }
+
+    @Test
+    void procesarLote_WhenUpdateTargetMissing_ShouldReturn404WithoutApplying() throws IOException {
+        // Arrange
+        when(productoService.obtenerProductoPorId(5L)).thenReturn(Optional.empty());
+        String json = """
+                [{"tipo": "ACTUALIZAR", "id": 5, "producto": {"nombre": "Laptop", "precio": 5.0, "categoria": "Tecnologia"}}]
+                """;
+
+        // Act
+        LoteResponse lote = controller.procesarLote(cuerpo(json)).getBody();
+
+        // Assert
+        assertNotNull(lote);
+        assertEquals(404, lote.getResultados().get(0).getEstado());
+        verify(productoService, never()).procesarLote(any());
+    }
+
+    @Test
+    void procesarLote_WhenOverLimit_ShouldThrowIllegalArgumentException() {
+        // Arrange
+        String json = "[{\"tipo\":\"ELIMINAR\",\"id\":1},{\"tipo\":\"ELIMINAR\",\"id\":2},"
+                + "{\"tipo\":\"ELIMINAR\",\"id\":3},{\"tipo\":\"ELIMINAR\",\"id\":4}]";
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> controller.procesarLote(cuerpo(json)));
+        verifyNoInteractions(productoService);
+    }
+
+    @Test
+    void procesarLote_WhenBodyIsNotArray_ShouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> controller.procesarLote(cuerpo("{\"tipo\":\"CREAR\"}")));
+    }
+
+    @Test
+    void procesarLote_WhenIdRepeated_ShouldThrowIllegalArgumentException() {
+        // Arrange
+        String json = "[{\"tipo\":\"ELIMINAR\",\"id\":5},{\"tipo\":\"ELIMINAR\",\"id\":5}]";
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> controller.procesarLote(cuerpo(json)));
+        verify(productoService, never()).procesarLote(any());
+    }
+
+    @Test
+    void procesarLote_WhenElementIsNotObject_ShouldThrowIllegalArgumentException() {
+        // Arrange
+        String json = "[{\"tipo\":\"ELIMINAR\",\"id\":1},42,{\"tipo\":\"ELIMINAR\",\"id\":2}]";
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> controller.procesarLote(cuerpo(json)));
+        verify(productoService, never()).procesarLote(any());
+    }
+}
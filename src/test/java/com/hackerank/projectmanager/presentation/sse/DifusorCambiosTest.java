@@ -0,0 +1,152 @@
+package com.hackerank.projectmanager.presentation.sse;
+
+import com.hackerank.projectmanager.dummy.application.service.ProductoMapper;
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.ProductoJsonRepository;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.cdc.RegistroCambios;
+import com.hackerank.projectmanager.dummy.presentation.dto.CambioProductoResponse;
+import com.hackerank.projectmanager.dummy.presentation.dto.ReinicioCambiosResponse;
+import com.hackerank.projectmanager.dummy.presentation.sse.DifusorCambios;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DifusorCambiosTest {
+
+    private ProductoJsonRepository repository;
+    private RegistroCambios registro;
+    private DifusorCambios difusor;
+
+    // Guarda los datos de cada evento en vez de escribirlos en la respuesta
+    private static final class EmisorCapturado extends SseEmitter {
+        private final BlockingQueue<Object> datos = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            for (DataWithMediaType item : items) {
+                if (!(item.getData() instanceof String)) {
+                    datos.add(item.getData());
+                }
+            }
+        }
+
+        Object siguiente() throws InterruptedException {
+            Object dato = datos.poll(5, TimeUnit.SECONDS);
+            assertNotNull(dato, "no llegó el evento");
+            return dato;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProductoJsonRepository();
+        registro = new RegistroCambios(8);
+        repository.suscribir(registro);
+        difusor = new DifusorCambios(registro, new ProductoMapper(), 60_000, 2, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        difusor.cerrar();
+    }
+
+    private void guardar(long id, String nombre) {
+        repository.save(new Producto.Builder().id(id).nombre(nombre).categoria("Tecnologia").precio(10.0).build());
+    }
+
+    @Test
+    void suscribir_WithDesde_ShouldSendPastAndNewChangesInOrder() throws InterruptedException {
+        // Arrange
+        guardar(1L, "Laptop");
+        guardar(2L, "Mouse");
+        EmisorCapturado emisor = new EmisorCapturado();
+
+        // Act
+        assertTrue(difusor.suscribir(emisor, null, 1L));
+        repository.deleteById(1L);
+
+        // Assert
+        CambioProductoResponse mouse = (CambioProductoResponse) emisor.siguiente();
+        assertEquals(1, mouse.getSecuencia());
+        assertEquals("Mouse", mouse.getProducto().getNombre());
+        CambioProductoResponse baja = (CambioProductoResponse) emisor.siguiente();
+        assertEquals("ELIMINAR", baja.getTipo());
+        assertEquals(1L, baja.getId());
+        assertNull(baja.getProducto());
+    }
+
+    @Test
+    void suscribir_WithLastEventId_ShouldResumeAfterThatEvent() throws InterruptedException {
+        // Arrange
+        guardar(1L, "Laptop");
+        guardar(2L, "Mouse");
+        EmisorCapturado emisor = new EmisorCapturado();
+
+        // Act: el id tiene prioridad sobre desde, como al reconectar un EventSource
+        assertTrue(difusor.suscribir(emisor, difusor.formatearId(0), 0L));
+
+        // Assert
+        assertEquals(1, ((CambioProductoResponse) emisor.siguiente()).getSecuencia());
+    }
+
+    @Test
+    void suscribir_WhenResumePointWasOverwritten_ShouldSendReinicio() throws InterruptedException {
+        // Arrange: el anillo guarda 8 cambios
+        for (long id = 1; id <= 20; id++) {
+            guardar(id, "Producto " + id);
+        }
+        EmisorCapturado emisor = new EmisorCapturado();
+
+        // Act
+        assertTrue(difusor.suscribir(emisor, difusor.formatearId(2), null));
+        guardar(21L, "Nuevo");
+
+        // Assert
+        ReinicioCambiosResponse reinicio = (ReinicioCambiosResponse) emisor.siguiente();
+        assertEquals(20, reinicio.getSecuencia());
+        assertEquals(21L, ((CambioProductoResponse) emisor.siguiente()).getId());
+    }
+
+    @Test
+    void suscribir_WithIdFromAnotherRun_ShouldSendReinicio() throws InterruptedException {
+        // Arrange
+        EmisorCapturado emisor = new EmisorCapturado();
+
+        // Act
+        assertTrue(difusor.suscribir(emisor, "1-5", null));
+
+        // Assert
+        assertInstanceOf(ReinicioCambiosResponse.class, emisor.siguiente());
+    }
+
+    @Test
+    void suscribir_WhenInvalidPosition_ShouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> difusor.suscribir(new EmisorCapturado(), "no-es-un-id", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> difusor.suscribir(new EmisorCapturado(), null, 5L));
+    }
+
+    @Test
+    void suscribir_WhenFull_ShouldReturnFalse() {
+        // Act
+        boolean primero = difusor.suscribir(new EmisorCapturado(), null, null);
+        boolean segundo = difusor.suscribir(new EmisorCapturado(), null, null);
+        boolean tercero = difusor.suscribir(new EmisorCapturado(), null, null);
+
+        // Assert
+        assertTrue(primero);
+        assertTrue(segundo);
+        assertFalse(tercero);
+        assertEquals(2, difusor.suscriptores());
+    }
+}
@@ -0,0 +1,225 @@
+package com.hackerank.projectmanager.reports.application.service;
+
+import com.hackerank.projectmanager.dummy.application.service.ProductoServiceImpl;
+import com.hackerank.projectmanager.dummy.domain.Producto;
+import com.hackerank.projectmanager.dummy.infrastructure.persistence.ProductoJsonRepository;
+import com.hackerank.projectmanager.reports.domain.AgregadoInventario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReporteInventarioServiceImplTest {
+
+    private static final String[] CATEGORIAS = {"Tecnologia", "Audio", "Hogar", "Deportes"};
+
+    private ProductoJsonRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProductoJsonRepository();
+    }
+
+    private Producto producto(long id, String categoria, double precio, Integer stock, boolean disponible) {
+        return new Producto.Builder()
+                .id(id)
+                .nombre("Producto " + id)
+                .categoria(categoria)
+                .precio(precio)
+                .stock(stock)
+                .disponible(disponible)
+                .build();
+    }
+
+    // Los mismos totales calculados recorriendo el catálogo
+    private void assertCoincideConRecorrido(ReporteInventarioServiceImpl reportes) {
+        List<Producto> productos = repository.findAll();
+        AgregadoInventario global = reportes.obtenerTotalGlobal();
+        assertEquals(productos.size(), global.productos());
+        assertEquals(productos.stream().filter(Producto::getDisponible).count(), global.disponibles());
+        assertEquals(repository.sumStock(), global.stockTotal());
+        BigDecimal valor = productos.stream()
+                .map(p -> BigDecimal.valueOf(p.getPrecio()).multiply(BigDecimal.valueOf(p.getStock() == null ? 0 : p.getStock())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, valor.compareTo(global.valorInventario()), "valor=" + global.valorInventario());
+        for (String categoria : CATEGORIAS) {
+            List<Producto> deCategoria = repository.findByCategoria(categoria);
+            if (deCategoria.isEmpty()) {
+                assertTrue(reportes.obtenerTotalCategoria(categoria).isEmpty());
+                continue;
+            }
+            AgregadoInventario agregado = reportes.obtenerTotalCategoria(categoria).orElseThrow();
+            assertEquals(deCategoria.size(), agregado.productos());
+            assertEquals(deCategoria.stream().mapToDouble(Producto::getPrecio).min().orElseThrow(),
+                    agregado.precioMinimo());
+            assertEquals(deCategoria.stream().mapToDouble(Producto::getPrecio).max().orElseThrow(),
+                    agregado.precioMaximo());
+            assertEquals(deCategoria.stream().mapToDouble(Producto::getPrecio).average().orElseThrow(),
+                    agregado.precioPromedio(), 1e-9);
+        }
+    }
+
+    @Test
+    void obtenerTotalCategoria_ShouldTrackUpdatesAndDeletes() {
+        // Arrange
+        repository.save(producto(1L, "Audio", 10.0, 2, true));
+        ReporteInventarioServiceImpl reportes = new ReporteInventarioServiceImpl(new ProductoServiceImpl(repository));
+        repository.save(producto(2L, "audio", 30.0, 1, false));
+
+        // Act: el más barato sube de precio y el más caro se borra
+        repository.save(producto(1L, "Audio", 50.0, 4, true));
+        repository.deleteById(2L);
+
+        // Assert
+        AgregadoInventario audio = reportes.obtenerTotalCategoria("AUDIO").orElseThrow();
+        assertEquals(1, audio.productos());
+        assertEquals(1, audio.disponibles());
+        assertEquals(4, audio.stockTotal());
+        assertEquals(50.0, audio.precioMinimo());
+        assertEquals(50.0, audio.precioMaximo());
+        assertEquals(0, new BigDecimal("200").compareTo(audio.valorInventario()));
+    }
+
+    @Test
+    void obtenerTotalesPorCategoria_WhenCategoryChanges_ShouldMoveTotals() {
+        // Arrange
+        ReporteInventarioServiceImpl reportes = new ReporteInventarioServiceImpl(new ProductoServiceImpl(repository));
+        repository.save(producto(1L, "Audio", 10.0, 2, true));
+
+        // Act
+        repository.save(producto(1L, "Hogar", 10.0, 2, true));
+
+        // Assert
+        List<AgregadoInventario> categorias = reportes.obtenerTotalesPorCategoria();
+        assertEquals(1, categorias.size());
+        assertEquals("Hogar", categorias.get(0).categoria());
+        assertTrue(reportes.obtenerTotalCategoria("Audio").isEmpty());
+        assertCoincideConRecorrido(reportes);
+    }
+
+    @Test
+    void obtenerTotalGlobal_WithConcurrentWriters_ShouldMatchFullScan() throws InterruptedException {
+        // Arrange
+        ReporteInventarioServiceImpl reportes = new ReporteInventarioServiceImpl(new ProductoServiceImpl(repository));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act: altas, cambios de categoría, precio y stock, y bajas sobre ids compartidos
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 2_000; i++) {
+                    long id = 1 + random.nextInt(300);
+                    if (random.nextInt(5) == 0) {
+                        repository.deleteById(id);
+                    } else {
+                        repository.save(producto(id, CATEGORIAS[random.nextInt(CATEGORIAS.length)],
+                                random.nextInt(1, 10_000) / 100.0,
+                                random.nextBoolean() ? random.nextInt(50) : null, random.nextBoolean()));
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        // Assert
+        assertCoincideConRecorrido(reportes);
+    }
+
+    @Test
+    void constructor_WhileWritersRun_ShouldCountEachProductOnce() throws Exception {
+        // Arrange: catálogo con datos y escritores activos mientras se siembra
+        for (long id = 1; id <= 300; id++) {
+            repository.save(producto(id, CATEGORIAS[(int) (id % CATEGORIAS.length)], id / 10.0, 5, true));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean detener = new AtomicBoolean();
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (!detener.get()) {
+                    long id = 1 + random.nextInt(400);
+                    if (random.nextInt(4) == 0) {
+                        repository.deleteById(id);
+                    } else {
+                        repository.save(producto(id, CATEGORIAS[random.nextInt(CATEGORIAS.length)],
+                                random.nextInt(1, 10_000) / 100.0, random.nextInt(50), random.nextBoolean()));
+                    }
+                }
+            });
+        }
+
+        // Act
+        List<ReporteInventarioServiceImpl> reportes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            reportes.add(new ReporteInventarioServiceImpl(new ProductoServiceImpl(repository)));
+        }
+        detener.set(true);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Assert
+        reportes.forEach(this::assertCoincideConRecorrido);
+    }
+
+    @Test
+    void obtenerTotalGlobal_ShouldAverageFromExactPriceSums() {
+        // Arrange: precios sin representación exacta en double repartidos en categorías
+        ReporteInventarioServiceImpl reportes = new ReporteInventarioServiceImpl(new ProductoServiceImpl(repository));
+        double[] precios = {0.1, 0.2, 0.7, 1.15, 2.05, 0.3, 9.99};
+        BigDecimal suma = BigDecimal.ZERO;
+        for (int i = 0; i < precios.length; i++) {
+            repository.save(producto(i + 1, CATEGORIAS[i % 3], precios[i], 1, true));
+            suma = suma.add(BigDecimal.valueOf(precios[i]));
+        }
+
+        // Act
+        AgregadoInventario global = reportes.obtenerTotalGlobal();
+
+        // Assert
+        assertEquals(suma.divide(BigDecimal.valueOf(precios.length), MathContext.DECIMAL64).doubleValue(),
+                global.precioPromedio());
+    }
+
+    @Test
+    void productoCambiado_WhenCategoryEmpties_ShouldDropItsAccumulator() {
+        // Arrange
+        ReporteInventarioServiceImpl reportes = new ReporteInventarioServiceImpl(new ProductoServiceImpl(repository));
+        for (long id = 1; id <= 1_000; id++) {
+            repository.save(producto(id, "Categoria " + id, 10.0, 1, true));
+        }
+
+        // Act
+        for (long id = 1; id <= 1_000; id++) {
+            repository.deleteById(id);
+        }
+
+        // Assert
+        assertEquals(0, ((Map<?, ?>) ReflectionTestUtils.getField(reportes, "acumuladores")).size());
+        assertTrue(reportes.obtenerTotalesPorCategoria().isEmpty());
+    }
+
+    @Test
+    void obtenerTotalGlobal_WhenCatalogEmpty_ShouldReturnZeros() {
+        // Act
+        AgregadoInventario global = new ReporteInventarioServiceImpl(new ProductoServiceImpl(repository))
+                .obtenerTotalGlobal();
+
+        // Assert
+        assertEquals(0, global.productos());
+        assertNull(global.precioPromedio());
+        assertEquals(0, BigDecimal.ZERO.compareTo(global.valorInventario()));
+    }
+}
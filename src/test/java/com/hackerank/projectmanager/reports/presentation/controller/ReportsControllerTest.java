@@ -0,0 +1,63 @@
+package com.hackerank.projectmanager.reports.presentation.controller;
+
+import com.hackerank.projectmanager.reports.domain.AgregadoInventario;
+import com.hackerank.projectmanager.reports.domain.service.ReporteInventarioService;
+import com.hackerank.projectmanager.reports.presentation.dto.ReportsRequest;
+import com.hackerank.projectmanager.reports.presentation.dto.ReportsResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportsControllerTest {
+
+    @Mock
+    private ReporteInventarioService reporteService;
+
+    @InjectMocks
+    private ReportsController reportsController;
+
+    private final AgregadoInventario audio =
+            new AgregadoInventario("Audio", 2, 1, 5, 10.0, 20.0, 30.0, new BigDecimal("70"));
+
+    @Test
+    void obtenerReporte_WithCategoryFilter_ShouldOnlyIncludeExistingCategories() {
+        // Arrange
+        when(reporteService.obtenerTotalGlobal()).thenReturn(audio);
+        when(reporteService.obtenerTotalCategoria("audio")).thenReturn(Optional.of(audio));
+        when(reporteService.obtenerTotalCategoria("juguetes")).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<ReportsResponse> response =
+                reportsController.obtenerReporte(new ReportsRequest(List.of("audio", "juguetes")));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(List.of(audio), response.getBody().getCategorias());
+        verify(reporteService, never()).obtenerTotalesPorCategoria();
+    }
+
+    @Test
+    void obtenerReporteCategoria_WhenMissing_ShouldReturnNotFound() {
+        // Arrange
+        when(reporteService.obtenerTotalCategoria("juguetes")).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<AgregadoInventario> response = reportsController.obtenerReporteCategoria("juguetes");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}